@@ -0,0 +1,33 @@
+package com.expensetracker.api.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.expensetracker.infrastructure.security.TokenRevocationService;
+
+// Restricted to ROLE_ADMIN (security.admin.emails) in SecurityConfig
+@RestController
+@RequestMapping("/admin/tokens")
+public class AdminTokenController {
+
+    private final TokenRevocationService revocationService;
+
+    public AdminTokenController(TokenRevocationService revocationService) {
+        this.revocationService = revocationService;
+    }
+
+    @PostMapping("/{tokenId}/revoke")
+    public ResponseEntity<Void> revokeToken(@PathVariable String tokenId) {
+        revocationService.revokeToken(tokenId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/users/{userId}/revoke")
+    public ResponseEntity<Void> revokeAllForUser(@PathVariable Long userId) {
+        revocationService.revokeAllForUser(userId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.expensetracker.api.controller;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.expensetracker.api.dto.ApiKeyResponseDTO;
+import com.expensetracker.application.service.ApiKeyService;
+import com.expensetracker.application.service.UserService;
+import com.expensetracker.domain.model.ApiKeyScope;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
+
+// Key management needs a user session; API keys themselves cannot reach these endpoints
+@RestController
+@RequestMapping("/api-keys")
+public class ApiKeyController {
+
+    private final ApiKeyService apiKeyService;
+    private final UserService userService;
+
+    public ApiKeyController(ApiKeyService apiKeyService, UserService userService) {
+        this.apiKeyService = apiKeyService;
+        this.userService = userService;
+    }
+
+    public static class ApiKeyRequest {
+        public String name;
+        public Set<ApiKeyScope> scopes;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createKey(@RequestBody ApiKeyRequest request, @AuthenticationPrincipal AuthenticatedUser principal) {
+        try {
+            ApiKeyService.CreatedApiKey created = apiKeyService.createKey(
+                    userService.getReference(principal.getId()), request.name, request.scopes);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiKeyResponseDTO(created.getApiKey(), created.getRawKey()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ApiKeyResponseDTO>> getKeys(@AuthenticationPrincipal AuthenticatedUser principal) {
+        List<ApiKeyResponseDTO> keys = apiKeyService.getKeysByUser(principal.getId()).stream()
+                .map(apiKey -> new ApiKeyResponseDTO(apiKey, null))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(keys);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> revokeKey(@PathVariable("id") Long id, @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (!apiKeyService.revokeKey(principal.getId(), id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("API key not found");
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.expensetracker.api.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.expensetracker.application.batch.EntryOperation;
+import com.expensetracker.config.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads a batch body (a JSON array of operations) straight off the request stream,
+ * binding one element at a time. No tree of the whole document is built, and a
+ * batch over {@code max-operations} is rejected as soon as the limit is passed.
+ *
+ * Only a body that is not a well-formed JSON array is rejected as a whole. An
+ * element that does not bind, e.g. a field of the wrong type, is handed on with
+ * its error and answered in its own result.
+ */
+@Component
+public class BatchRequestReader {
+
+    private final ObjectMapper objectMapper;
+    private final int maxOperations;
+
+    public BatchRequestReader(ObjectMapper objectMapper,
+                              @Value("${batch.max-operations:1000}") int maxOperations) {
+        this.objectMapper = objectMapper;
+        this.maxOperations = maxOperations;
+    }
+
+    public List<EntryOperation> read(InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("Batch body must be a JSON array of operations");
+            }
+            List<EntryOperation> operations = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new BadRequestException("Malformed batch: unexpected end of input");
+                }
+                if (operations.size() == maxOperations) {
+                    throw new BadRequestException("Batch exceeds " + maxOperations + " operations");
+                }
+                // A null element stays null and is answered with its own error
+                operations.add(bind(parser.readValueAsTree()));
+            }
+            return operations;
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed batch: " + e.getOriginalMessage());
+        }
+    }
+
+    private EntryOperation bind(JsonNode element) {
+        try {
+            return objectMapper.treeToValue(element, EntryOperation.class);
+        } catch (JsonProcessingException e) {
+            EntryOperation operation = new EntryOperation();
+            operation.bindError = "Malformed operation: " + e.getOriginalMessage();
+            return operation;
+        }
+    }
+}
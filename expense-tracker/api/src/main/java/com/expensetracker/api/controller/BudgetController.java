@@ -8,7 +8,7 @@ import org.antlr.v4.runtime.misc.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,12 +18,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.expensetracker.application.listing.JdbcListingReader;
 import com.expensetracker.application.service.CategoryBudgetService;
 import com.expensetracker.application.service.CategoryService;
 import com.expensetracker.application.service.UserService;
 import com.expensetracker.domain.model.Budget;
 import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.view.BudgetView;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
 
 @RestController
 @RequestMapping("/category-budgets")
@@ -33,11 +36,14 @@ public class BudgetController {
     private final CategoryBudgetService budgetService;
     private final UserService userService;
     private final CategoryService categoryService;
+    private final JdbcListingReader listingReader;
 
-    public BudgetController(CategoryBudgetService budgetService, UserService userService, CategoryService categoryService) {
+    public BudgetController(CategoryBudgetService budgetService, UserService userService, CategoryService categoryService,
+                            JdbcListingReader listingReader) {
         this.budgetService = budgetService;
         this.userService = userService;
         this.categoryService = categoryService;
+        this.listingReader = listingReader;
     }
 
     // DTO
@@ -55,54 +61,58 @@ public class BudgetController {
         public Long categoryId;
     }
 
-    private User getCurrentUser(Authentication authentication) {
-        String email = authentication.getName();
-        return userService.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
+    // The principal already carries the user id; a reference avoids a users query
+    private User getCurrentUser(AuthenticatedUser principal) {
+        return userService.getReference(principal.getId());
     }
 
     @PostMapping
     public ResponseEntity<?> createCategoryBudget(
             @RequestBody CategoryBudgetRequest request,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         
-        User user = getCurrentUser(authentication);
+        User user = getCurrentUser(principal);
 
-        Category category = categoryService.getCategoryById(request.categoryId)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
-
-        if (!category.getUser().getId().equals(user.getId())) {
+        Category category = categoryService.getOwnedCategory(request.categoryId, user).orElse(null);
+        if (category == null) {
+            if (!categoryService.categoryExists(request.categoryId)) {
+                throw new RuntimeException("Category not found");
+            }
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
         }
 
         // Check if budget already exists
         Optional<Budget> existing = budgetService.getByUserCategoryMonthYear(
-                user.getId(), category.getId(), request.month, request.year);
+                principal.getId(), category.getId(), request.month, request.year);
         
         if (existing.isPresent()) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body("Budget already exists for this category/month/year");
         }
 
         Budget budget = budgetService.saveOrUpdateCategoryBudget(user, category, request.month, request.year, request.amount);
-        return ResponseEntity.status(HttpStatus.CREATED).body(budget);
+        return ResponseEntity.status(HttpStatus.CREATED).body(BudgetView.of(budget));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<?> updateCategoryBudget(
     		@PathVariable("id") Long id,
             @RequestBody CategoryBudgetRequest request,
-            Authentication authentication) {
-
-        User user = getCurrentUser(authentication);
+            @AuthenticationPrincipal AuthenticatedUser principal) {
 
-        Budget budget = budgetService.getById(id)
-                .orElseThrow(() -> new RuntimeException("Budget not found"));
+        Optional<Budget> optional = budgetService.getBudgetForUser(id, principal.getId());
+        if (optional.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Budget not found");
+        }
 
-        if (!budget.getUser().getId().equals(user.getId())) {
+        Category category = categoryService.getOwnedCategory(request.categoryId, getCurrentUser(principal)).orElse(null);
+        if (category == null) {
+            if (!categoryService.categoryExists(request.categoryId)) {
+                throw new RuntimeException("Category not found");
+            }
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
         }
 
-        Category category = categoryService.getCategoryById(request.categoryId)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+        Budget budget = optional.get();
 
         budget.setAmount(request.amount);
         budget.setMonth(request.month);
@@ -110,32 +120,24 @@ public class BudgetController {
         budget.setCategory(category);
 
         Budget updated = budgetService.updateBudget(budget);
-        return ResponseEntity.ok(updated);
+        return ResponseEntity.ok(BudgetView.of(updated));
     }
 
 
     @GetMapping
-    public ResponseEntity<List<Budget>> getAllBudgets(Authentication authentication) {
-        User user = getCurrentUser(authentication);
-        List<Budget> budgets = budgetService.getBudgetsForUser(user.getId());
+    public ResponseEntity<?> getAllBudgets(@AuthenticationPrincipal AuthenticatedUser principal) {
+        if (listingReader.isEnabled()) {
+            return ResponseEntity.ok(listingReader.budgets(principal.getId()));
+        }
+        List<BudgetView> budgets = budgetService.getBudgetsForUser(principal.getId());
         return ResponseEntity.ok(budgets);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteBudget(@PathVariable("id") Long id, Authentication authentication) {
-        User user = getCurrentUser(authentication);
-
-        Optional<Budget> optional = budgetService.getById(id);
-        if (optional.isEmpty()) {
+    public ResponseEntity<?> deleteBudget(@PathVariable("id") Long id, @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (!budgetService.deleteBudget(id, principal.getId())) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Budget not found");
         }
-
-        Budget budget = optional.get();
-        if (!budget.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
-        }
-
-        budgetService.deleteBudget(id);
         return ResponseEntity.noContent().build();
     }
 }
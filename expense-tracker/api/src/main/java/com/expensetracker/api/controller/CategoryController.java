@@ -1,12 +1,11 @@
 package com.expensetracker.api.controller;
 
-import java.nio.file.AccessDeniedException;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -22,6 +21,8 @@ import com.expensetracker.config.exception.ResourceNotFoundException;
 import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.CategoryType;
 import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.view.CategoryView;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
 
 @RestController
 @RequestMapping("/category")
@@ -41,15 +42,19 @@ public class CategoryController {
 		public String type;
 	}
 
-	// Helper method to get the authenticated User object
-	private User getCurrentUser(Authentication authentication) {
-		String email = authentication.getName();
-		return userService.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
+	// Helper method to reference the authenticated User without a users query
+	private User getCurrentUser(AuthenticatedUser principal) {
+		return userService.getReference(principal.getId());
+	}
+
+	// The directory's categories are detached copies; only their response fields are returned
+	private static List<CategoryView> views(List<Category> categories) {
+		return categories.stream().map(CategoryView::of).toList();
 	}
 
 	@PostMapping
-	public ResponseEntity<?> addCategory(@RequestBody CategoryRequest request, Authentication authentication) {
-		User user = getCurrentUser(authentication);
+	public ResponseEntity<?> addCategory(@RequestBody CategoryRequest request, @AuthenticationPrincipal AuthenticatedUser principal) {
+		User user = getCurrentUser(principal);
 
 		Category category = new Category();
 		category.setName(request.name);
@@ -64,84 +69,55 @@ public class CategoryController {
 		}
 
 		Category savedCategory = categoryService.addCategory(category);
-		return ResponseEntity.status(HttpStatus.CREATED).body(savedCategory);
+		return ResponseEntity.status(HttpStatus.CREATED).body(CategoryView.of(savedCategory));
 	}
 
 	@GetMapping
-	public ResponseEntity<List<Category>> getCategories(Authentication authentication) {
-		User user = getCurrentUser(authentication);
-		List<Category> categories = categoryService.getCategoriesByUser(user);
+	public ResponseEntity<List<CategoryView>> getCategories(@AuthenticationPrincipal AuthenticatedUser principal) {
+		User user = getCurrentUser(principal);
+		List<CategoryView> categories = views(categoryService.getCategoriesByUser(user));
 		return ResponseEntity.ok(categories);
 	}
 	
 	@GetMapping("/type/{type}")
-    public ResponseEntity<List<Category>> getCategoriesByType(
+    public ResponseEntity<List<CategoryView>> getCategoriesByType(
             @PathVariable("type") String type,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
 
-        // Extract user ID from authentication
-		User user = getCurrentUser(authentication);
+		User user = getCurrentUser(principal);
 
-        List<Category> categories = categoryService.getCategoriesByTypeForUser(type.toUpperCase(), user);
+        List<CategoryView> categories = views(categoryService.getCategoriesByTypeForUser(type.toUpperCase(), user));
         return ResponseEntity.ok(categories);
     }
 
 	@GetMapping("/{id}")
-	public ResponseEntity<?> getCategoryById(@PathVariable("id") Long id, Authentication authentication)
-			throws AccessDeniedException {
-		User user = getCurrentUser(authentication);
-		Optional<Category> optionalCategory = categoryService.getCategoryById(id);
-
-		if (optionalCategory.isEmpty()) {
-			throw new ResourceNotFoundException("Category not found");
-		}
+	public ResponseEntity<?> getCategoryById(@PathVariable("id") Long id, @AuthenticationPrincipal AuthenticatedUser principal) {
+		Category category = categoryService.getOwnedCategory(id, getCurrentUser(principal))
+				.orElseThrow(() -> new ResourceNotFoundException("Category not found"));
 
-		Category category = optionalCategory.get();
-		if (!category.getUser().getId().equals(user.getId())) {
-			throw new AccessDeniedException("Access denied");
-		}
-
-		return ResponseEntity.ok(category);
+		return ResponseEntity.ok(CategoryView.of(category));
 	}
 
 	@PutMapping("/{id}")
 	public ResponseEntity<?> updateCategory(@PathVariable("id") Long id, @RequestBody CategoryRequest request,
-			Authentication authentication) {
-		User user = getCurrentUser(authentication);
-		Optional<Category> optionalCategory = categoryService.getCategoryById(id);
+			@AuthenticationPrincipal AuthenticatedUser principal) {
+		// Changing a template category gives the user their own copy with a new id
+		Optional<Category> updatedCategory = categoryService.updateCategoryForUser(id, getCurrentUser(principal),
+				request.name, CategoryType.valueOf(request.type.toUpperCase()));
 
-		if (optionalCategory.isEmpty()) {
+		if (updatedCategory.isEmpty()) {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Category not found");
 		}
 
-		Category category = optionalCategory.get();
-		if (!category.getUser().getId().equals(user.getId())) {
-			return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
-		}
-
-		category.setName(request.name);
-		category.setType(CategoryType.valueOf(request.type.toUpperCase()));
-
-		Category updatedCategory = categoryService.updateCategory(category);
-		return ResponseEntity.ok(updatedCategory);
+		return ResponseEntity.ok(CategoryView.of(updatedCategory.get()));
 	}
 
 	@DeleteMapping("/{id}")
-	public ResponseEntity<?> deleteCategory(@PathVariable("id") Long id, Authentication authentication) {
-		User user = getCurrentUser(authentication);
-		Optional<Category> optionalCategory = categoryService.getCategoryById(id);
-
-		if (optionalCategory.isEmpty()) {
+	public ResponseEntity<?> deleteCategory(@PathVariable("id") Long id, @AuthenticationPrincipal AuthenticatedUser principal) {
+		if (!categoryService.deleteCategory(id, getCurrentUser(principal))) {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Category not found");
 		}
 
-		Category category = optionalCategory.get();
-		if (!category.getUser().getId().equals(user.getId())) {
-			return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
-		}
-
-		categoryService.deleteCategory(id);
-
 		return ResponseEntity.noContent().build();
 	}
 }
@@ -1,5 +1,7 @@
 package com.expensetracker.api.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
@@ -7,23 +9,34 @@ import java.util.Optional;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.expensetracker.application.batch.BatchItemResult;
+import com.expensetracker.application.export.ExportFormat;
+import com.expensetracker.application.listing.JdbcListingReader;
 import com.expensetracker.application.service.CategoryService;
+import com.expensetracker.application.service.EntryBatchService;
+import com.expensetracker.application.service.EntryExportService;
 import com.expensetracker.application.service.ExpenseService;
 import com.expensetracker.application.service.UserService;
 import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.Expense;
 import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.EntryFilter;
+import com.expensetracker.domain.repository.view.ExpenseView;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
 
 @RestController
 @RequestMapping("/expenses")
@@ -33,11 +46,21 @@ public class ExpenseController {
     private final ExpenseService expenseService;
     private final UserService userService;
     private final CategoryService categoryService;
-
-    public ExpenseController(ExpenseService expenseService, UserService userService, CategoryService categoryService) {
+    private final EntryBatchService entryBatchService;
+    private final BatchRequestReader batchRequestReader;
+    private final EntryExportService entryExportService;
+    private final JdbcListingReader listingReader;
+
+    public ExpenseController(ExpenseService expenseService, UserService userService, CategoryService categoryService,
+                             EntryBatchService entryBatchService, BatchRequestReader batchRequestReader,
+                             EntryExportService entryExportService, JdbcListingReader listingReader) {
         this.expenseService = expenseService;
         this.userService = userService;
         this.categoryService = categoryService;
+        this.entryBatchService = entryBatchService;
+        this.batchRequestReader = batchRequestReader;
+        this.entryExportService = entryExportService;
+        this.listingReader = listingReader;
     }
 
     // DTO for creating/updating Expense
@@ -48,20 +71,20 @@ public class ExpenseController {
         public String notes;
     }
 
-    private User getCurrentUser(Authentication authentication) {
-        String email = authentication.getName();
-        return userService.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    // The principal already carries the user id; a reference avoids a users query
+    private User getCurrentUser(AuthenticatedUser principal) {
+        return userService.getReference(principal.getId());
     }
 
     @PostMapping
-    public ResponseEntity<?> addExpense(@RequestBody ExpenseRequest request, Authentication authentication) {
-        User user = getCurrentUser(authentication);
-
-        Category category = categoryService.getCategoryById(request.categoryId)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
-
-        if (!category.getUser().getId().equals(user.getId())) {
+    public ResponseEntity<?> addExpense(@RequestBody ExpenseRequest request, @AuthenticationPrincipal AuthenticatedUser principal) {
+        User user = getCurrentUser(principal);
+
+        Category category = categoryService.getOwnedCategory(request.categoryId, user).orElse(null);
+        if (category == null) {
+            if (!categoryService.categoryExists(request.categoryId)) {
+                throw new RuntimeException("Category not found");
+            }
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied to category");
         }
 
@@ -73,51 +96,66 @@ public class ExpenseController {
         expense.setUser(user);
 
         Expense savedExpense = expenseService.addExpense(expense);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedExpense);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ExpenseView.of(savedExpense));
+    }
+
+    // Body: JSON array of {"op": "create"|"update"|"delete", "id", "amount", "categoryId", "date", "notes"}.
+    // Applied in one transaction; every operation gets a result with its index, status and id or error
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> applyBatch(InputStream body, @AuthenticationPrincipal AuthenticatedUser principal) throws IOException {
+        List<BatchItemResult> results = entryBatchService.applyExpenses(getCurrentUser(principal), batchRequestReader.read(body));
+        return ResponseEntity.ok(results);
     }
 
+    // The whole history, oldest first, as ndjson (default) or csv; gzip=true compresses the body
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(@RequestParam(defaultValue = "ndjson") String format,
+                                                                @RequestParam(defaultValue = "false") boolean gzip,
+                                                                @AuthenticationPrincipal AuthenticatedUser principal) {
+        ExportFormat exportFormat = ExportResponses.format(format);
+        Long userId = principal.getId();
+        return ExportResponses.stream("expenses", exportFormat, gzip, out -> entryExportService.exportExpenses(userId, exportFormat, out));
+    }
+
+    // Pages newest first; pass the returned nextCursor (with the same filters) to get the following page.
+    // Filters: from, to (yyyy-MM-dd), categoryId, minAmount, maxAmount, notesPrefix
     @GetMapping
-    public ResponseEntity<List<Expense>> getExpenses(Authentication authentication) {
-        User user = getCurrentUser(authentication);
-        List<Expense> expenses = expenseService.getExpensesByUser(user);
-        return ResponseEntity.ok(expenses);
+    public ResponseEntity<?> getExpenses(@ModelAttribute EntryFilter filter,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit,
+                                         @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (listingReader.isEnabled()) {
+            return ResponseEntity.ok(listingReader.expensePage(principal.getId(), filter, cursor, limit));
+        }
+        return ResponseEntity.ok(expenseService.getExpensePage(principal.getId(), filter, cursor, limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getExpenseById(@PathVariable Long id, Authentication authentication) {
-        User user = getCurrentUser(authentication);
-        Optional<Expense> optionalExpense = expenseService.getExpenseById(id);
+    public ResponseEntity<?> getExpenseById(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser principal) {
+        Optional<ExpenseView> optionalExpense = expenseService.getExpenseView(id, principal.getId());
 
         if (optionalExpense.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Expense not found");
         }
 
-        Expense expense = optionalExpense.get();
-        if (!expense.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
-        }
-
-        return ResponseEntity.ok(expense);
+        return ResponseEntity.ok(optionalExpense.get());
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateExpense(@PathVariable Long id, @RequestBody ExpenseRequest request, Authentication authentication) {
-        User user = getCurrentUser(authentication);
-        Optional<Expense> optionalExpense = expenseService.getExpenseById(id);
+    public ResponseEntity<?> updateExpense(@PathVariable Long id, @RequestBody ExpenseRequest request, @AuthenticationPrincipal AuthenticatedUser principal) {
+        Optional<Expense> optionalExpense = expenseService.getExpenseForUser(id, principal.getId());
 
         if (optionalExpense.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Expense not found");
         }
 
         Expense expense = optionalExpense.get();
-        if (!expense.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
-        }
-
-        Category category = categoryService.getCategoryById(request.categoryId)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
 
-        if (!category.getUser().getId().equals(user.getId())) {
+        Category category = categoryService.getOwnedCategory(request.categoryId, getCurrentUser(principal)).orElse(null);
+        if (category == null) {
+            if (!categoryService.categoryExists(request.categoryId)) {
+                throw new RuntimeException("Category not found");
+            }
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied to category");
         }
 
@@ -127,24 +165,14 @@ public class ExpenseController {
         expense.setNotes(request.notes);
 
         Expense updatedExpense = expenseService.updateExpense(expense);
-        return ResponseEntity.ok(updatedExpense);
+        return ResponseEntity.ok(ExpenseView.of(updatedExpense));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteExpense(@PathVariable Long id, Authentication authentication) {
-        User user = getCurrentUser(authentication);
-        Optional<Expense> optionalExpense = expenseService.getExpenseById(id);
-
-        if (optionalExpense.isEmpty()) {
+    public ResponseEntity<?> deleteExpense(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (!expenseService.deleteExpense(id, principal.getId())) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Expense not found");
         }
-
-        Expense expense = optionalExpense.get();
-        if (!expense.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
-        }
-
-        expenseService.deleteExpense(id);
         return ResponseEntity.noContent().build();
     }
 }
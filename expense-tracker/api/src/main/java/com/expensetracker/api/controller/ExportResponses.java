@@ -0,0 +1,50 @@
+package com.expensetracker.api.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.expensetracker.application.export.ExportFormat;
+import com.expensetracker.config.exception.BadRequestException;
+
+// Response plumbing shared by the expense and income export endpoints
+final class ExportResponses {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    interface Export {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private ExportResponses() {
+    }
+
+    static ExportFormat format(String format) {
+        try {
+            return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("format must be ndjson or csv");
+        }
+    }
+
+    /**
+     * The body is written after the handler returns, on the async request thread, so
+     * the export's read transaction does not occupy a request thread.
+     */
+    static ResponseEntity<StreamingResponseBody> stream(String name, ExportFormat format, boolean gzip, Export export) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + format.getExtension() + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return response.body(out -> export.writeTo(new GZIPOutputStream(out, GZIP_BUFFER_SIZE)));
+        }
+        return response.body(export::writeTo);
+    }
+}
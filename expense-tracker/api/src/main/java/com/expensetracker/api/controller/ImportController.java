@@ -0,0 +1,58 @@
+package com.expensetracker.api.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.expensetracker.application.service.StatementImportService;
+import com.expensetracker.domain.model.ImportFormat;
+import com.expensetracker.domain.repository.view.ImportJobView;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
+
+// Bank-statement imports: create a job, PUT the file in chunks, complete it, then poll the job.
+// A chunk must start at the job's bytesReceived; after an interruption GET the job and resume from there
+@RestController
+@RequestMapping("/imports")
+public class ImportController {
+
+    private final StatementImportService importService;
+
+    public ImportController(StatementImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ImportJobView> createImport(@RequestParam ImportFormat format, @AuthenticationPrincipal AuthenticatedUser principal) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(ImportJobView.of(importService.createJob(principal.getId(), format)));
+    }
+
+    // Raw bytes of the file from the given offset
+    @PutMapping("/{id}/content")
+    public ResponseEntity<ImportJobView> uploadChunk(@PathVariable("id") Long id, @RequestParam long offset, InputStream body,
+                                                 @AuthenticationPrincipal AuthenticatedUser principal) throws IOException {
+        return ResponseEntity.ok(ImportJobView.of(importService.appendChunk(id, principal.getId(), offset, body)));
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<ImportJobView> completeImport(@PathVariable("id") Long id, @AuthenticationPrincipal AuthenticatedUser principal) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ImportJobView.of(importService.complete(id, principal.getId())));
+    }
+
+    // Status and row counters, updated after every committed batch
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getImport(@PathVariable("id") Long id, @AuthenticationPrincipal AuthenticatedUser principal) {
+        return importService.getJob(id, principal.getId())
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(ImportJobView.of(job)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Import not found"));
+    }
+}
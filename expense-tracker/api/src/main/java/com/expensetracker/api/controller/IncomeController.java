@@ -1,14 +1,23 @@
 package com.expensetracker.api.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.expensetracker.application.batch.BatchItemResult;
+import com.expensetracker.application.export.ExportFormat;
+import com.expensetracker.application.listing.JdbcListingReader;
 import com.expensetracker.application.service.CategoryService;
+import com.expensetracker.application.service.EntryBatchService;
+import com.expensetracker.application.service.EntryExportService;
 import com.expensetracker.application.service.IncomeService;
 import com.expensetracker.application.service.UserService;
 import com.expensetracker.config.exception.ResourceNotFoundException;
@@ -16,6 +25,9 @@ import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.Expense;
 import com.expensetracker.domain.model.Income;
 import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.EntryFilter;
+import com.expensetracker.domain.repository.view.IncomeView;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
 
 @RestController
 @RequestMapping("/incomes")
@@ -24,11 +36,21 @@ public class IncomeController {
     private final IncomeService incomeService;
     private final UserService userService;
     private final CategoryService categoryService;
-
-    public IncomeController(IncomeService incomeService, UserService userService, CategoryService categoryService) {
+    private final EntryBatchService entryBatchService;
+    private final BatchRequestReader batchRequestReader;
+    private final EntryExportService entryExportService;
+    private final JdbcListingReader listingReader;
+
+    public IncomeController(IncomeService incomeService, UserService userService, CategoryService categoryService,
+                            EntryBatchService entryBatchService, BatchRequestReader batchRequestReader,
+                            EntryExportService entryExportService, JdbcListingReader listingReader) {
         this.incomeService = incomeService;
         this.userService = userService;
         this.categoryService = categoryService;
+        this.entryBatchService = entryBatchService;
+        this.batchRequestReader = batchRequestReader;
+        this.entryExportService = entryExportService;
+        this.listingReader = listingReader;
     }
 
     // ✅ DTO class for request
@@ -40,101 +62,111 @@ public class IncomeController {
         public java.time.LocalDate date;
     }
 
-    // ✅ Helper to fetch user
-    private User getCurrentUser(Authentication authentication) {
-        String email = authentication.getName(); // or (String) authentication.getPrincipal();
-        return userService.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
+    // ✅ Helper to reference the authenticated user without a users query
+    private User getCurrentUser(AuthenticatedUser principal) {
+        return userService.getReference(principal.getId());
     }
 
     // ✅ Create Income with category
     @PostMapping
-    public ResponseEntity<?> addIncome(@RequestBody IncomeRequest request, Authentication authentication) {
-        User user = getCurrentUser(authentication);
-
-        Category category = categoryService.getCategoryById(request.categoryId)
-            .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
-
-        if (!category.getUser().getId().equals(user.getId())) {
+    public ResponseEntity<?> addIncome(@RequestBody IncomeRequest request, @AuthenticationPrincipal AuthenticatedUser principal) {
+        User user = getCurrentUser(principal);
+
+        Category category = categoryService.getOwnedCategory(request.categoryId, user).orElse(null);
+        if (category == null) {
+            if (!categoryService.categoryExists(request.categoryId)) {
+                throw new ResourceNotFoundException("Category not found");
+            }
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied to category");
         }
 
         Income income = new Income();
         income.setAmount(request.amount);
-        income.setDate(request.date);
+        income.setDate(request.date != null ? request.date : LocalDate.now());
         income.setNotes(request.notes);
         income.setSource(request.source);
         income.setCategory(category);
         income.setUser(user);
 
         Income savedIncome = incomeService.addIncome(income);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedIncome);
+        return ResponseEntity.status(HttpStatus.CREATED).body(IncomeView.of(savedIncome));
+    }
+
+    // Body: JSON array of {"op": "create"|"update"|"delete", "id", "amount", "categoryId", "date", "source", "notes"}.
+    // Applied in one transaction; every operation gets a result with its index, status and id or error
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> applyBatch(InputStream body, @AuthenticationPrincipal AuthenticatedUser principal) throws IOException {
+        List<BatchItemResult> results = entryBatchService.applyIncomes(getCurrentUser(principal), batchRequestReader.read(body));
+        return ResponseEntity.ok(results);
+    }
+
+    // The whole history, oldest first, as ndjson (default) or csv; gzip=true compresses the body
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportIncomes(@RequestParam(defaultValue = "ndjson") String format,
+                                                               @RequestParam(defaultValue = "false") boolean gzip,
+                                                               @AuthenticationPrincipal AuthenticatedUser principal) {
+        ExportFormat exportFormat = ExportResponses.format(format);
+        Long userId = principal.getId();
+        return ExportResponses.stream("incomes", exportFormat, gzip, out -> entryExportService.exportIncomes(userId, exportFormat, out));
     }
 
+    // Pages newest first; pass the returned nextCursor (with the same filters) to get the following page.
+    // Filters: from, to (yyyy-MM-dd), categoryId, minAmount, maxAmount, notesPrefix
     @GetMapping
-    public ResponseEntity<List<Income>> getAllIncomes(Authentication authentication) {
-        User user = getCurrentUser(authentication);
-        List<Income> incomes = incomeService.getIncomesByUser(user);
-        return ResponseEntity.ok(incomes);
+    public ResponseEntity<?> getAllIncomes(@ModelAttribute EntryFilter filter,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit,
+                                           @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (listingReader.isEnabled()) {
+            return ResponseEntity.ok(listingReader.incomePage(principal.getId(), filter, cursor, limit));
+        }
+        return ResponseEntity.ok(incomeService.getIncomePage(principal.getId(), filter, cursor, limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getIncomeById(@PathVariable("id") Long id, Authentication authentication) {
-    	User user = getCurrentUser(authentication);
-        Optional<Income> optionalIncome = incomeService.getIncomeById(id);
+    public ResponseEntity<?> getIncomeById(@PathVariable("id") Long id, @AuthenticationPrincipal AuthenticatedUser principal) {
+        Optional<IncomeView> optionalIncome = incomeService.getIncomeView(id, principal.getId());
 
         if (optionalIncome.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Income not found");
         }
 
-        Income income = optionalIncome.get();
-        if (!income.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
-        }
-
-        return ResponseEntity.ok(income);
+        return ResponseEntity.ok(optionalIncome.get());
     }
 
     // ✅ Update income (also update category)
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateIncome(@PathVariable("id") Long id, @RequestBody IncomeRequest request, Authentication authentication) {
-        User user = getCurrentUser(authentication);
-
-        Optional<Income> optionalIncome = incomeService.getIncomeById(id);
+    public ResponseEntity<?> updateIncome(@PathVariable("id") Long id, @RequestBody IncomeRequest request, @AuthenticationPrincipal AuthenticatedUser principal) {
+        Optional<Income> optionalIncome = incomeService.getIncomeForUser(id, principal.getId());
         if (optionalIncome.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Income not found");
         }
 
         Income income = optionalIncome.get();
-        if (!income.getUser().getId().equals(user.getId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
-        }
-
-        Category category = categoryService.getCategoryById(request.categoryId)
-            .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
 
-        if (!category.getUser().getId().equals(user.getId())) {
+        Category category = categoryService.getOwnedCategory(request.categoryId, getCurrentUser(principal)).orElse(null);
+        if (category == null) {
+            if (!categoryService.categoryExists(request.categoryId)) {
+                throw new ResourceNotFoundException("Category not found");
+            }
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied to category");
         }
 
         income.setAmount(request.amount);
         income.setSource(request.source);
-        income.setDate(request.date);
+        income.setDate(request.date != null ? request.date : LocalDate.now());
         income.setNotes(request.notes);
         income.setCategory(category);
 
         Income updatedIncome = incomeService.updateIncome(income);
-        return ResponseEntity.ok(updatedIncome);
+        return ResponseEntity.ok(IncomeView.of(updatedIncome));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteIncome(@PathVariable("id") Long id, Authentication authentication) {
-        User user = getCurrentUser(authentication);
-
-        return incomeService.getIncomeById(id)
-            .filter(income -> income.getUser().getId().equals(user.getId()))
-            .map(income -> {
-                incomeService.deleteIncome(id);
-                return ResponseEntity.noContent().build();
-            }).orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Income not found"));
+    public ResponseEntity<?> deleteIncome(@PathVariable("id") Long id, @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (!incomeService.deleteIncome(id, principal.getId())) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Income not found");
+        }
+        return ResponseEntity.noContent().build();
     }
 }
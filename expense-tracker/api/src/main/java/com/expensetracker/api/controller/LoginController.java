@@ -1,25 +1,41 @@
 package com.expensetracker.api.controller;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.expensetracker.application.service.RefreshTokenService;
 import com.expensetracker.application.service.UserService;
+import com.expensetracker.config.exception.ServiceBusyException;
 import com.expensetracker.domain.model.User;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
 import com.expensetracker.infrastructure.security.JwtTokenProvider;
+import com.expensetracker.infrastructure.security.LoginThrottle;
+import com.expensetracker.infrastructure.security.PasswordHasher;
+import com.expensetracker.infrastructure.security.TokenRevocationService;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/users")
 public class LoginController {
 
+    private static final Logger logger = LoggerFactory.getLogger(LoginController.class);
+
     @Autowired
     private UserService userService;
 
@@ -27,29 +43,121 @@ public class LoginController {
     private JwtTokenProvider jwtUtil;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private TokenRevocationService revocationService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    // Work after a hash (JWT signing, JDBC) continues here, so the hashing pool threads only hash
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor taskExecutor;
 
     public static class LoginRequest {
         public String email;
         public String password;
     }
 
+    public static class RefreshRequest {
+        public String refreshToken;
+    }
+
+    public static class LogoutRequest {
+        public String refreshToken;
+    }
+
     public static class LoginResponse {
         public String token;
-        public LoginResponse(String token) {
+        public String refreshToken;
+        public LoginResponse(String token, String refreshToken) {
             this.token = token;
+            this.refreshToken = refreshToken;
         }
     }
 
+    // Throttled attempts are rejected before any lookup or hashing.
+    // Password verification runs on the hashing pool and the rest on the task executor;
+    // the request thread is released while it waits
     @CrossOrigin(origins = "http://localhost:4200")
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        loginThrottle.check(request.email, httpRequest.getRemoteAddr());
+
         Optional<User> userOpt = userService.findByEmail(request.email);
-        if (userOpt.isPresent() && passwordEncoder.matches(request.password, userOpt.get().getPasswordHash())) {
-            String token = jwtUtil.generateToken(userOpt.get().getEmail());
-            return ResponseEntity.ok(new LoginResponse(token));
+        if (userOpt.isEmpty()) {
+            return CompletableFuture.completedFuture(invalidCredentials());
+        }
+
+        User user = userOpt.get();
+        return passwordHasher.matches(request.password, user.getPasswordHash())
+            .<ResponseEntity<?>>thenApplyAsync(matches -> {
+                if (!matches) {
+                    return invalidCredentials();
+                }
+                rehashIfNeeded(user, request.password);
+                String token = jwtUtil.generateToken(user.getId(), user.getEmail());
+                return ResponseEntity.ok(new LoginResponse(token, refreshTokenService.issue(user.getId())));
+            }, taskExecutor);
+    }
+
+    // Renews the short-lived access token without a password check
+    @CrossOrigin(origins = "http://localhost:4200")
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest request) {
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate(request.refreshToken);
+        if (rotation.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token");
+        }
+
+        Optional<User> userOpt = userService.findById(rotation.get().getUserId());
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token");
+        }
+
+        String token = jwtUtil.generateToken(userOpt.get().getId(), userOpt.get().getEmail());
+        return ResponseEntity.ok(new LoginResponse(token, rotation.get().getRefreshToken()));
+    }
+
+    @CrossOrigin(origins = "http://localhost:4200")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal AuthenticatedUser principal,
+                                       @RequestBody(required = false) LogoutRequest request) {
+        if (request != null) {
+            refreshTokenService.revoke(request.refreshToken, principal.getId());
+        }
+        if (principal.getTokenId() != null) {
+            revocationService.revokeToken(principal.getTokenId(), principal.getId(), principal.getExpiresAt());
         } else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
+            // Tokens issued before token ids existed can only be revoked together
+            revocationService.revokeAllForUser(principal.getId());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHasher.needsRehash(user.getPasswordHash())) {
+            return;
+        }
+        try {
+            passwordHasher.encode(rawPassword)
+                .thenAcceptAsync(hash -> userService.updatePasswordHash(user.getId(), hash), taskExecutor)
+                .exceptionally(e -> {
+                    logger.warn("Failed to upgrade password hash for user {}", user.getId(), e);
+                    return null;
+                });
+        } catch (ServiceBusyException e) {
+            // Not worth failing the login over; the upgrade is retried on the next one
+            logger.debug("Hashing pool busy, skipping password hash upgrade for user {}", user.getId());
         }
     }
+
+    private static ResponseEntity<?> invalidCredentials() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
+    }
 }
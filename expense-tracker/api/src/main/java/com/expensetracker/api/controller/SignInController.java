@@ -1,13 +1,13 @@
 package com.expensetracker.api.controller;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -15,26 +15,26 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.expensetracker.api.dto.UserResponseDTO;
-import com.expensetracker.application.service.CategoryService;
 import com.expensetracker.application.service.UserService;
-import com.expensetracker.domain.model.Category;
-import com.expensetracker.domain.model.CategoryType;
 import com.expensetracker.domain.model.User;
+import com.expensetracker.infrastructure.security.PasswordHasher;
 
 @RestController
 @RequestMapping("/users")
 public class SignInController {
 
 	private final UserService userService;
-	private final CategoryService categoryService;
 
-//	@Autowired
-	private PasswordEncoder passwordEncoder;
+	private final PasswordHasher passwordHasher;
 
-	public SignInController(UserService userService, CategoryService categoryService, PasswordEncoder passwordEncoder) {
+	// Registration (a JDBC transaction) continues here, so the hashing pool threads only hash
+	private final Executor taskExecutor;
+
+	public SignInController(UserService userService, PasswordHasher passwordHasher,
+			@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor taskExecutor) {
 		this.userService = userService;
-		this.categoryService = categoryService;
-		this.passwordEncoder = passwordEncoder;
+		this.passwordHasher = passwordHasher;
+		this.taskExecutor = taskExecutor;
 	}
 
 	// DTO for user registration request
@@ -46,48 +46,23 @@ public class SignInController {
 
 	@CrossOrigin(origins = "http://localhost:4200")
 	@PostMapping("/register")
-	public ResponseEntity<?> registerUser(@RequestBody RegisterRequest request) {
-		try {
-			Optional<User> existingUser = userService.findByEmail(request.email);
-
-			if (!existingUser.isEmpty()) {
-				return ResponseEntity.status(HttpStatus.CONFLICT).body("Email already exists");
-			}
-			String passwordHash = passwordEncoder.encode(request.password);
-			User user = userService.registerUser(request.name, request.email, passwordHash);
-			UserResponseDTO response = new UserResponseDTO(user.getName(), user.getEmail());
+	public CompletableFuture<ResponseEntity<?>> registerUser(@RequestBody RegisterRequest request) {
+		Optional<User> existingUser = userService.findByEmail(request.email);
 
-			addGlobalCategories(user, categoryService);
-			return ResponseEntity.status(HttpStatus.CREATED).body(response);	
-		} catch (IllegalArgumentException e) {
-			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+		if (!existingUser.isEmpty()) {
+			return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CONFLICT).body("Email already exists"));
 		}
-	}
-
-	private static void addGlobalCategories(User user, CategoryService categoryService) {
-		List<String[]> globalCategories = new ArrayList<>();
 
-		// Add expense categories
-		globalCategories.add(new String[] { "Food", "EXPENSE" });
-		globalCategories.add(new String[] { "Transport", "EXPENSE" });
-		globalCategories.add(new String[] { "Rent", "EXPENSE" });
-		globalCategories.add(new String[] { "Utilities", "EXPENSE" });
-		globalCategories.add(new String[] { "Entertainment", "EXPENSE" });
+		// Hashing runs on the bounded hashing pool, not on the request thread
+		return passwordHasher.encode(request.password).<ResponseEntity<?>>thenApplyAsync(passwordHash -> {
+			try {
+				User user = userService.registerUser(request.name, request.email, passwordHash);
+				UserResponseDTO response = new UserResponseDTO(user.getName(), user.getEmail());
 
-		// Add income categories
-		globalCategories.add(new String[] { "Salary", "INCOME" });
-		globalCategories.add(new String[] { "Freelancing", "INCOME" });
-		globalCategories.add(new String[] { "Investments", "INCOME" });
-		globalCategories.add(new String[] { "Rental Income", "INCOME" });
-		globalCategories.add(new String[] { "Other", "INCOME" });
-
-		for (String[] categoryArr : globalCategories) {
-			Category category = new Category();
-			category.setName(categoryArr[0]);
-			category.setType(CategoryType.valueOf(categoryArr[1].toUpperCase()));
-			category.setUser(user);
-
-			Category savedCategory = categoryService.addCategory(category);
-		}
+				return ResponseEntity.status(HttpStatus.CREATED).body(response);
+			} catch (IllegalArgumentException e) {
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+			}
+		}, taskExecutor);
 	}
 }
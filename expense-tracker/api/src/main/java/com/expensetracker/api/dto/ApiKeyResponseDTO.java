@@ -0,0 +1,41 @@
+package com.expensetracker.api.dto;
+
+import java.time.Instant;
+import java.util.Set;
+
+import com.expensetracker.domain.model.ApiKey;
+import com.expensetracker.domain.model.ApiKeyScope;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ApiKeyResponseDTO {
+    private Long id;
+    private String name;
+    private String prefix;
+    private Set<ApiKeyScope> scopes;
+    private Instant createdAt;
+    private Instant lastUsedAt;
+    private boolean revoked;
+    // Only set in the response to the create request
+    private String key;
+
+    public ApiKeyResponseDTO(ApiKey apiKey, String key) {
+        this.id = apiKey.getId();
+        this.name = apiKey.getName();
+        this.prefix = apiKey.getPrefix();
+        this.scopes = apiKey.getScopes();
+        this.createdAt = apiKey.getCreatedAt();
+        this.lastUsedAt = apiKey.getLastUsedAt();
+        this.revoked = apiKey.isRevoked();
+        this.key = key;
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getPrefix() { return prefix; }
+    public Set<ApiKeyScope> getScopes() { return scopes; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getLastUsedAt() { return lastUsedAt; }
+    public boolean isRevoked() { return revoked; }
+    public String getKey() { return key; }
+}
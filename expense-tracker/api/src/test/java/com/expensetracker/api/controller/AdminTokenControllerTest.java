@@ -0,0 +1,39 @@
+package com.expensetracker.api.controller;
+
+import com.expensetracker.infrastructure.security.TokenRevocationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminTokenControllerTest {
+
+    @Mock
+    private TokenRevocationService revocationService;
+
+    @InjectMocks
+    private AdminTokenController adminTokenController;
+
+    @Test
+    void revokeToken_delegatesToRevocationService() {
+        ResponseEntity<Void> response = adminTokenController.revokeToken("jti-1");
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(revocationService).revokeToken("jti-1");
+    }
+
+    @Test
+    void revokeAllForUser_delegatesToRevocationService() {
+        ResponseEntity<Void> response = adminTokenController.revokeAllForUser(5L);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(revocationService).revokeAllForUser(5L);
+    }
+}
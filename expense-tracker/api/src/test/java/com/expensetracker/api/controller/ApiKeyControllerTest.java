@@ -0,0 +1,87 @@
+package com.expensetracker.api.controller;
+
+import com.expensetracker.api.dto.ApiKeyResponseDTO;
+import com.expensetracker.application.service.ApiKeyService;
+import com.expensetracker.application.service.UserService;
+import com.expensetracker.domain.model.ApiKey;
+import com.expensetracker.domain.model.ApiKeyScope;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyControllerTest {
+
+    @Mock
+    private ApiKeyService apiKeyService;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private ApiKeyController apiKeyController;
+
+    private AuthenticatedUser principal;
+    private User user;
+    private ApiKey apiKey;
+
+    @BeforeEach
+    void setUp() {
+        principal = new AuthenticatedUser(1L, "test@example.com");
+        user = new User();
+        user.setId(1L);
+        apiKey = new ApiKey(5L, user, "import script", "etk_abcdefgh", "hash",
+                EnumSet.of(ApiKeyScope.EXPENSES_WRITE), Instant.now(), null, false);
+    }
+
+    @Test
+    void createKey_returnsRawKeyOnce() {
+        ApiKeyController.ApiKeyRequest request = new ApiKeyController.ApiKeyRequest();
+        request.name = "import script";
+        request.scopes = Set.of(ApiKeyScope.EXPENSES_WRITE);
+
+        when(userService.getReference(1L)).thenReturn(user);
+        when(apiKeyService.createKey(user, "import script", request.scopes))
+                .thenReturn(new ApiKeyService.CreatedApiKey(apiKey, "etk_abcdefgh_secret"));
+
+        ResponseEntity<?> response = apiKeyController.createKey(request, principal);
+
+        assertEquals(201, response.getStatusCodeValue());
+        assertEquals("etk_abcdefgh_secret", ((ApiKeyResponseDTO) response.getBody()).getKey());
+    }
+
+    @Test
+    void getKeys_neverExposesRawKey() {
+        when(apiKeyService.getKeysByUser(1L)).thenReturn(List.of(apiKey));
+
+        ResponseEntity<List<ApiKeyResponseDTO>> response = apiKeyController.getKeys(principal);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(1, response.getBody().size());
+        assertNull(response.getBody().get(0).getKey());
+        assertEquals("etk_abcdefgh", response.getBody().get(0).getPrefix());
+    }
+
+    @Test
+    void revokeKey_unknownKey_returnsNotFound() {
+        when(apiKeyService.revokeKey(1L, 9L)).thenReturn(false);
+
+        ResponseEntity<?> response = apiKeyController.revokeKey(9L, principal);
+
+        assertEquals(404, response.getStatusCodeValue());
+    }
+}
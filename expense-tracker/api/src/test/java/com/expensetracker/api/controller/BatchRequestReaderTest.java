@@ -0,0 +1,71 @@
+package com.expensetracker.api.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.expensetracker.application.batch.EntryOperation;
+import com.expensetracker.config.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class BatchRequestReaderTest {
+
+    private final BatchRequestReader reader = new BatchRequestReader(new ObjectMapper().registerModule(new JavaTimeModule()), 2);
+
+    @Test
+    void readsOperationsInOrder() throws IOException {
+        List<EntryOperation> operations = reader.read(body(
+                "[{\"op\":\"create\",\"amount\":12.50,\"categoryId\":3,\"date\":\"2025-06-08\",\"notes\":\"Lunch\"},"
+                        + "{\"op\":\"delete\",\"id\":7}]"));
+
+        assertEquals(2, operations.size());
+        assertEquals("create", operations.get(0).op);
+        assertEquals(new BigDecimal("12.50"), operations.get(0).amount);
+        assertEquals(LocalDate.of(2025, 6, 8), operations.get(0).date);
+        assertEquals(7L, operations.get(1).id);
+    }
+
+    @Test
+    void elementThatDoesNotBind_isHandedOnWithItsError() throws IOException {
+        List<EntryOperation> operations = reader.read(body(
+                "[{\"op\":\"create\",\"amount\":\"twelve\",\"categoryId\":3},{\"op\":\"delete\",\"id\":7}]"));
+
+        assertEquals(2, operations.size());
+        assertTrue(operations.get(0).bindError.startsWith("Malformed operation: "), operations.get(0).bindError);
+        assertNull(operations.get(1).bindError);
+        assertEquals(7L, operations.get(1).id);
+    }
+
+    @Test
+    void rejectsBatchesOverTheLimit() {
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> reader.read(body("[{\"op\":\"delete\",\"id\":1},{\"op\":\"delete\",\"id\":2},{\"op\":\"delete\",\"id\":3}]")));
+
+        assertEquals("Batch exceeds 2 operations", ex.getMessage());
+    }
+
+    @Test
+    void rejectsBodiesThatAreNotAnArray() {
+        assertThrows(BadRequestException.class, () -> reader.read(body("{\"op\":\"delete\",\"id\":1}")));
+        assertThrows(BadRequestException.class, () -> reader.read(body("")));
+    }
+
+    @Test
+    void rejectsMalformedJson() {
+        assertThrows(BadRequestException.class, () -> reader.read(body("[{\"op\":\"delete\",")));
+        assertThrows(BadRequestException.class, () -> reader.read(body("[{\"op\":\"delete\",\"id\":1}")));
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,11 +1,14 @@
 package com.expensetracker.api.controller;
 
+import com.expensetracker.application.listing.JdbcListingReader;
 import com.expensetracker.application.service.CategoryBudgetService;
 import com.expensetracker.application.service.CategoryService;
 import com.expensetracker.application.service.UserService;
 import com.expensetracker.domain.model.Budget;
 import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.view.BudgetView;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,7 +19,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -31,12 +33,13 @@ class BudgetControllerTest {
     @Mock private CategoryBudgetService budgetService;
     @Mock private UserService userService;
     @Mock private CategoryService categoryService;
-    @Mock private Authentication authentication;
+    @Mock private JdbcListingReader listingReader;
 
     @InjectMocks
     private BudgetController budgetController;
 
     private User user;
+    private AuthenticatedUser principal;
     private Category category;
     private Budget budget;
 
@@ -58,8 +61,8 @@ class BudgetControllerTest {
         budget.setMonth(7);
         budget.setYear(2025);
 
-        when(authentication.getName()).thenReturn(user.getEmail());
-        when(userService.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        principal = new AuthenticatedUser(user.getId(), user.getEmail());
+        lenient().when(userService.getReference(user.getId())).thenReturn(user);
     }
 
     @Test
@@ -70,33 +73,30 @@ class BudgetControllerTest {
         request.year = 2025;
         request.amount = BigDecimal.valueOf(1000);
 
-        when(categoryService.getCategoryById(category.getId())).thenReturn(Optional.of(category));
+        when(categoryService.getOwnedCategory(category.getId(), user)).thenReturn(Optional.of(category));
         when(budgetService.getByUserCategoryMonthYear(user.getId(), category.getId(), 7, 2025))
                 .thenReturn(Optional.empty());
         when(budgetService.saveOrUpdateCategoryBudget(user, category, 7, 2025, request.amount))
                 .thenReturn(budget);
 
-        ResponseEntity<?> response = budgetController.createCategoryBudget(request, authentication);
+        ResponseEntity<?> response = budgetController.createCategoryBudget(request, principal);
 
         assertEquals(201, response.getStatusCodeValue());
-        assertEquals(budget, response.getBody());
+        assertEquals(BudgetView.of(budget), response.getBody());
     }
 
     @Test
     void testCreateBudget_categoryNotOwnedByUser_forbidden() {
-        User anotherUser = new User();
-        anotherUser.setId(99L);
-        category.setUser(anotherUser);
-
         BudgetController.CategoryBudgetRequest request = new BudgetController.CategoryBudgetRequest();
         request.categoryId = category.getId();
         request.month = 7;
         request.year = 2025;
         request.amount = BigDecimal.valueOf(1000);
 
-        when(categoryService.getCategoryById(category.getId())).thenReturn(Optional.of(category));
+        when(categoryService.getOwnedCategory(category.getId(), user)).thenReturn(Optional.empty());
+        when(categoryService.categoryExists(category.getId())).thenReturn(true);
 
-        ResponseEntity<?> response = budgetController.createCategoryBudget(request, authentication);
+        ResponseEntity<?> response = budgetController.createCategoryBudget(request, principal);
         assertEquals(403, response.getStatusCodeValue());
         assertEquals("Access denied", response.getBody());
     }
@@ -109,11 +109,11 @@ class BudgetControllerTest {
         request.year = 2025;
         request.amount = BigDecimal.valueOf(1000);
 
-        when(categoryService.getCategoryById(category.getId())).thenReturn(Optional.of(category));
+        when(categoryService.getOwnedCategory(category.getId(), user)).thenReturn(Optional.of(category));
         when(budgetService.getByUserCategoryMonthYear(user.getId(), category.getId(), 7, 2025))
                 .thenReturn(Optional.of(budget));
 
-        ResponseEntity<?> response = budgetController.createCategoryBudget(request, authentication);
+        ResponseEntity<?> response = budgetController.createCategoryBudget(request, principal);
         assertEquals(409, response.getStatusCodeValue());
         assertEquals("Budget already exists for this category/month/year", response.getBody());
     }
@@ -126,77 +126,79 @@ class BudgetControllerTest {
         request.year = 2026;
         request.amount = BigDecimal.valueOf(1500);
 
-        when(budgetService.getById(budget.getId())).thenReturn(Optional.of(budget));
-        when(categoryService.getCategoryById(category.getId())).thenReturn(Optional.of(category));
+        when(budgetService.getBudgetForUser(budget.getId(), user.getId())).thenReturn(Optional.of(budget));
+        when(categoryService.getOwnedCategory(category.getId(), user)).thenReturn(Optional.of(category));
         when(budgetService.updateBudget(any(Budget.class))).thenReturn(budget);
 
-        ResponseEntity<?> response = budgetController.updateCategoryBudget(budget.getId(), request, authentication);
+        ResponseEntity<?> response = budgetController.updateCategoryBudget(budget.getId(), request, principal);
 
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(budget, response.getBody());
+        assertEquals(BudgetView.of(budget), response.getBody());
     }
 
     @Test
-    void testUpdateBudget_notOwnedByUser_forbidden() {
-        User otherUser = new User();
-        otherUser.setId(77L);
-        budget.setUser(otherUser);
-
+    void testUpdateBudget_notOwnedByUser_notFound() {
         BudgetController.CategoryBudgetRequest request = new BudgetController.CategoryBudgetRequest();
         request.categoryId = category.getId();
         request.month = 8;
         request.year = 2026;
         request.amount = BigDecimal.valueOf(1500);
 
-        when(budgetService.getById(budget.getId())).thenReturn(Optional.of(budget));
+        when(budgetService.getBudgetForUser(budget.getId(), user.getId())).thenReturn(Optional.empty());
+
+        ResponseEntity<?> response = budgetController.updateCategoryBudget(budget.getId(), request, principal);
+
+        assertEquals(404, response.getStatusCodeValue());
+        assertEquals("Budget not found", response.getBody());
+        verify(budgetService, never()).updateBudget(any());
+    }
+
+    @Test
+    void testUpdateBudget_categoryNotOwnedByUser_forbidden() {
+        BudgetController.CategoryBudgetRequest request = new BudgetController.CategoryBudgetRequest();
+        request.categoryId = 20L;
+        request.month = 8;
+        request.year = 2026;
+        request.amount = BigDecimal.valueOf(1500);
+
+        when(budgetService.getBudgetForUser(budget.getId(), user.getId())).thenReturn(Optional.of(budget));
+        when(categoryService.getOwnedCategory(20L, user)).thenReturn(Optional.empty());
+        when(categoryService.categoryExists(20L)).thenReturn(true);
 
-        ResponseEntity<?> response = budgetController.updateCategoryBudget(budget.getId(), request, authentication);
+        ResponseEntity<?> response = budgetController.updateCategoryBudget(budget.getId(), request, principal);
 
         assertEquals(403, response.getStatusCodeValue());
         assertEquals("Access denied", response.getBody());
+        verify(budgetService, never()).updateBudget(any());
     }
 
     @Test
     void testGetAllBudgets_success() {
-        when(budgetService.getBudgetsForUser(user.getId())).thenReturn(List.of(budget));
+        when(budgetService.getBudgetsForUser(user.getId())).thenReturn(List.of(BudgetView.of(budget)));
 
-        ResponseEntity<List<Budget>> response = budgetController.getAllBudgets(authentication);
+        ResponseEntity<?> response = budgetController.getAllBudgets(principal);
 
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(1, response.getBody().size());
+        assertEquals(List.of(BudgetView.of(budget)), response.getBody());
     }
 
     @Test
     void testDeleteBudget_success() {
-        when(budgetService.getById(budget.getId())).thenReturn(Optional.of(budget));
+        when(budgetService.deleteBudget(budget.getId(), user.getId())).thenReturn(true);
 
-        ResponseEntity<?> response = budgetController.deleteBudget(budget.getId(), authentication);
+        ResponseEntity<?> response = budgetController.deleteBudget(budget.getId(), principal);
 
         assertEquals(204, response.getStatusCodeValue());
-        verify(budgetService).deleteBudget(budget.getId());
+        verify(budgetService).deleteBudget(budget.getId(), user.getId());
     }
 
     @Test
-    void testDeleteBudget_notFound() {
-        when(budgetService.getById(999L)).thenReturn(Optional.empty());
+    void testDeleteBudget_notFoundOrNotOwned() {
+        when(budgetService.deleteBudget(999L, user.getId())).thenReturn(false);
 
-        ResponseEntity<?> response = budgetController.deleteBudget(999L, authentication);
+        ResponseEntity<?> response = budgetController.deleteBudget(999L, principal);
 
         assertEquals(404, response.getStatusCodeValue());
         assertEquals("Budget not found", response.getBody());
     }
-
-    @Test
-    void testDeleteBudget_notOwnedByUser_forbidden() {
-        User otherUser = new User();
-        otherUser.setId(88L);
-        budget.setUser(otherUser);
-
-        when(budgetService.getById(budget.getId())).thenReturn(Optional.of(budget));
-
-        ResponseEntity<?> response = budgetController.deleteBudget(budget.getId(), authentication);
-
-        assertEquals(403, response.getStatusCodeValue());
-        assertEquals("Access denied", response.getBody());
-    }
 }
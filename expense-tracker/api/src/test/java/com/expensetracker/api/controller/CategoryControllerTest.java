@@ -3,7 +3,6 @@ package com.expensetracker.api.controller;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-import java.nio.file.AccessDeniedException;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,25 +16,26 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 
 import com.expensetracker.application.service.CategoryService;
 import com.expensetracker.application.service.UserService;
 import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.CategoryType;
 import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.view.CategoryView;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
 
 @ExtendWith(MockitoExtension.class)
 class CategoryControllerTest {
 
     @Mock private CategoryService categoryService;
     @Mock private UserService userService;
-    @Mock private Authentication authentication;
 
     @InjectMocks
     private CategoryController categoryController;
 
     private User user;
+    private AuthenticatedUser principal;
     private Category category;
 
     @BeforeEach
@@ -50,8 +50,8 @@ class CategoryControllerTest {
         category.setType(CategoryType.EXPENSE);
         category.setUser(user);
 
-        when(authentication.getName()).thenReturn(user.getEmail());
-        when(userService.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        principal = new AuthenticatedUser(user.getId(), user.getEmail());
+        lenient().when(userService.getReference(user.getId())).thenReturn(user);
     }
 
     @Test
@@ -64,10 +64,10 @@ class CategoryControllerTest {
                 .thenReturn(Optional.empty());
         when(categoryService.addCategory(any())).thenReturn(category);
 
-        ResponseEntity<?> response = categoryController.addCategory(request, authentication);
+        ResponseEntity<?> response = categoryController.addCategory(request, principal);
 
         assertEquals(201, response.getStatusCodeValue());
-        assertEquals(category, response.getBody());
+        assertEquals(CategoryView.of(category), response.getBody());
     }
 
     @Test
@@ -80,14 +80,14 @@ class CategoryControllerTest {
                 .thenReturn(Optional.of(category));
 
         assertThrows(IllegalArgumentException.class,
-                () -> categoryController.addCategory(request, authentication));
+                () -> categoryController.addCategory(request, principal));
     }
 
     @Test
     void getCategories_success() {
         when(categoryService.getCategoriesByUser(user)).thenReturn(List.of(category));
 
-        ResponseEntity<List<Category>> response = categoryController.getCategories(authentication);
+        ResponseEntity<List<CategoryView>> response = categoryController.getCategories(principal);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(1, response.getBody().size());
@@ -97,41 +97,41 @@ class CategoryControllerTest {
     void getCategoriesByType_success() {
         when(categoryService.getCategoriesByTypeForUser("EXPENSE", user)).thenReturn(List.of(category));
 
-        ResponseEntity<List<Category>> response = categoryController.getCategoriesByType("expense", authentication);
+        ResponseEntity<List<CategoryView>> response = categoryController.getCategoriesByType("expense", principal);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(1, response.getBody().size());
-        assertEquals("Food", response.getBody().get(0).getName());
+        assertEquals("Food", response.getBody().get(0).name());
     }
 
     @Test
-    void getCategoryById_success() throws AccessDeniedException {
-        when(categoryService.getCategoryById(category.getId())).thenReturn(Optional.of(category));
+    void getCategoryById_success() {
+        when(categoryService.getOwnedCategory(category.getId(), user)).thenReturn(Optional.of(category));
 
-        ResponseEntity<?> response = categoryController.getCategoryById(category.getId(), authentication);
+        ResponseEntity<?> response = categoryController.getCategoryById(category.getId(), principal);
 
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(category, response.getBody());
+        assertEquals(CategoryView.of(category), response.getBody());
     }
 
     @Test
     void getCategoryById_notFound() {
-        when(categoryService.getCategoryById(999L)).thenReturn(Optional.empty());
+        when(categoryService.getOwnedCategory(999L, user)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class,
-                () -> categoryController.getCategoryById(999L, authentication));
+                () -> categoryController.getCategoryById(999L, principal));
     }
 
     @Test
-    void getCategoryById_accessDenied() {
-        User otherUser = new User();
-        otherUser.setId(999L);
-        category.setUser(otherUser);
+    void getCategoryById_otherUsersCategory_notFound() {
+        User other = new User();
+        other.setId(999L);
+        AuthenticatedUser otherPrincipal = new AuthenticatedUser(999L, "other@example.com");
+        when(userService.getReference(999L)).thenReturn(other);
+        when(categoryService.getOwnedCategory(category.getId(), other)).thenReturn(Optional.empty());
 
-        when(categoryService.getCategoryById(category.getId())).thenReturn(Optional.of(category));
-
-        assertThrows(AccessDeniedException.class,
-                () -> categoryController.getCategoryById(category.getId(), authentication));
+        assertThrows(ResourceNotFoundException.class,
+                () -> categoryController.getCategoryById(category.getId(), otherPrincipal));
     }
 
     @Test
@@ -140,78 +140,62 @@ class CategoryControllerTest {
         request.name = "Transport";
         request.type = "EXPENSE";
 
-        when(categoryService.getCategoryById(category.getId())).thenReturn(Optional.of(category));
-        when(categoryService.updateCategory(any())).thenReturn(category);
+        when(categoryService.updateCategoryForUser(category.getId(), user, "Transport", CategoryType.EXPENSE))
+                .thenReturn(Optional.of(category));
 
-        ResponseEntity<?> response = categoryController.updateCategory(category.getId(), request, authentication);
+        ResponseEntity<?> response = categoryController.updateCategory(category.getId(), request, principal);
 
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(category, response.getBody());
+        assertEquals(CategoryView.of(category), response.getBody());
     }
 
     @Test
-    void updateCategory_notFound() {
-        when(categoryService.getCategoryById(999L)).thenReturn(Optional.empty());
-
+    void updateCategory_template_returnsUsersCopy() {
         CategoryController.CategoryRequest request = new CategoryController.CategoryRequest();
-        request.name = "Misc";
-        request.type = "INCOME";
+        request.name = "Groceries";
+        request.type = "expense";
 
-        ResponseEntity<?> response = categoryController.updateCategory(999L, request, authentication);
+        Category copy = new Category(200L, "Groceries", CategoryType.EXPENSE, user, 5L, false);
+        when(categoryService.updateCategoryForUser(5L, user, "Groceries", CategoryType.EXPENSE))
+                .thenReturn(Optional.of(copy));
 
-        assertEquals(404, response.getStatusCodeValue());
-        assertEquals("Category not found", response.getBody());
+        ResponseEntity<?> response = categoryController.updateCategory(5L, request, principal);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(200L, ((CategoryView) response.getBody()).id());
     }
 
     @Test
-    void updateCategory_accessDenied() {
-        User otherUser = new User();
-        otherUser.setId(888L);
-        category.setUser(otherUser);
-
-        when(categoryService.getCategoryById(category.getId())).thenReturn(Optional.of(category));
+    void updateCategory_notFoundOrNotOwned() {
+        when(categoryService.updateCategoryForUser(999L, user, "Misc", CategoryType.INCOME)).thenReturn(Optional.empty());
 
         CategoryController.CategoryRequest request = new CategoryController.CategoryRequest();
-        request.name = "Blocked";
-        request.type = "EXPENSE";
+        request.name = "Misc";
+        request.type = "INCOME";
 
-        ResponseEntity<?> response = categoryController.updateCategory(category.getId(), request, authentication);
+        ResponseEntity<?> response = categoryController.updateCategory(999L, request, principal);
 
-        assertEquals(403, response.getStatusCodeValue());
-        assertEquals("Access denied", response.getBody());
+        assertEquals(404, response.getStatusCodeValue());
+        assertEquals("Category not found", response.getBody());
     }
 
     @Test
     void deleteCategory_success() {
-        when(categoryService.getCategoryById(category.getId())).thenReturn(Optional.of(category));
+        when(categoryService.deleteCategory(category.getId(), user)).thenReturn(true);
 
-        ResponseEntity<?> response = categoryController.deleteCategory(category.getId(), authentication);
+        ResponseEntity<?> response = categoryController.deleteCategory(category.getId(), principal);
 
         assertEquals(204, response.getStatusCodeValue());
-        verify(categoryService, times(1)).deleteCategory(category.getId());
+        verify(categoryService, times(1)).deleteCategory(category.getId(), user);
     }
 
     @Test
-    void deleteCategory_notFound() {
-        when(categoryService.getCategoryById(123L)).thenReturn(Optional.empty());
+    void deleteCategory_notFoundOrNotOwned() {
+        when(categoryService.deleteCategory(123L, user)).thenReturn(false);
 
-        ResponseEntity<?> response = categoryController.deleteCategory(123L, authentication);
+        ResponseEntity<?> response = categoryController.deleteCategory(123L, principal);
 
         assertEquals(404, response.getStatusCodeValue());
         assertEquals("Category not found", response.getBody());
     }
-
-    @Test
-    void deleteCategory_accessDenied() {
-        User anotherUser = new User();
-        anotherUser.setId(99L);
-        category.setUser(anotherUser);
-
-        when(categoryService.getCategoryById(category.getId())).thenReturn(Optional.of(category));
-
-        ResponseEntity<?> response = categoryController.deleteCategory(category.getId(), authentication);
-
-        assertEquals(403, response.getStatusCodeValue());
-        assertEquals("Access denied", response.getBody());
-    }
 }
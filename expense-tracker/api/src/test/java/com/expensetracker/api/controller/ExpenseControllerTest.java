@@ -1,20 +1,40 @@
 package com.expensetracker.api.controller;
 
+import com.expensetracker.application.batch.BatchItemResult;
+import com.expensetracker.application.batch.EntryOperation;
+import com.expensetracker.application.export.ExportFormat;
+import com.expensetracker.application.listing.JdbcListingReader;
+import com.expensetracker.application.listing.JsonListing;
+import com.expensetracker.application.paging.CursorPage;
 import com.expensetracker.application.service.CategoryService;
+import com.expensetracker.application.service.EntryBatchService;
+import com.expensetracker.application.service.EntryExportService;
 import com.expensetracker.application.service.ExpenseService;
 import com.expensetracker.application.service.UserService;
 import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.Expense;
 import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.EntryFilter;
+import com.expensetracker.domain.repository.view.ExpenseView;
+import com.expensetracker.config.exception.BadRequestException;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -34,9 +54,20 @@ class ExpenseControllerTest {
     private CategoryService categoryService;
 
     @Mock
-    private Authentication authentication;
+    private EntryBatchService entryBatchService;
+
+    @Mock
+    private BatchRequestReader batchRequestReader;
+
+    @Mock
+    private EntryExportService entryExportService;
+
+    @Mock
+    private JdbcListingReader listingReader;
+
 
     private User testUser;
+    private AuthenticatedUser principal;
     private Category testCategory;
     private Expense testExpense;
 
@@ -61,8 +92,8 @@ class ExpenseControllerTest {
         testExpense.setNotes("Lunch");
         testExpense.setUser(testUser);
 
-        when(authentication.getName()).thenReturn(testUser.getEmail());
-        when(userService.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
+        principal = new AuthenticatedUser(testUser.getId(), testUser.getEmail());
+        when(userService.getReference(testUser.getId())).thenReturn(testUser);
     }
 
     @Test
@@ -73,30 +104,27 @@ class ExpenseControllerTest {
         request.date = LocalDate.now().toString();
         request.notes = "Lunch";
 
-        when(categoryService.getCategoryById(1L)).thenReturn(Optional.of(testCategory));
+        when(categoryService.getOwnedCategory(1L, testUser)).thenReturn(Optional.of(testCategory));
         when(expenseService.addExpense(any())).thenReturn(testExpense);
 
-        ResponseEntity<?> response = expenseController.addExpense(request, authentication);
+        ResponseEntity<?> response = expenseController.addExpense(request, principal);
 
         assertEquals(201, response.getStatusCodeValue());
-        assertEquals(testExpense, response.getBody());
+        assertEquals(ExpenseView.of(testExpense), response.getBody());
     }
 
     @Test
     void testAddExpense_forbiddenCategory() {
-        User anotherUser = new User();
-        anotherUser.setId(99L);
-        testCategory.setUser(anotherUser);
-
         ExpenseController.ExpenseRequest request = new ExpenseController.ExpenseRequest();
         request.amount = BigDecimal.valueOf(100);
         request.categoryId = 1L;
         request.date = LocalDate.now().toString();
         request.notes = "Lunch";
 
-        when(categoryService.getCategoryById(1L)).thenReturn(Optional.of(testCategory));
+        when(categoryService.getOwnedCategory(1L, testUser)).thenReturn(Optional.empty());
+        when(categoryService.categoryExists(1L)).thenReturn(true);
 
-        ResponseEntity<?> response = expenseController.addExpense(request, authentication);
+        ResponseEntity<?> response = expenseController.addExpense(request, principal);
 
         assertEquals(403, response.getStatusCodeValue());
         assertEquals("Access denied to category", response.getBody());
@@ -104,46 +132,63 @@ class ExpenseControllerTest {
 
     @Test
     void testGetExpenses() {
-        when(expenseService.getExpensesByUser(testUser)).thenReturn(List.of(testExpense));
+        EntryFilter filter = new EntryFilter();
+        filter.setCategoryId(1L);
+        when(expenseService.getExpensePage(testUser.getId(), filter, "abc", 10))
+                .thenReturn(new CursorPage<>(List.of(ExpenseView.of(testExpense)), "next"));
+
+        ResponseEntity<?> response = expenseController.getExpenses(filter, "abc", 10, principal);
+
+        assertEquals(200, response.getStatusCodeValue());
+        CursorPage<?> page = (CursorPage<?>) response.getBody();
+        assertEquals(1, page.getItems().size());
+        assertEquals("next", page.getNextCursor());
+    }
+
+    @Test
+    void testGetExpenses_jdbcReadPath() {
+        EntryFilter filter = new EntryFilter();
+        JsonListing listing = new JsonListing((json, serializers) -> json.writeStartObject());
+        when(listingReader.isEnabled()).thenReturn(true);
+        when(listingReader.expensePage(testUser.getId(), filter, null, 20)).thenReturn(listing);
 
-        ResponseEntity<List<Expense>> response = expenseController.getExpenses(authentication);
+        ResponseEntity<?> response = expenseController.getExpenses(filter, null, 20, principal);
 
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(1, response.getBody().size());
+        assertSame(listing, response.getBody());
+        verifyNoInteractions(expenseService);
     }
 
     @Test
     void testGetExpenseById_success() {
-        when(expenseService.getExpenseById(1L)).thenReturn(Optional.of(testExpense));
+        ExpenseView view = ExpenseView.of(testExpense);
+        when(expenseService.getExpenseView(1L, testUser.getId())).thenReturn(Optional.of(view));
 
-        ResponseEntity<?> response = expenseController.getExpenseById(1L, authentication);
+        ResponseEntity<?> response = expenseController.getExpenseById(1L, principal);
 
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(testExpense, response.getBody());
+        assertEquals(view, response.getBody());
     }
 
     @Test
     void testGetExpenseById_notFound() {
-        when(expenseService.getExpenseById(1L)).thenReturn(Optional.empty());
+        when(expenseService.getExpenseView(1L, testUser.getId())).thenReturn(Optional.empty());
 
-        ResponseEntity<?> response = expenseController.getExpenseById(1L, authentication);
+        ResponseEntity<?> response = expenseController.getExpenseById(1L, principal);
 
         assertEquals(404, response.getStatusCodeValue());
         assertEquals("Expense not found", response.getBody());
     }
 
     @Test
-    void testGetExpenseById_forbidden() {
-        User otherUser = new User();
-        otherUser.setId(99L);
-        testExpense.setUser(otherUser);
+    void testGetExpenseById_otherUsersExpense_notFound() {
+        AuthenticatedUser otherPrincipal = new AuthenticatedUser(99L, "other@example.com");
+        when(expenseService.getExpenseView(1L, 99L)).thenReturn(Optional.empty());
 
-        when(expenseService.getExpenseById(1L)).thenReturn(Optional.of(testExpense));
+        ResponseEntity<?> response = expenseController.getExpenseById(1L, otherPrincipal);
 
-        ResponseEntity<?> response = expenseController.getExpenseById(1L, authentication);
-
-        assertEquals(403, response.getStatusCodeValue());
-        assertEquals("Access denied", response.getBody());
+        assertEquals(404, response.getStatusCodeValue());
+        assertEquals("Expense not found", response.getBody());
     }
 
     @Test
@@ -154,14 +199,14 @@ class ExpenseControllerTest {
         request.date = LocalDate.now().toString();
         request.notes = "Updated";
 
-        when(expenseService.getExpenseById(1L)).thenReturn(Optional.of(testExpense));
-        when(categoryService.getCategoryById(1L)).thenReturn(Optional.of(testCategory));
+        when(expenseService.getExpenseForUser(1L, testUser.getId())).thenReturn(Optional.of(testExpense));
+        when(categoryService.getOwnedCategory(1L, testUser)).thenReturn(Optional.of(testCategory));
         when(expenseService.updateExpense(any())).thenReturn(testExpense);
 
-        ResponseEntity<?> response = expenseController.updateExpense(1L, request, authentication);
+        ResponseEntity<?> response = expenseController.updateExpense(1L, request, principal);
 
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(testExpense, response.getBody());
+        assertEquals(ExpenseView.of(testExpense), response.getBody());
     }
 
     @Test
@@ -169,62 +214,87 @@ class ExpenseControllerTest {
         ExpenseController.ExpenseRequest request = new ExpenseController.ExpenseRequest();
         request.categoryId = 1L;
 
-        when(expenseService.getExpenseById(1L)).thenReturn(Optional.empty());
+        when(expenseService.getExpenseForUser(1L, testUser.getId())).thenReturn(Optional.empty());
 
-        ResponseEntity<?> response = expenseController.updateExpense(1L, request, authentication);
+        ResponseEntity<?> response = expenseController.updateExpense(1L, request, principal);
 
         assertEquals(404, response.getStatusCodeValue());
         assertEquals("Expense not found", response.getBody());
     }
 
     @Test
-    void testUpdateExpense_forbidden() {
-        User otherUser = new User();
-        otherUser.setId(999L);
-        testExpense.setUser(otherUser);
-
+    void testUpdateExpense_forbiddenCategory() {
         ExpenseController.ExpenseRequest request = new ExpenseController.ExpenseRequest();
-        request.categoryId = 1L;
+        request.categoryId = 2L;
 
-        when(expenseService.getExpenseById(1L)).thenReturn(Optional.of(testExpense));
+        when(expenseService.getExpenseForUser(1L, testUser.getId())).thenReturn(Optional.of(testExpense));
+        when(categoryService.getOwnedCategory(2L, testUser)).thenReturn(Optional.empty());
+        when(categoryService.categoryExists(2L)).thenReturn(true);
 
-        ResponseEntity<?> response = expenseController.updateExpense(1L, request, authentication);
+        ResponseEntity<?> response = expenseController.updateExpense(1L, request, principal);
 
         assertEquals(403, response.getStatusCodeValue());
-        assertEquals("Access denied", response.getBody());
+        assertEquals("Access denied to category", response.getBody());
+        verify(expenseService, never()).updateExpense(any());
     }
 
     @Test
     void testDeleteExpense_success() {
-        when(expenseService.getExpenseById(1L)).thenReturn(Optional.of(testExpense));
+        when(expenseService.deleteExpense(1L, testUser.getId())).thenReturn(true);
 
-        ResponseEntity<?> response = expenseController.deleteExpense(1L, authentication);
+        ResponseEntity<?> response = expenseController.deleteExpense(1L, principal);
 
         assertEquals(204, response.getStatusCodeValue());
-        verify(expenseService).deleteExpense(1L);
+        verify(expenseService).deleteExpense(1L, testUser.getId());
     }
 
     @Test
-    void testDeleteExpense_notFound() {
-        when(expenseService.getExpenseById(1L)).thenReturn(Optional.empty());
+    void testDeleteExpense_notFoundOrNotOwned() {
+        when(expenseService.deleteExpense(1L, testUser.getId())).thenReturn(false);
 
-        ResponseEntity<?> response = expenseController.deleteExpense(1L, authentication);
+        ResponseEntity<?> response = expenseController.deleteExpense(1L, principal);
 
         assertEquals(404, response.getStatusCodeValue());
         assertEquals("Expense not found", response.getBody());
     }
 
     @Test
-    void testDeleteExpense_forbidden() {
-        User otherUser = new User();
-        otherUser.setId(999L);
-        testExpense.setUser(otherUser);
+    void testApplyBatch_returnsPerItemResults() throws IOException {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        List<EntryOperation> operations = List.of(new EntryOperation());
+        List<BatchItemResult> results = List.of(BatchItemResult.applied(0, 201, 5L));
+        when(batchRequestReader.read(body)).thenReturn(operations);
+        when(entryBatchService.applyExpenses(testUser, operations)).thenReturn(results);
 
-        when(expenseService.getExpenseById(1L)).thenReturn(Optional.of(testExpense));
+        ResponseEntity<List<BatchItemResult>> response = expenseController.applyBatch(body, principal);
 
-        ResponseEntity<?> response = expenseController.deleteExpense(1L, authentication);
+        assertEquals(200, response.getStatusCodeValue());
+        assertSame(results, response.getBody());
+    }
 
-        assertEquals(403, response.getStatusCodeValue());
-        assertEquals("Access denied", response.getBody());
+    @Test
+    void testExportExpenses_gzipped() throws IOException {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write("id,date\r\n".getBytes(StandardCharsets.UTF_8));
+            invocation.<OutputStream>getArgument(2).close();
+            return 0L;
+        }).when(entryExportService).exportExpenses(eq(testUser.getId()), eq(ExportFormat.CSV), any());
+
+        ResponseEntity<StreamingResponseBody> response = expenseController.exportExpenses("csv", true, principal);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+
+        assertEquals("text/csv", response.getHeaders().getContentType().toString());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("attachment; filename=\"expenses.csv\"", response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        try (GZIPInputStream unzipped = new GZIPInputStream(new ByteArrayInputStream(body.toByteArray()))) {
+            assertEquals("id,date\r\n", new String(unzipped.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testExportExpenses_unknownFormat() {
+        assertThrows(BadRequestException.class, () -> expenseController.exportExpenses("xml", false, principal));
+        verifyNoInteractions(entryExportService);
     }
 }
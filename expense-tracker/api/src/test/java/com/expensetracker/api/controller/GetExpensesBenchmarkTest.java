@@ -0,0 +1,142 @@
+package com.expensetracker.api.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.expensetracker.api.ExpenseTrackerApplication;
+import com.expensetracker.application.service.UserService;
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.Expense;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.CategoryRepository;
+import com.expensetracker.domain.repository.ExpenseRepository;
+import com.expensetracker.infrastructure.security.JwtProperties;
+import com.expensetracker.infrastructure.security.JwtTokenProvider;
+import com.expensetracker.infrastructure.security.UserIdCache;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Requests/sec for GET /expenses (one 50-row page) through the whole filter chain,
+ * on H2. Off by default; run with
+ * {@code mvn -pl api test -Dtest=GetExpensesBenchmarkTest -Dbenchmark=true}.
+ *
+ * "email lookup" sends a token without the user id claim, as issued before tokens
+ * carried one, and evicts the user from UserIdCache first, so every request reads
+ * the id from the database. "email lookup, cached" is the same token with the cache
+ * warm. "user id claim" is a current token, which needs no lookup at all.
+ */
+@SpringBootTest(classes = ExpenseTrackerApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:get-expenses-bench;DB_CLOSE_DELAY=-1" })
+@AutoConfigureMockMvc
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class GetExpensesBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(GetExpensesBenchmarkTest.class);
+
+    private static final String EMAIL = "get-expenses-bench@example.com";
+    private static final int ROWS = 1_000;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int REQUESTS = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    @Autowired
+    private UserIdCache userIdCache;
+
+    @Test
+    void requestsPerSecond_byHowTheUserIdIsResolved() throws Exception {
+        User user = userService.registerUser("Bench", EMAIL, "hash");
+        Category category = categoryRepository.save(new Category(null, "Bench", CategoryType.EXPENSE, user));
+        for (int i = 0; i < ROWS; i++) {
+            expenseRepository.save(Expense.builder()
+                    .user(user)
+                    .category(category)
+                    .amount(BigDecimal.valueOf(i, 2))
+                    .date(LocalDate.of(2025, 1, 1).plusDays(i % 365))
+                    .notes("expense " + i)
+                    .build());
+        }
+
+        String legacyToken = legacyToken();
+        String currentToken = tokenProvider.generateToken(user.getId(), EMAIL);
+
+        repeat(legacyToken, true, WARMUP_REQUESTS);
+        repeat(currentToken, false, WARMUP_REQUESTS);
+
+        double lookup = measure("email lookup", legacyToken, true);
+        double cached = measure("email lookup, cached", legacyToken, false);
+        double claim = measure("user id claim", currentToken, false);
+
+        logger.info("user id claim: {}x the email lookup, {}x the cached lookup",
+                String.format("%.2f", claim / lookup), String.format("%.2f", claim / cached));
+    }
+
+    // Logs and returns requests per second
+    private double measure(String label, String token, boolean evict) throws Exception {
+        long start = System.nanoTime();
+        repeat(token, evict, REQUESTS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        double requestsPerSecond = REQUESTS / seconds;
+        logger.info("{}: {} requests in {} s ({} requests/s)", label, REQUESTS, String.format("%.2f", seconds),
+                Math.round(requestsPerSecond));
+        return requestsPerSecond;
+    }
+
+    private void repeat(String token, boolean evict, int times) throws Exception {
+        for (int i = 0; i < times; i++) {
+            if (evict) {
+                userIdCache.evict(EMAIL);
+            }
+            mockMvc.perform(get("/expenses").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    // Subject only, no kid: verified with the fallback key like tokens issued before the claims were added
+    private String legacyToken() {
+        String keyId = jwtProperties.getFallbackKeyId() != null ? jwtProperties.getFallbackKeyId() : jwtProperties.getActiveKeyId();
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(EMAIL)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getKeys().get(keyId))),
+                        SignatureAlgorithm.HS512)
+                .compact();
+    }
+}
@@ -18,14 +18,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 
+import com.expensetracker.application.listing.JdbcListingReader;
+import com.expensetracker.application.paging.CursorPage;
 import com.expensetracker.application.service.CategoryService;
 import com.expensetracker.application.service.IncomeService;
 import com.expensetracker.application.service.UserService;
 import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.Income;
 import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.EntryFilter;
+import com.expensetracker.domain.repository.view.IncomeView;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
 
 @ExtendWith(MockitoExtension.class)
 class IncomeControllerTest {
@@ -40,12 +44,14 @@ class IncomeControllerTest {
     private CategoryService categoryService;
 
     @Mock
-    private Authentication authentication;
+    private JdbcListingReader listingReader;
+
 
     @InjectMocks
     private IncomeController incomeController;
 
     private User user;
+    private AuthenticatedUser principal;
     private Category category;
     private Income income;
 
@@ -69,8 +75,8 @@ class IncomeControllerTest {
         income.setNotes("Monthly salary");
         income.setDate(LocalDate.now());
 
-        when(authentication.getName()).thenReturn(user.getEmail());
-        when(userService.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        principal = new AuthenticatedUser(user.getId(), user.getEmail());
+        lenient().when(userService.getReference(user.getId())).thenReturn(user);
     }
 
     @Test
@@ -82,13 +88,13 @@ class IncomeControllerTest {
         request.notes = income.getNotes();
         request.date = income.getDate();
 
-        when(categoryService.getCategoryById(category.getId())).thenReturn(Optional.of(category));
+        when(categoryService.getOwnedCategory(category.getId(), user)).thenReturn(Optional.of(category));
         when(incomeService.addIncome(any())).thenReturn(income);
 
-        ResponseEntity<?> response = incomeController.addIncome(request, authentication);
+        ResponseEntity<?> response = incomeController.addIncome(request, principal);
 
         assertEquals(201, response.getStatusCodeValue());
-        assertEquals(income, response.getBody());
+        assertEquals(IncomeView.of(income), response.getBody());
     }
 
     @Test
@@ -96,66 +102,65 @@ class IncomeControllerTest {
         IncomeController.IncomeRequest request = new IncomeController.IncomeRequest();
         request.categoryId = 999L;
 
-        when(categoryService.getCategoryById(999L)).thenReturn(Optional.empty());
+        when(categoryService.getOwnedCategory(999L, user)).thenReturn(Optional.empty());
+        when(categoryService.categoryExists(999L)).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class,
-            () -> incomeController.addIncome(request, authentication));
+            () -> incomeController.addIncome(request, principal));
     }
 
     @Test
     void testAddIncome_accessDeniedToCategory() {
-        User anotherUser = new User();
-        anotherUser.setId(99L);
-
-        category.setUser(anotherUser); // different user
         IncomeController.IncomeRequest request = new IncomeController.IncomeRequest();
         request.categoryId = category.getId();
 
-        when(categoryService.getCategoryById(category.getId())).thenReturn(Optional.of(category));
+        when(categoryService.getOwnedCategory(category.getId(), user)).thenReturn(Optional.empty());
+        when(categoryService.categoryExists(category.getId())).thenReturn(true);
 
-        ResponseEntity<?> response = incomeController.addIncome(request, authentication);
+        ResponseEntity<?> response = incomeController.addIncome(request, principal);
         assertEquals(403, response.getStatusCodeValue());
         assertEquals("Access denied to category", response.getBody());
     }
 
     @Test
     void testGetAllIncomes_success() {
-        when(incomeService.getIncomesByUser(user)).thenReturn(List.of(income));
+        EntryFilter filter = new EntryFilter();
+        when(incomeService.getIncomePage(user.getId(), filter, null, null))
+            .thenReturn(new CursorPage<>(List.of(IncomeView.of(income)), null));
 
-        ResponseEntity<List<Income>> response = incomeController.getAllIncomes(authentication);
+        ResponseEntity<?> response = incomeController.getAllIncomes(filter, null, null, principal);
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(1, response.getBody().size());
+        CursorPage<?> page = (CursorPage<?>) response.getBody();
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
     }
 
     @Test
     void testGetIncomeById_success() {
-        when(incomeService.getIncomeById(income.getId())).thenReturn(Optional.of(income));
+        when(incomeService.getIncomeView(income.getId(), user.getId())).thenReturn(Optional.of(IncomeView.of(income)));
 
-        ResponseEntity<?> response = incomeController.getIncomeById(income.getId(), authentication);
+        ResponseEntity<?> response = incomeController.getIncomeById(income.getId(), principal);
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(income, response.getBody());
+        assertEquals(IncomeView.of(income), response.getBody());
     }
 
     @Test
     void testGetIncomeById_notFound() {
-        when(incomeService.getIncomeById(404L)).thenReturn(Optional.empty());
+        when(incomeService.getIncomeView(404L, user.getId())).thenReturn(Optional.empty());
 
-        ResponseEntity<?> response = incomeController.getIncomeById(404L, authentication);
+        ResponseEntity<?> response = incomeController.getIncomeById(404L, principal);
         assertEquals(404, response.getStatusCodeValue());
         assertEquals("Income not found", response.getBody());
     }
 
     @Test
-    void testGetIncomeById_accessDenied() {
-        User anotherUser = new User();
-        anotherUser.setId(999L);
-        income.setUser(anotherUser);
-
-        when(incomeService.getIncomeById(income.getId())).thenReturn(Optional.of(income));
+    void testGetIncomeById_otherUsersIncome_notFound() {
+        AuthenticatedUser otherPrincipal = new AuthenticatedUser(999L, "other@example.com");
+        when(incomeService.getIncomeView(income.getId(), 999L)).thenReturn(Optional.empty());
 
-        ResponseEntity<?> response = incomeController.getIncomeById(income.getId(), authentication);
-        assertEquals(403, response.getStatusCodeValue());
-        assertEquals("Access denied", response.getBody());
+        ResponseEntity<?> response = incomeController.getIncomeById(income.getId(), otherPrincipal);
+        assertEquals(404, response.getStatusCodeValue());
+        assertEquals("Income not found", response.getBody());
     }
 
     @Test
@@ -167,53 +172,40 @@ class IncomeControllerTest {
         request.notes = "Side project";
         request.categoryId = category.getId();
 
-        when(incomeService.getIncomeById(income.getId())).thenReturn(Optional.of(income));
-        when(categoryService.getCategoryById(category.getId())).thenReturn(Optional.of(category));
+        when(incomeService.getIncomeForUser(income.getId(), user.getId())).thenReturn(Optional.of(income));
+        when(categoryService.getOwnedCategory(category.getId(), user)).thenReturn(Optional.of(category));
         when(incomeService.updateIncome(any())).thenReturn(income);
 
-        ResponseEntity<?> response = incomeController.updateIncome(income.getId(), request, authentication);
+        ResponseEntity<?> response = incomeController.updateIncome(income.getId(), request, principal);
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(income, response.getBody());
+        assertEquals(IncomeView.of(income), response.getBody());
     }
 
     @Test
     void testUpdateIncome_notFound() {
         IncomeController.IncomeRequest request = new IncomeController.IncomeRequest();
-        when(incomeService.getIncomeById(404L)).thenReturn(Optional.empty());
+        when(incomeService.getIncomeForUser(404L, user.getId())).thenReturn(Optional.empty());
 
-        ResponseEntity<?> response = incomeController.updateIncome(404L, request, authentication);
+        ResponseEntity<?> response = incomeController.updateIncome(404L, request, principal);
         assertEquals(404, response.getStatusCodeValue());
         assertEquals("Income not found", response.getBody());
     }
 
     @Test
     void testDeleteIncome_success() {
-        when(incomeService.getIncomeById(income.getId())).thenReturn(Optional.of(income));
+        when(incomeService.deleteIncome(income.getId(), user.getId())).thenReturn(true);
 
-        ResponseEntity<?> response = incomeController.deleteIncome(income.getId(), authentication);
+        ResponseEntity<?> response = incomeController.deleteIncome(income.getId(), principal);
         assertEquals(204, response.getStatusCodeValue());
-        verify(incomeService, times(1)).deleteIncome(income.getId());
+        verify(incomeService, times(1)).deleteIncome(income.getId(), user.getId());
     }
 
     @Test
-    void testDeleteIncome_notFound() {
-        when(incomeService.getIncomeById(404L)).thenReturn(Optional.empty());
+    void testDeleteIncome_notFoundOrNotOwned() {
+        when(incomeService.deleteIncome(404L, user.getId())).thenReturn(false);
 
-        ResponseEntity<?> response = incomeController.deleteIncome(404L, authentication);
+        ResponseEntity<?> response = incomeController.deleteIncome(404L, principal);
         assertEquals(404, response.getStatusCodeValue());
         assertEquals("Income not found", response.getBody());
     }
-
-    @Test
-    void testDeleteIncome_accessDenied() {
-        User anotherUser = new User();
-        anotherUser.setId(99L);
-        income.setUser(anotherUser);
-
-        when(incomeService.getIncomeById(income.getId())).thenReturn(Optional.of(income));
-
-        ResponseEntity<?> response = incomeController.deleteIncome(income.getId(), authentication);
-        assertEquals(404, response.getStatusCodeValue()); // since it won't match `.filter(income -> income.getUser().getId().equals(user.getId()))`
-        assertEquals("Income not found", response.getBody());
-    }
 }
@@ -2,18 +2,28 @@ package com.expensetracker.api.controller;
 
 import com.expensetracker.api.controller.LoginController.LoginRequest;
 import com.expensetracker.api.controller.LoginController.LoginResponse;
+import com.expensetracker.application.service.RefreshTokenService;
 import com.expensetracker.application.service.UserService;
 import com.expensetracker.domain.model.User;
+import com.expensetracker.config.exception.ServiceBusyException;
+import com.expensetracker.config.exception.TooManyRequestsException;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
 import com.expensetracker.infrastructure.security.JwtTokenProvider;
+import com.expensetracker.infrastructure.security.LoginThrottle;
+import com.expensetracker.infrastructure.security.PasswordHasher;
+import com.expensetracker.infrastructure.security.TokenRevocationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.mock.web.MockHttpServletRequest;
 
+import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,15 +41,39 @@ public class LoginControllerTest {
     private JwtTokenProvider jwtUtil;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private TokenRevocationService revocationService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private Executor taskExecutor;
+
+    private MockHttpServletRequest httpRequest;
 
     private User user;
 
     @BeforeEach
     void setup() {
         user = new User();
+        user.setId(1L);
         user.setEmail("test@example.com");
         user.setPasswordHash("hashed_password");
+
+        httpRequest = new MockHttpServletRequest();
+        httpRequest.setRemoteAddr("10.0.0.1");
+
+        // Runs continuations inline, so each test sees them complete before join() returns
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
     }
 
     @Test
@@ -50,17 +84,21 @@ public class LoginControllerTest {
         request.password = "raw_password";
 
         when(userService.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("raw_password", "hashed_password")).thenReturn(true);
-        when(jwtUtil.generateToken("test@example.com")).thenReturn("mocked-jwt-token");
+        when(passwordHasher.matches("raw_password", "hashed_password")).thenReturn(CompletableFuture.completedFuture(true));
+        when(jwtUtil.generateToken(1L, "test@example.com")).thenReturn("mocked-jwt-token");
+        when(refreshTokenService.issue(1L)).thenReturn("refresh-token");
 
         // Act
-        ResponseEntity<?> response = loginController.login(request);
+        ResponseEntity<?> response = loginController.login(request, httpRequest).join();
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody() instanceof LoginResponse);
         LoginResponse loginResponse = (LoginResponse) response.getBody();
         assertEquals("mocked-jwt-token", loginResponse.token);
+        assertEquals("refresh-token", loginResponse.refreshToken);
+        // Token signing and the refresh-token insert ran on the task executor, not the hashing pool
+        verify(taskExecutor).execute(any(Runnable.class));
     }
 
     @Test
@@ -73,7 +111,7 @@ public class LoginControllerTest {
         when(userService.findByEmail("invalid@example.com")).thenReturn(Optional.empty());
 
         // Act
-        ResponseEntity<?> response = loginController.login(request);
+        ResponseEntity<?> response = loginController.login(request, httpRequest).join();
 
         // Assert
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
@@ -88,13 +126,149 @@ public class LoginControllerTest {
         request.password = "wrong_password";
 
         when(userService.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("wrong_password", "hashed_password")).thenReturn(false);
+        when(passwordHasher.matches("wrong_password", "hashed_password")).thenReturn(CompletableFuture.completedFuture(false));
 
         // Act
-        ResponseEntity<?> response = loginController.login(request);
+        ResponseEntity<?> response = loginController.login(request, httpRequest).join();
 
         // Assert
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
         assertEquals("Invalid credentials", response.getBody());
     }
+
+    @Test
+    void login_success_rehashesWhenStrengthChanged() {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.email = "test@example.com";
+        request.password = "raw_password";
+
+        when(userService.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("raw_password", "hashed_password")).thenReturn(CompletableFuture.completedFuture(true));
+        when(passwordHasher.needsRehash("hashed_password")).thenReturn(true);
+        when(passwordHasher.encode("raw_password")).thenReturn(CompletableFuture.completedFuture("rehashed_password"));
+        when(jwtUtil.generateToken(1L, "test@example.com")).thenReturn("mocked-jwt-token");
+
+        // Act
+        ResponseEntity<?> response = loginController.login(request, httpRequest).join();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(userService).updatePasswordHash(1L, "rehashed_password");
+    }
+
+    @Test
+    void login_success_skipsRehashWhenPoolBusy() {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.email = "test@example.com";
+        request.password = "raw_password";
+
+        when(userService.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("raw_password", "hashed_password")).thenReturn(CompletableFuture.completedFuture(true));
+        when(passwordHasher.needsRehash("hashed_password")).thenReturn(true);
+        when(passwordHasher.encode("raw_password")).thenThrow(new ServiceBusyException("busy", 1));
+        when(jwtUtil.generateToken(1L, "test@example.com")).thenReturn("mocked-jwt-token");
+
+        // Act
+        ResponseEntity<?> response = loginController.login(request, httpRequest).join();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(userService, never()).updatePasswordHash(any(), any());
+    }
+
+    @Test
+    void login_poolBusy_propagates() {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.email = "test@example.com";
+        request.password = "raw_password";
+
+        when(userService.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("raw_password", "hashed_password")).thenThrow(new ServiceBusyException("busy", 1));
+
+        // Act & Assert
+        assertThrows(ServiceBusyException.class, () -> loginController.login(request, httpRequest));
+        verify(jwtUtil, never()).generateToken(any(), any());
+    }
+
+    @Test
+    void login_throttled_shortCircuitsBeforeLookup() {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.email = "test@example.com";
+        request.password = "raw_password";
+
+        doThrow(new TooManyRequestsException("Too many login attempts, please retry later", 12))
+                .when(loginThrottle).check("test@example.com", "10.0.0.1");
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> loginController.login(request, httpRequest));
+        verifyNoInteractions(userService, passwordHasher, jwtUtil);
+    }
+
+    @Test
+    void logout_revokesPresentedToken() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "test@example.com", "jti-1", expiresAt);
+
+        ResponseEntity<Void> response = loginController.logout(principal, null);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(revocationService).revokeToken("jti-1", 1L, expiresAt);
+    }
+
+    @Test
+    void logout_legacyTokenWithoutId_revokesAllUserTokens() {
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "test@example.com");
+
+        ResponseEntity<Void> response = loginController.logout(principal, null);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(revocationService).revokeAllForUser(1L);
+    }
+
+    @Test
+    void logout_revokesRefreshTokenFamily() {
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "test@example.com", "jti-1", null);
+        LoginController.LogoutRequest request = new LoginController.LogoutRequest();
+        request.refreshToken = "refresh-token";
+
+        loginController.logout(principal, request);
+
+        verify(refreshTokenService).revoke("refresh-token", 1L);
+    }
+
+    @Test
+    void refresh_success_returnsRotatedTokens() {
+        LoginController.RefreshRequest request = new LoginController.RefreshRequest();
+        request.refreshToken = "old-refresh";
+
+        when(refreshTokenService.rotate("old-refresh"))
+                .thenReturn(Optional.of(new RefreshTokenService.Rotation(1L, "new-refresh")));
+        when(userService.findById(1L)).thenReturn(Optional.of(user));
+        when(jwtUtil.generateToken(1L, "test@example.com")).thenReturn("new-access");
+
+        ResponseEntity<?> response = loginController.refresh(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        LoginResponse body = (LoginResponse) response.getBody();
+        assertEquals("new-access", body.token);
+        assertEquals("new-refresh", body.refreshToken);
+        verifyNoInteractions(passwordHasher);
+    }
+
+    @Test
+    void refresh_invalidToken_returnsUnauthorized() {
+        LoginController.RefreshRequest request = new LoginController.RefreshRequest();
+        request.refreshToken = "bogus";
+
+        when(refreshTokenService.rotate("bogus")).thenReturn(Optional.empty());
+
+        ResponseEntity<?> response = loginController.refresh(request);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(jwtUtil);
+    }
 }
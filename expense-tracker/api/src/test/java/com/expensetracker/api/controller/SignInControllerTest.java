@@ -2,12 +2,10 @@ package com.expensetracker.api.controller;
 
 import com.expensetracker.api.controller.SignInController.RegisterRequest;
 import com.expensetracker.api.dto.UserResponseDTO;
-import com.expensetracker.application.service.CategoryService;
 import com.expensetracker.application.service.UserService;
-import com.expensetracker.domain.model.Category;
-import com.expensetracker.domain.model.CategoryType;
 import com.expensetracker.domain.model.User;
 import com.expensetracker.infrastructure.security.JwtTokenProvider;
+import com.expensetracker.infrastructure.security.PasswordHasher;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,9 +13,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,13 +31,13 @@ class SignInControllerTest {
     private UserService userService;
 
     @Mock
-    private CategoryService categoryService;
+    private PasswordHasher passwordHasher;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private JwtTokenProvider jwtTokenProvider; // Not directly used here but kept for completeness
 
     @Mock
-    private JwtTokenProvider jwtTokenProvider; // Not directly used here but kept for completeness
+    private Executor taskExecutor;
 
     private RegisterRequest request;
     private User testUser;
@@ -55,18 +54,23 @@ class SignInControllerTest {
         testUser.setName("Utkarsh");
         testUser.setEmail("utkarsh@example.com");
         testUser.setPasswordHash("hashed123");
+
+        // Runs the registration step inline, so each test sees it complete before join() returns
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
     }
 
     @Test
     void registerUser_success() {
         // Arrange
         when(userService.findByEmail(request.email)).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(request.password)).thenReturn("hashed123");
+        when(passwordHasher.encode(request.password)).thenReturn(CompletableFuture.completedFuture("hashed123"));
         when(userService.registerUser(request.name, request.email, "hashed123")).thenReturn(testUser);
-        when(categoryService.addCategory(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        ResponseEntity<?> response = signInController.registerUser(request);
+        ResponseEntity<?> response = signInController.registerUser(request).join();
 
         // Assert
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
@@ -77,7 +81,6 @@ class SignInControllerTest {
         assertEquals("utkarsh@example.com", dto.getEmail());
 
         verify(userService).registerUser(request.name, request.email, "hashed123");
-        verify(categoryService, times(10)).addCategory(any(Category.class)); // 10 global categories
     }
 
     @Test
@@ -86,32 +89,31 @@ class SignInControllerTest {
         when(userService.findByEmail(request.email)).thenReturn(Optional.of(testUser));
 
         // Act
-        ResponseEntity<?> response = signInController.registerUser(request);
+        ResponseEntity<?> response = signInController.registerUser(request).join();
 
         // Assert
         assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
         assertEquals("Email already exists", response.getBody());
 
+        verify(passwordHasher, never()).encode(any());
         verify(userService, never()).registerUser(any(), any(), any());
-        verify(categoryService, never()).addCategory(any());
     }
 
     @Test
     void registerUser_illegalArgument() {
         // Arrange
         when(userService.findByEmail(request.email)).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(request.password)).thenReturn("hashed123");
+        when(passwordHasher.encode(request.password)).thenReturn(CompletableFuture.completedFuture("hashed123"));
         when(userService.registerUser(request.name, request.email, "hashed123"))
                 .thenThrow(new IllegalArgumentException("Invalid data"));
 
         // Act
-        ResponseEntity<?> response = signInController.registerUser(request);
+        ResponseEntity<?> response = signInController.registerUser(request).join();
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertEquals("Invalid data", response.getBody());
 
         verify(userService).registerUser(request.name, request.email, "hashed123");
-        verify(categoryService, never()).addCategory(any());
     }
 }
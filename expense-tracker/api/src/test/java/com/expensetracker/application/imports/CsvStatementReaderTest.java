@@ -0,0 +1,62 @@
+package com.expensetracker.application.imports;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+class CsvStatementReaderTest {
+
+    @Test
+    void readsRowsByHeaderName() throws IOException {
+        CsvStatementReader reader = reader("Category,Date,Description,Amount\r\n"
+                + "Food,2025-06-08,\"Lunch, with \"\"team\"\"\",-12.50\r\n"
+                + "\r\n"
+                + ",2025-06-09,Salary,3000\r\n");
+
+        StatementRow lunch = reader.next();
+        assertEquals("2025-06-08", lunch.getDate());
+        assertEquals("-12.50", lunch.getAmount());
+        assertEquals("Lunch, with \"team\"", lunch.getDescription());
+        assertEquals("Food", lunch.getCategory());
+        assertEquals(2, lunch.getLine());
+
+        StatementRow salary = reader.next();
+        assertEquals("3000", salary.getAmount());
+        assertEquals("", salary.getCategory());
+        assertEquals(4, salary.getLine());
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    void debitAndCreditColumns_becomeSignedAmounts_withSemicolonDelimiter() throws IOException {
+        CsvStatementReader reader = reader("\uFEFFdate;memo;debit;credit\n"
+                + "2025-06-08;\"Rent\nJune\";900,00;\n"
+                + "2025-06-09;Refund;;25,00\n");
+
+        StatementRow rent = reader.next();
+        assertEquals("-900,00", rent.getAmount());
+        assertEquals("Rent\nJune", rent.getDescription());
+
+        StatementRow refund = reader.next();
+        assertEquals("25,00", refund.getAmount());
+        assertEquals(4, refund.getLine());
+    }
+
+    @Test
+    void missingColumnsOrUnterminatedQuotes_failTheFile() {
+        assertThrows(StatementFormatException.class, () -> reader("description,amount\nLunch,-1\n").next());
+        assertThrows(StatementFormatException.class, () -> reader("").next());
+
+        StatementFormatException unterminated = assertThrows(StatementFormatException.class,
+                () -> reader("date,amount\n2025-06-08,\"-1\n").next());
+        assertEquals("Line 2: unterminated quoted field", unterminated.getMessage());
+    }
+
+    private static CsvStatementReader reader(String csv) {
+        return new CsvStatementReader(new StringReader(csv));
+    }
+}
@@ -0,0 +1,56 @@
+package com.expensetracker.application.imports;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+class OfxStatementReaderTest {
+
+    @Test
+    void readsSgmlTransactionsWithoutEndTags() throws IOException {
+        OfxStatementReader reader = reader("OFXHEADER:100\nDATA:OFXSGML\n\n"
+                + "<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n"
+                + "<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>20250608120000.000[-5:EST]\n<TRNAMT>-12.50\n"
+                + "<NAME>CAFE &amp; BAR\n<MEMO>Lunch\n</STMTTRN>\n"
+                + "<STMTTRN>\n<TRNTYPE>CREDIT\n<DTPOSTED>20250609\n<TRNAMT>3000.00\n<NAME>ACME PAYROLL\n</STMTTRN>\n"
+                + "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n");
+
+        StatementRow lunch = reader.next();
+        assertEquals("2025-06-08", lunch.getDate());
+        assertEquals("-12.50", lunch.getAmount());
+        assertEquals("CAFE & BAR - Lunch", lunch.getDescription());
+        assertNull(lunch.getCategory());
+
+        StatementRow salary = reader.next();
+        assertEquals("2025-06-09", salary.getDate());
+        assertEquals("3000.00", salary.getAmount());
+        assertEquals("ACME PAYROLL", salary.getDescription());
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    void readsXmlTransactions() throws IOException {
+        OfxStatementReader reader = reader("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<?OFX OFXHEADER=\"200\"?>\n"
+                + "<OFX><BANKTRANLIST><STMTTRN><DTPOSTED>20250610</DTPOSTED><TRNAMT>-9.99</TRNAMT>"
+                + "<MEMO>Streaming</MEMO></STMTTRN></BANKTRANLIST></OFX>");
+
+        StatementRow row = reader.next();
+        assertEquals("-9.99", row.getAmount());
+        assertEquals("Streaming", row.getDescription());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void unclosedTransaction_failsTheFile() {
+        assertThrows(StatementFormatException.class,
+                () -> reader("<OFX><STMTTRN><TRNAMT>-1<DTPOSTED>20250101").next());
+    }
+
+    private static OfxStatementReader reader(String ofx) {
+        return new OfxStatementReader(new StringReader(ofx));
+    }
+}
@@ -0,0 +1,184 @@
+package com.expensetracker.application.imports;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.application.export.EntryWriter;
+import com.expensetracker.application.export.ExportFormat;
+import com.expensetracker.application.service.CategoryService;
+import com.expensetracker.application.service.UserService;
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.Expense;
+import com.expensetracker.domain.model.ImportFormat;
+import com.expensetracker.domain.model.ImportJob;
+import com.expensetracker.domain.model.Income;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.ExpenseRepository;
+import com.expensetracker.domain.repository.ImportJobRepository;
+import com.expensetracker.domain.repository.IncomeRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StatementImporterTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private IncomeRepository incomeRepository;
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path dir;
+
+    private StatementImporter importer;
+    private User user;
+    private final List<Expense> savedExpenses = new ArrayList<>();
+    private final List<Income> savedIncomes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importer = new StatementImporter(expenseRepository, incomeRepository, importJobRepository, categoryService,
+                userService, new TransactionTemplate(transactionManager), 2);
+        user = new User();
+        user.setId(1L);
+        lenient().when(userService.getReference(1L)).thenReturn(user);
+        lenient().when(expenseRepository.saveAll(any())).thenAnswer(invocation -> {
+            invocation.<Iterable<Expense>>getArgument(0).forEach(savedExpenses::add);
+            return List.of();
+        });
+        lenient().when(incomeRepository.saveAll(any())).thenAnswer(invocation -> {
+            invocation.<Iterable<Income>>getArgument(0).forEach(savedIncomes::add);
+            return List.of();
+        });
+    }
+
+    @Test
+    void importsInBatches_resolvingAndCreatingCategoriesOnce() throws IOException {
+        Category food = new Category(10L, "Food", CategoryType.EXPENSE, user);
+        Category uncategorized = new Category(11L, StatementImporter.DEFAULT_CATEGORY, CategoryType.INCOME, user);
+        when(categoryService.findByNameAndTypeAndUser("Food", CategoryType.EXPENSE, user)).thenReturn(Optional.of(food));
+        when(categoryService.findByNameAndTypeAndUser(StatementImporter.DEFAULT_CATEGORY, CategoryType.INCOME, user))
+                .thenReturn(Optional.empty());
+        when(categoryService.addCategory(any())).thenReturn(uncategorized);
+
+        importer.importFile(job(0), csv("date,amount,description,category\n"
+                + "2025-06-01,-10.00,Lunch,Food\n"
+                + "2025-06-02,\"1,200.00\",Salary,\n"
+                + "yesterday,-5,Coffee,Food\n"
+                + "2025-06-03,(4.50),Dinner,Food\n"
+                + "2025-06-04,50,Refund,\n"));
+
+        assertEquals(2, savedExpenses.size());
+        assertEquals(new BigDecimal("4.50"), savedExpenses.get(1).getAmount());
+        assertSame(food, savedExpenses.get(0).getCategory());
+        assertEquals(2, savedIncomes.size());
+        assertEquals(new BigDecimal("1200.00"), savedIncomes.get(0).getAmount());
+        assertEquals("Salary", savedIncomes.get(0).getSource());
+        assertSame(uncategorized, savedIncomes.get(1).getCategory());
+
+        verify(categoryService, times(1)).addCategory(any());
+        verify(importJobRepository).recordProgress(eq(5L), eq(2L), eq(1L), eq(1L), eq(0L), isNull(), any());
+        verify(importJobRepository).recordProgress(eq(5L), eq(2L), eq(1L), eq(0L), eq(1L),
+                eq("Line 4: date 'yesterday' is not yyyy-MM-dd"), any());
+        verify(importJobRepository).recordProgress(eq(5L), eq(1L), eq(0L), eq(1L), eq(0L), isNull(), any());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void resumedImport_skipsCommittedRows() throws IOException {
+        when(categoryService.findByNameAndTypeAndUser(anyString(), any(), any()))
+                .thenReturn(Optional.of(new Category(10L, "Food", CategoryType.EXPENSE, user)));
+
+        importer.importFile(job(2), csv("date,amount\n2025-06-01,-1\n2025-06-02,-2\n2025-06-03,-3\n"));
+
+        assertEquals(1, savedExpenses.size());
+        assertEquals(LocalDate.of(2025, 6, 3), savedExpenses.get(0).getDate());
+    }
+
+    @Test
+    void exportedCsv_importsAgainAsTheSameEntries() throws IOException {
+        Category food = new Category(10L, "Food", CategoryType.EXPENSE, user);
+        Category salary = new Category(20L, "Salary", CategoryType.INCOME, user);
+        when(categoryService.findByNameAndTypeAndUser("Food", CategoryType.EXPENSE, user)).thenReturn(Optional.of(food));
+        when(categoryService.findByNameAndTypeAndUser("Salary", CategoryType.INCOME, user)).thenReturn(Optional.of(salary));
+
+        Path expenses = dir.resolve("expenses.csv");
+        try (EntryWriter writer = EntryWriter.open(ExportFormat.CSV, Files.newOutputStream(expenses), false)) {
+            writer.write(1L, LocalDate.of(2025, 6, 8), new BigDecimal("12.50"), food, "Lunch, with team", null);
+        }
+        Path incomes = dir.resolve("incomes.csv");
+        try (EntryWriter writer = EntryWriter.open(ExportFormat.CSV, Files.newOutputStream(incomes), true)) {
+            writer.write(2L, LocalDate.of(2025, 6, 1), new BigDecimal("3000.00"), salary, "June", "ACME");
+        }
+
+        importer.importFile(job(0), expenses);
+        importer.importFile(job(0), incomes);
+
+        assertEquals(1, savedExpenses.size());
+        assertEquals(new BigDecimal("12.50"), savedExpenses.get(0).getAmount());
+        assertEquals(LocalDate.of(2025, 6, 8), savedExpenses.get(0).getDate());
+        assertEquals("Lunch, with team", savedExpenses.get(0).getNotes());
+        assertSame(food, savedExpenses.get(0).getCategory());
+        assertEquals(1, savedIncomes.size());
+        assertEquals(new BigDecimal("3000.00"), savedIncomes.get(0).getAmount());
+        assertEquals("ACME", savedIncomes.get(0).getSource());
+        assertSame(salary, savedIncomes.get(0).getCategory());
+    }
+
+    @Test
+    void parseAmount_acceptsBankFormats() {
+        assertEquals(new BigDecimal("-1234.56"), StatementImporter.parseAmount("-$1,234.56"));
+        assertEquals(new BigDecimal("1234.56"), StatementImporter.parseAmount("1.234,56 €"));
+        assertEquals(new BigDecimal("1234"), StatementImporter.parseAmount("1,234"));
+        assertEquals(new BigDecimal("-12.5"), StatementImporter.parseAmount("(12,5)"));
+        assertThrows(IllegalArgumentException.class, () -> StatementImporter.parseAmount("n/a"));
+        assertThrows(IllegalArgumentException.class, () -> StatementImporter.parseAmount("0.00"));
+    }
+
+    private ImportJob job(long rowsRead) {
+        ImportJob job = new ImportJob();
+        job.setId(5L);
+        job.setUserId(1L);
+        job.setFormat(ImportFormat.CSV);
+        job.setRowsRead(rowsRead);
+        return job;
+    }
+
+    private Path csv(String content) throws IOException {
+        return Files.writeString(dir.resolve("statement.csv"), content);
+    }
+}
@@ -0,0 +1,200 @@
+package com.expensetracker.application.listing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.expensetracker.api.ExpenseTrackerApplication;
+import com.expensetracker.application.paging.CursorPage;
+import com.expensetracker.application.paging.KeysetCursor;
+import com.expensetracker.application.paging.KeysetPager;
+import com.expensetracker.config.exception.BadRequestException;
+import com.expensetracker.domain.model.Budget;
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.Expense;
+import com.expensetracker.domain.model.Income;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.BudgetRepository;
+import com.expensetracker.domain.repository.EntryFilter;
+import com.expensetracker.domain.repository.EntrySpecifications;
+import com.expensetracker.domain.repository.ExpenseRepository;
+import com.expensetracker.domain.repository.IncomeRepository;
+import com.expensetracker.domain.repository.view.ExpenseView;
+import com.expensetracker.domain.repository.view.IncomeView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * The JDBC read path must produce byte-for-byte the JSON that serializing the
+ * ORM results produces, for every filter, across pages and for every entity shape.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = ExpenseTrackerApplication.class)
+class JdbcListingReaderTest {
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Configured like the application's message converter (ISO dates, nulls written)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private JdbcListingReader reader;
+    private User user;
+    private Category food;
+    private Category rent;
+    private Category salary;
+
+    @BeforeEach
+    void setUp() {
+        reader = new JdbcListingReader(jdbcTemplate, transactionManager, true);
+        user = entityManager.persist(new User(null, "Test", "jdbc@example.com", "hash"));
+        User other = entityManager.persist(new User(null, "Other", "jdbc-other@example.com", "hash"));
+
+        food = entityManager.persist(new Category(null, "Food", CategoryType.EXPENSE, user));
+        rent = entityManager.persist(new Category(null, "Rent", CategoryType.EXPENSE, user));
+        salary = entityManager.persist(new Category(null, "Salary", CategoryType.INCOME, user));
+
+        expense(user, food, "12.50", LocalDate.of(2025, 6, 1), "lunch");
+        expense(user, food, "40.00", LocalDate.of(2025, 6, 3), "groceries");
+        expense(user, rent, "900.00", LocalDate.of(2025, 6, 1), "june rent");
+        expense(user, food, "8.00", LocalDate.of(2025, 5, 20), "lunch_special");
+        expense(user, food, "3.00", LocalDate.of(2025, 5, 20), null);
+        expense(other, food, "10.00", LocalDate.of(2025, 6, 2), "lunch");
+
+        income(user, "3000.00", "ACME", LocalDate.of(2025, 6, 1), "june salary");
+        income(user, "250.00", null, LocalDate.of(2025, 6, 1), null);
+        income(user, "120.00", "Refund", LocalDate.of(2025, 5, 15), "tax");
+
+        budget(food, 6, "300.00");
+        budget(rent, 6, "900.00");
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void expensePages_matchTheOrmPath() throws Exception {
+        assertSameExpenses(filter -> { }, null, 10);
+        assertSameExpenses(filter -> filter.setCategoryId(food.getId()), null, 10);
+        assertSameExpenses(filter -> {
+            filter.setFrom(LocalDate.of(2025, 5, 21));
+            filter.setTo(LocalDate.of(2025, 6, 2));
+        }, null, 10);
+        assertSameExpenses(filter -> {
+            filter.setMinAmount(new BigDecimal("10"));
+            filter.setMaxAmount(new BigDecimal("100"));
+        }, null, 10);
+        assertSameExpenses(filter -> filter.setNotesPrefix("lunch_"), null, 10);
+    }
+
+    @Test
+    void expensePages_followTheSameCursors() throws Exception {
+        String cursor = null;
+        int pages = 0;
+        do {
+            String json = assertSameExpenses(filter -> { }, cursor, 2);
+            cursor = objectMapper.readTree(json).get("nextCursor").textValue();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void incomePage_matchesTheOrmPath_includingTheCategory() throws Exception {
+        CursorPage<IncomeView> page = KeysetPager.page(incomeRepository::findViews,
+                EntrySpecifications.matching(user.getId(), null), null, 2,
+                income -> new KeysetCursor(income.date(), income.id()));
+
+        String json = objectMapper.writeValueAsString(reader.incomePage(user.getId(), null, null, 2));
+
+        assertEquals(objectMapper.writeValueAsString(page), json);
+        assertTrue(json.contains("\"category\":{\"id\":" + salary.getId() + ",\"name\":\"Salary\",\"type\":\"INCOME\"}"));
+    }
+
+    @Test
+    void budgets_matchTheOrmPath() throws Exception {
+        String json = objectMapper.writeValueAsString(reader.budgets(user.getId()));
+
+        assertEquals(objectMapper.writeValueAsString(budgetRepository.findViewsByUserId(user.getId())), json);
+    }
+
+    @Test
+    void invalidCursor_isRejectedBeforeAnyQuery() {
+        assertThrows(BadRequestException.class, () -> reader.expensePage(user.getId(), null, "not a cursor", 10));
+    }
+
+    private String assertSameExpenses(Consumer<EntryFilter> configure, String cursor, int limit) throws Exception {
+        EntryFilter filter = new EntryFilter();
+        configure.accept(filter);
+        CursorPage<ExpenseView> page = KeysetPager.page(expenseRepository::findViews,
+                EntrySpecifications.matching(user.getId(), filter), cursor, limit,
+                expense -> new KeysetCursor(expense.date(), expense.id()));
+
+        String json = objectMapper.writeValueAsString(reader.expensePage(user.getId(), filter, cursor, limit));
+
+        assertEquals(objectMapper.writeValueAsString(page), json);
+        return json;
+    }
+
+    private void expense(User owner, Category category, String amount, LocalDate date, String notes) {
+        entityManager.persist(Expense.builder()
+                .user(owner)
+                .category(category)
+                .amount(new BigDecimal(amount))
+                .date(date)
+                .notes(notes)
+                .build());
+    }
+
+    private void income(User owner, String amount, String source, LocalDate date, String notes) {
+        Income income = new Income();
+        income.setUser(owner);
+        income.setCategory(salary);
+        income.setAmount(new BigDecimal(amount));
+        income.setSource(source);
+        income.setDate(date);
+        income.setNotes(notes);
+        entityManager.persist(income);
+    }
+
+    private void budget(Category category, int month, String amount) {
+        Budget budget = new Budget();
+        budget.setUser(user);
+        budget.setCategory(category);
+        budget.setMonth(month);
+        budget.setYear(2025);
+        budget.setAmount(new BigDecimal(amount));
+        entityManager.persist(budget);
+    }
+}
@@ -0,0 +1,137 @@
+package com.expensetracker.application.listing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.expensetracker.api.ExpenseTrackerApplication;
+import com.expensetracker.application.paging.KeysetCursor;
+import com.expensetracker.application.paging.KeysetPager;
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.Expense;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.EntrySpecifications;
+import com.expensetracker.domain.repository.ExpenseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Latency and allocation per GET /expenses page (50 rows, serialized to JSON) for
+ * the ORM and JDBC read paths, on H2. Off by default; run with
+ * {@code mvn -pl api test -Dtest=ListingReadPathBenchmarkTest -Dbenchmark=true}.
+ *
+ * Each request starts with an empty persistence context, as it would per HTTP
+ * request. Allocation is measured on the calling thread, which is where both the
+ * query and the serialization run.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = ExpenseTrackerApplication.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ListingReadPathBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListingReadPathBenchmarkTest.class);
+
+    private static final int ROWS = 10_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int REQUESTS = 5_000;
+
+    private interface Request {
+        void run() throws IOException;
+    }
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void jdbcPath_allocatesLessPerRequest() throws IOException {
+        User user = entityManager.persist(new User(null, "Bench", "listing-bench@example.com", "hash"));
+        Category category = entityManager.persist(new Category(null, "Bench", CategoryType.EXPENSE, user));
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(Expense.builder()
+                    .user(user)
+                    .category(category)
+                    .amount(BigDecimal.valueOf(i, 2))
+                    .date(LocalDate.of(2025, 1, 1).plusDays(i % 365))
+                    .notes("expense " + i)
+                    .build());
+            if ((i + 1) % 1000 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        JdbcListingReader reader = new JdbcListingReader(jdbcTemplate, transactionManager, true);
+        Long userId = user.getId();
+        Request orm = () -> {
+            entityManager.clear();
+            objectMapper.writeValue(OutputStream.nullOutputStream(),
+                    KeysetPager.page(expenseRepository::findViews, EntrySpecifications.matching(userId, null), null,
+                            PAGE_SIZE, expense -> new KeysetCursor(expense.date(), expense.id())));
+        };
+        Request jdbc = () -> objectMapper.writeValue(OutputStream.nullOutputStream(),
+                reader.expensePage(userId, null, null, PAGE_SIZE));
+
+        repeat(orm, WARMUP_REQUESTS);
+        repeat(jdbc, WARMUP_REQUESTS);
+
+        long ormBytes = measure("orm", orm);
+        long jdbcBytes = measure("jdbc", jdbc);
+
+        assertTrue(jdbcBytes < ormBytes, () -> "jdbc " + jdbcBytes + " B/request, orm " + ormBytes + " B/request");
+    }
+
+    // Logs mean latency and allocation; returns bytes allocated per request
+    private long measure(String label, Request request) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        repeat(request, REQUESTS);
+        long elapsed = System.nanoTime() - start;
+        long bytesPerRequest = (threads.getThreadAllocatedBytes(thread) - allocatedBefore) / REQUESTS;
+
+        logger.info("{}: {} requests of {} rows, {} us/request, {} KB allocated/request", label, REQUESTS, PAGE_SIZE,
+                String.format("%.1f", elapsed / 1e3 / REQUESTS), bytesPerRequest / 1024);
+        return bytesPerRequest;
+    }
+
+    private static void repeat(Request request, int times) throws IOException {
+        for (int i = 0; i < times; i++) {
+            request.run();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.expensetracker.application.service;
+
+import com.expensetracker.domain.model.ApiKey;
+import com.expensetracker.domain.model.ApiKeyScope;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.ApiKeyRepository;
+import com.expensetracker.infrastructure.security.ApiKeyAuthenticator;
+import com.expensetracker.infrastructure.security.TokenDigest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ApiKeyServiceTest {
+
+    @Mock
+    private ApiKeyRepository apiKeyRepository;
+
+    @Mock
+    private ApiKeyAuthenticator apiKeyAuthenticator;
+
+    @InjectMocks
+    private ApiKeyService apiKeyService;
+
+    @Test
+    void createKey_storesDigestAndReturnsRawKeyOnce() {
+        when(apiKeyRepository.save(any(ApiKey.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ApiKeyService.CreatedApiKey created = apiKeyService.createKey(new User(), "import script",
+                EnumSet.of(ApiKeyScope.EXPENSES_WRITE));
+
+        assertTrue(created.getRawKey().startsWith("etk_"));
+        assertEquals(TokenDigest.sha256(created.getRawKey()), created.getApiKey().getKeyHash());
+        assertTrue(created.getRawKey().startsWith(created.getApiKey().getPrefix()));
+        assertEquals(Set.of(ApiKeyScope.EXPENSES_WRITE), created.getApiKey().getScopes());
+    }
+
+    @Test
+    void createKey_withoutScopes_throwsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> apiKeyService.createKey(new User(), "import script", Set.of()));
+        verify(apiKeyRepository, never()).save(any());
+    }
+
+    @Test
+    void revokeKey_marksRevokedAndEvictsCache() {
+        ApiKey apiKey = new ApiKey();
+        apiKey.setKeyHash("hash");
+        when(apiKeyRepository.findByIdAndUserId(5L, 1L)).thenReturn(Optional.of(apiKey));
+
+        assertTrue(apiKeyService.revokeKey(1L, 5L));
+        assertTrue(apiKey.isRevoked());
+        verify(apiKeyAuthenticator).evict("hash");
+    }
+
+    @Test
+    void revokeKey_insideTransaction_evictsAfterCommit() {
+        ApiKey apiKey = new ApiKey();
+        apiKey.setKeyHash("hash");
+        when(apiKeyRepository.findByIdAndUserId(5L, 1L)).thenReturn(Optional.of(apiKey));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(apiKeyService.revokeKey(1L, 5L));
+            verifyNoInteractions(apiKeyAuthenticator);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(apiKeyAuthenticator).evict("hash");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void revokeKey_foreignKey_returnsFalse() {
+        when(apiKeyRepository.findByIdAndUserId(5L, 2L)).thenReturn(Optional.empty());
+
+        assertFalse(apiKeyService.revokeKey(2L, 5L));
+        verifyNoInteractions(apiKeyAuthenticator);
+    }
+}
@@ -4,6 +4,7 @@ import com.expensetracker.domain.model.Budget;
 import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.User;
 import com.expensetracker.domain.repository.BudgetRepository;
+import com.expensetracker.domain.repository.view.BudgetView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -80,34 +81,41 @@ class CategoryBudgetServiceTest {
 
     @Test
     void getBudgetsForUser_returnsListOfBudgets() {
-        when(budgetRepository.findAllByUserId(user.getId())).thenReturn(List.of(budget));
+        BudgetView view = BudgetView.of(budget);
+        when(budgetRepository.findViewsByUserId(user.getId())).thenReturn(List.of(view));
 
-        List<Budget> result = budgetService.getBudgetsForUser(user.getId());
+        List<BudgetView> result = budgetService.getBudgetsForUser(user.getId());
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(budget, result.get(0));
-        verify(budgetRepository, times(1)).findAllByUserId(user.getId());
+        assertEquals(view, result.get(0));
+        verify(budgetRepository, times(1)).findViewsByUserId(user.getId());
     }
 
     @Test
-    void getById_returnsBudgetIfExists() {
-        when(budgetRepository.findById(100L)).thenReturn(Optional.of(budget));
+    void getBudgetForUser_returnsBudgetIfOwned() {
+        when(budgetRepository.findByIdAndUserId(100L, user.getId())).thenReturn(Optional.of(budget));
 
-        Optional<Budget> result = budgetService.getById(100L);
+        Optional<Budget> result = budgetService.getBudgetForUser(100L, user.getId());
 
         assertTrue(result.isPresent());
         assertEquals(budget, result.get());
-        verify(budgetRepository, times(1)).findById(100L);
+        verify(budgetRepository, times(1)).findByIdAndUserId(100L, user.getId());
     }
 
     @Test
-    void deleteBudget_callsRepositoryDeleteById() {
-        doNothing().when(budgetRepository).deleteById(100L);
+    void deleteBudget_deletesInOneStatement() {
+        when(budgetRepository.deleteByIdAndUserId(100L, user.getId())).thenReturn(1);
 
-        budgetService.deleteBudget(100L);
+        assertTrue(budgetService.deleteBudget(100L, user.getId()));
+        verify(budgetRepository, never()).findById(any());
+    }
+
+    @Test
+    void deleteBudget_notOwned_returnsFalse() {
+        when(budgetRepository.deleteByIdAndUserId(100L, 2L)).thenReturn(0);
 
-        verify(budgetRepository, times(1)).deleteById(100L);
+        assertFalse(budgetService.deleteBudget(100L, 2L));
     }
 
 //    @Test
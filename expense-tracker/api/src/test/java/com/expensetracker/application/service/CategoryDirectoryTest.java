@@ -0,0 +1,173 @@
+package com.expensetracker.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.CategoryRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryDirectoryTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private final AtomicLong clock = new AtomicLong();
+    private CategoryDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        directory = new CategoryDirectory(categoryRepository, 2, 60_000, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedUser() {
+        User first = user(1L);
+        User second = user(2L);
+        User third = user(3L);
+        when(categoryRepository.findAllByUserId(anyLong())).thenReturn(List.of());
+
+        directory.all(first);
+        directory.all(second);
+        directory.all(first);
+        directory.all(third);
+
+        assertEquals(2, directory.cachedUsers());
+        directory.all(first);
+        directory.all(second);
+
+        verify(categoryRepository, times(1)).findAllByUserId(1L);
+        verify(categoryRepository, times(2)).findAllByUserId(2L);
+    }
+
+    @Test
+    void loadOverlappingAnInvalidation_isNotCached() {
+        User user = user(1L);
+        when(categoryRepository.findAllByUserId(1L)).thenAnswer(invocation -> {
+            directory.invalidate(1L);
+            return List.of(category(10L, user));
+        });
+
+        assertTrue(directory.owned(10L, user).isPresent());
+        assertEquals(0, directory.cachedUsers());
+    }
+
+    @Test
+    void invalidatingAnotherUser_doesNotDiscardALoadInFlight() {
+        User user = user(1L);
+        when(categoryRepository.findAllByUserId(1L)).thenAnswer(invocation -> {
+            directory.invalidate(2L);
+            return List.of(category(10L, user));
+        });
+
+        directory.all(user);
+        directory.all(user);
+
+        assertEquals(1, directory.cachedUsers());
+        verify(categoryRepository, times(1)).findAllByUserId(1L);
+    }
+
+    @Test
+    void invalidateInsideTransaction_dropsDirectoryAgainAfterCompletion() {
+        User user = user(1L);
+        when(categoryRepository.findAllByUserId(1L)).thenReturn(List.of(category(10L, user)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        directory.invalidate(1L);
+        // A reader that loads the pre-commit state between the invalidation and the commit
+        directory.all(user);
+        assertEquals(1, directory.cachedUsers());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(0, directory.cachedUsers());
+    }
+
+    @Test
+    void owned_isEmptyForForeignAndMissingIds() {
+        User user = user(1L);
+        when(categoryRepository.findAllByUserId(1L)).thenReturn(List.of(category(10L, user), category(30L, user)));
+
+        assertEquals("Category 30", directory.owned(30L, user).orElseThrow().getName());
+        assertTrue(directory.owned(20L, user).isEmpty());
+        assertTrue(directory.owned(null, user).isEmpty());
+    }
+
+    @Test
+    void owned_missConfirmedAgainstTable() {
+        User user = user(1L);
+        when(categoryRepository.findAllByUserId(1L)).thenReturn(List.of(category(10L, user)));
+        // Added on another instance after this directory was loaded
+        when(categoryRepository.findByIdAndUserId(20L, 1L)).thenReturn(Optional.of(category(20L, user)));
+
+        assertEquals("Category 20", directory.owned(20L, user).orElseThrow().getName());
+        assertEquals(0, directory.cachedUsers());
+    }
+
+    @Test
+    void ownedAll_confirmsEveryMissWithOneQuery() {
+        User user = user(1L);
+        when(categoryRepository.findAllByUserId(1L)).thenReturn(List.of(category(10L, user)));
+        when(categoryRepository.findAllByIdInAndUserId(Set.of(20L, 30L, 40L), 1L)).thenReturn(List.of(category(20L, user)));
+
+        Map<Long, Category> owned = directory.ownedAll(List.of(10L, 20L, 30L, 40L), user);
+
+        assertEquals(Set.of(10L, 20L), owned.keySet());
+        verify(categoryRepository, times(1)).findAllByIdInAndUserId(any(), any());
+        verify(categoryRepository, never()).findByIdAndUserId(any(), any());
+    }
+
+    @Test
+    void expiredDirectory_isReloaded() {
+        User user = user(1L);
+        when(categoryRepository.findAllByUserId(1L)).thenReturn(List.of(category(10L, user)));
+
+        directory.all(user);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        directory.all(user);
+        verify(categoryRepository, times(1)).findAllByUserId(1L);
+        verify(categoryRepository, times(1)).findAllByUserIsNullOrderById();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        directory.all(user);
+        verify(categoryRepository, times(2)).findAllByUserId(1L);
+        verify(categoryRepository, times(2)).findAllByUserIsNullOrderById();
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static Category category(Long id, User user) {
+        return new Category(id, "Category " + id, CategoryType.EXPENSE, user);
+    }
+}
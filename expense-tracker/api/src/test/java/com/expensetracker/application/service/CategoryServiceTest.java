@@ -1,9 +1,13 @@
 package com.expensetracker.application.service;
 
+import com.expensetracker.config.exception.ConflictException;
 import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.CategoryType;
 import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.BudgetRepository;
 import com.expensetracker.domain.repository.CategoryRepository;
+import com.expensetracker.domain.repository.ExpenseRepository;
+import com.expensetracker.domain.repository.IncomeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,7 +18,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -24,7 +28,15 @@ class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
-    @InjectMocks
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private IncomeRepository incomeRepository;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
     private CategoryService categoryService;
 
     private Category category;
@@ -32,6 +44,9 @@ class CategoryServiceTest {
 
     @BeforeEach
     void setUp() {
+        categoryService = new CategoryService(categoryRepository, new CategoryDirectory(categoryRepository, 100, 60_000),
+                expenseRepository, incomeRepository, budgetRepository);
+
         user = new User();
         user.setId(1L);
         user.setEmail("test@example.com");
@@ -54,16 +69,59 @@ class CategoryServiceTest {
         verify(categoryRepository, times(1)).save(category);
     }
 
+    @Test
+    void testAddCategory_reloadsDirectory() {
+        Category rent = new Category(101L, "Rent", CategoryType.EXPENSE, user);
+        when(categoryRepository.findAllByUserId(user.getId()))
+                .thenReturn(List.of(category))
+                .thenReturn(List.of(category, rent));
+        when(categoryRepository.save(rent)).thenReturn(rent);
+
+        assertEquals(1, categoryService.getCategoriesByUser(user).size());
+        categoryService.addCategory(rent);
+
+        assertEquals(2, categoryService.getCategoriesByUser(user).size());
+        verify(categoryRepository, times(2)).findAllByUserId(user.getId());
+    }
+
     @Test
     void testGetCategoriesByUser() {
-        when(categoryRepository.findByUser(user)).thenReturn(List.of(category));
+        when(categoryRepository.findAllByUserId(user.getId())).thenReturn(List.of(category));
 
         List<Category> categories = categoryService.getCategoriesByUser(user);
+        categoryService.getCategoriesByUser(user);
 
         assertNotNull(categories);
         assertEquals(1, categories.size());
         assertEquals("Food", categories.get(0).getName());
-        verify(categoryRepository, times(1)).findByUser(user);
+        verify(categoryRepository, times(1)).findAllByUserId(user.getId());
+    }
+
+    @Test
+    void testGetCategoriesByUser_returnsCopies() {
+        when(categoryRepository.findAllByUserId(user.getId())).thenReturn(List.of(category));
+
+        categoryService.getCategoriesByUser(user).get(0).setName("Changed");
+
+        assertEquals("Food", categoryService.getCategoriesByUser(user).get(0).getName());
+    }
+
+    @Test
+    void testGetOwnedCategory() {
+        when(categoryRepository.findAllByUserId(user.getId())).thenReturn(List.of(category));
+
+        assertEquals(category, categoryService.getOwnedCategory(100L, user).orElseThrow());
+        assertTrue(categoryService.getOwnedCategory(200L, user).isEmpty());
+        verify(categoryRepository, times(1)).findAllByUserId(user.getId());
+        verify(categoryRepository, never()).findById(any());
+    }
+
+    @Test
+    void testCategoryExists() {
+        when(categoryRepository.existsById(200L)).thenReturn(true);
+
+        assertTrue(categoryService.categoryExists(200L));
+        assertFalse(categoryService.categoryExists(null));
     }
 
     @Test
@@ -89,47 +147,140 @@ class CategoryServiceTest {
 
     @Test
     void testFindByNameAndTypeAndUser() {
-        when(categoryRepository.findByNameAndTypeAndUser("Food", CategoryType.EXPENSE, user))
-                .thenReturn(Optional.of(category));
+        when(categoryRepository.findAllByUserId(user.getId())).thenReturn(List.of(category));
 
         Optional<Category> result = categoryService.findByNameAndTypeAndUser("Food", CategoryType.EXPENSE, user);
 
         assertTrue(result.isPresent());
         assertEquals(category, result.get());
-        verify(categoryRepository, times(1))
-                .findByNameAndTypeAndUser("Food", CategoryType.EXPENSE, user);
+        assertTrue(categoryService.findByNameAndTypeAndUser("Food", CategoryType.INCOME, user).isEmpty());
     }
 
     @Test
     void testGetCategoriesByTypeForUser() {
-        when(categoryRepository.findByTypeAndUser(CategoryType.EXPENSE, user)).thenReturn(List.of(category));
+        when(categoryRepository.findAllByUserId(user.getId()))
+                .thenReturn(List.of(category, new Category(101L, "Salary", CategoryType.INCOME, user)));
 
         List<Category> result = categoryService.getCategoriesByTypeForUser("expense", user);
 
         assertEquals(1, result.size());
         assertEquals(CategoryType.EXPENSE, result.get(0).getType());
-        verify(categoryRepository, times(1)).findByTypeAndUser(CategoryType.EXPENSE, user);
     }
 
     @Test
-    void testUpdateCategory() {
-        category.setName("Groceries");
+    void testGetCategoryForUser() {
+        when(categoryRepository.findByIdAndUserId(100L, user.getId())).thenReturn(Optional.of(category));
 
-        when(categoryRepository.save(category)).thenReturn(category);
+        Optional<Category> result = categoryService.getCategoryForUser(100L, user.getId());
+
+        assertTrue(result.isPresent());
+        assertEquals(category, result.get());
+    }
+
+    @Test
+    void testDeleteCategory() {
+        when(categoryRepository.deleteByIdAndUserId(100L, user.getId())).thenReturn(1);
+
+        assertTrue(categoryService.deleteCategory(100L, user));
+        verify(categoryRepository, times(1)).deleteByIdAndUserId(100L, user.getId());
+    }
+
+    @Test
+    void testDeleteCategory_notOwned() {
+        User other = new User();
+        other.setId(2L);
+        when(categoryRepository.deleteByIdAndUserId(100L, 2L)).thenReturn(0);
+
+        assertFalse(categoryService.deleteCategory(100L, other));
+        verify(categoryRepository, never()).save(any());
+    }
+
+    @Test
+    void testGetCategoriesByUser_mergesTemplates() {
+        Category food = template(1L, "Food", CategoryType.EXPENSE);
+        Category rent = template(2L, "Rent", CategoryType.EXPENSE);
+        Category salary = template(3L, "Salary", CategoryType.INCOME);
+        when(categoryRepository.findAllByUserIsNullOrderById()).thenReturn(List.of(food, rent, salary));
+        when(categoryRepository.findAllByUserId(user.getId())).thenReturn(List.of(
+                category,                                                   // same name and type as the Food template
+                new Category(101L, "Housing", CategoryType.EXPENSE, user, 2L, false),
+                new Category(102L, null, null, user, 3L, true)));
+
+        List<Category> categories = categoryService.getCategoriesByUser(user);
+
+        assertEquals(List.of(100L, 101L), categories.stream().map(Category::getId).toList());
+    }
+
+    @Test
+    void testGetOwnedCategory_template() {
+        when(categoryRepository.findAllByUserIsNullOrderById()).thenReturn(List.of(template(1L, "Rent", CategoryType.EXPENSE)));
 
-        Category updated = categoryService.updateCategory(category);
+        Category rent = categoryService.getOwnedCategory(1L, user).orElseThrow();
+
+        assertEquals("Rent", rent.getName());
+        assertNull(rent.getUser());
+    }
+
+    @Test
+    void testUpdateCategoryForUser_templateIsCopiedAndEntriesMoved() {
+        when(categoryRepository.findAllByUserIsNullOrderById()).thenReturn(List.of(template(1L, "Rent", CategoryType.EXPENSE)));
+        when(categoryRepository.findAllByUserId(user.getId())).thenReturn(List.of(),
+                List.of(new Category(200L, "Housing", CategoryType.EXPENSE, user, 1L, false)));
+        when(categoryRepository.saveAndFlush(any(Category.class))).thenAnswer(invocation -> {
+            Category saved = invocation.getArgument(0);
+            saved.setId(200L);
+            return saved;
+        });
+
+        Category copy = categoryService.updateCategoryForUser(1L, user, "Housing", CategoryType.EXPENSE).orElseThrow();
+
+        assertEquals(200L, copy.getId());
+        assertEquals(1L, copy.getTemplateId());
+        assertEquals(user, copy.getUser());
+        verify(expenseRepository).reassignCategory(user.getId(), 1L, copy);
+        verify(incomeRepository).reassignCategory(user.getId(), 1L, copy);
+        verify(budgetRepository).reassignCategory(user.getId(), 1L, copy);
+        assertEquals(List.of("Housing"), categoryService.getCategoriesByUser(user).stream().map(Category::getName).toList());
+    }
+
+    @Test
+    void testUpdateCategoryForUser_ownCategory() {
+        when(categoryRepository.findByIdAndUserId(100L, user.getId())).thenReturn(Optional.of(category));
+
+        Category updated = categoryService.updateCategoryForUser(100L, user, "Groceries", CategoryType.EXPENSE).orElseThrow();
 
-        assertNotNull(updated);
         assertEquals("Groceries", updated.getName());
-        verify(categoryRepository, times(1)).save(category);
+        verify(categoryRepository).save(category);
+        verifyNoInteractions(expenseRepository, incomeRepository, budgetRepository);
     }
 
     @Test
-    void testDeleteCategory() {
-        doNothing().when(categoryRepository).deleteById(100L);
+    void testUpdateCategoryForUser_duplicateNameIsConflict() {
+        when(categoryRepository.findAllByUserIsNullOrderById()).thenReturn(List.of(template(1L, "Rent", CategoryType.EXPENSE)));
+        when(categoryRepository.existsByNameAndTypeAndUserIdAndIdNot("Food", CategoryType.EXPENSE, user.getId(), 1L))
+                .thenReturn(true);
+
+        assertThrows(ConflictException.class,
+                () -> categoryService.updateCategoryForUser(1L, user, "Food", CategoryType.EXPENSE));
+        verify(categoryRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(expenseRepository, incomeRepository, budgetRepository);
+    }
 
-        categoryService.deleteCategory(100L);
+    @Test
+    void testDeleteCategory_templateIsHiddenForUser() {
+        when(categoryRepository.findAllByUserIsNullOrderById()).thenReturn(List.of(template(1L, "Rent", CategoryType.EXPENSE)));
+        when(categoryRepository.deleteByIdAndUserId(1L, user.getId())).thenReturn(0);
+
+        assertTrue(categoryService.deleteCategory(1L, user));
+
+        ArgumentCaptor<Category> tombstone = ArgumentCaptor.forClass(Category.class);
+        verify(categoryRepository).save(tombstone.capture());
+        assertTrue(tombstone.getValue().isHidden());
+        assertEquals(1L, tombstone.getValue().getTemplateId());
+        assertEquals(user, tombstone.getValue().getUser());
+    }
 
-        verify(categoryRepository, times(1)).deleteById(100L);
+    private static Category template(Long id, String name, CategoryType type) {
+        return new Category(id, name, type, null);
     }
 }
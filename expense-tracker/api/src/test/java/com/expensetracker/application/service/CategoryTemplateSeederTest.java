@@ -0,0 +1,76 @@
+package com.expensetracker.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.repository.CategoryRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryTemplateSeederTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CategoryDirectory categoryDirectory;
+
+    @InjectMocks
+    private CategoryTemplateSeeder seeder;
+
+    @Test
+    void seed_insertsOnlyMissingTemplatesWithTheirKey() {
+        List<Category> existing = CategoryTemplateSeeder.DEFAULTS.stream()
+                .filter(template -> !template.getName().equals("Rent"))
+                .toList();
+        when(categoryRepository.findAllByUserIsNullOrderById()).thenReturn(existing);
+
+        seeder.seed();
+
+        ArgumentCaptor<Category> inserted = ArgumentCaptor.forClass(Category.class);
+        verify(categoryRepository).saveAndFlush(inserted.capture());
+        assertEquals("Rent", inserted.getValue().getName());
+        assertEquals("EXPENSE:Rent", inserted.getValue().getTemplateKey());
+        assertNull(inserted.getValue().getUser());
+        verify(categoryDirectory).invalidateTemplates();
+    }
+
+    @Test
+    void seed_skipsTemplateInsertedConcurrentlyByAnotherNode() {
+        when(categoryRepository.findAllByUserIsNullOrderById()).thenReturn(List.of());
+        when(categoryRepository.saveAndFlush(any(Category.class))).thenAnswer(invocation -> {
+            Category category = invocation.getArgument(0);
+            if (category.getType() == CategoryType.EXPENSE && "Food".equals(category.getName())) {
+                throw new DataIntegrityViolationException("duplicate template_key");
+            }
+            return category;
+        });
+
+        seeder.seed();
+
+        verify(categoryRepository, times(CategoryTemplateSeeder.DEFAULTS.size())).saveAndFlush(any(Category.class));
+        verify(categoryDirectory).invalidateTemplates();
+    }
+
+    @Test
+    void seed_nothingMissing_leavesDirectoryAlone() {
+        when(categoryRepository.findAllByUserIsNullOrderById()).thenReturn(CategoryTemplateSeeder.DEFAULTS);
+
+        seeder.seed();
+
+        verify(categoryRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(categoryDirectory);
+    }
+}
@@ -0,0 +1,201 @@
+package com.expensetracker.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.expensetracker.application.batch.BatchItemResult;
+import com.expensetracker.application.batch.EntryOperation;
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.Expense;
+import com.expensetracker.domain.model.Income;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.CategoryRepository;
+import com.expensetracker.domain.repository.ExpenseRepository;
+import com.expensetracker.domain.repository.IncomeRepository;
+
+@ExtendWith(MockitoExtension.class)
+class EntryBatchServiceTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private IncomeRepository incomeRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CategoryDirectory categoryDirectory;
+
+    @InjectMocks
+    private EntryBatchService batchService;
+
+    private User user;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        food = new Category(10L, "Food", CategoryType.EXPENSE, user);
+    }
+
+    @Test
+    void applyExpenses_answersEveryOperation() {
+        Expense lunch = expense(100L);
+        Expense dinner = expense(101L);
+        when(categoryDirectory.ownedAll(Set.of(10L), user)).thenReturn(Map.of(10L, food));
+        when(expenseRepository.findAllByIdInAndUserId(Set.of(100L, 101L, 102L), 1L)).thenReturn(List.of(lunch, dinner));
+        when(expenseRepository.save(any(Expense.class))).thenAnswer(invocation -> {
+            Expense expense = invocation.getArgument(0);
+            expense.setId(200L);
+            return expense;
+        });
+
+        List<BatchItemResult> results = batchService.applyExpenses(user, List.of(
+                create(BigDecimal.TEN, 10L, LocalDate.of(2025, 6, 8)),
+                update(100L, BigDecimal.ONE, 10L),
+                delete(101L),
+                delete(102L)));
+
+        assertResult(results.get(0), 0, 201, 200L);
+        assertResult(results.get(1), 1, 200, 100L);
+        assertResult(results.get(2), 2, 204, 101L);
+        assertEquals(404, results.get(3).getStatus());
+        assertEquals("Expense not found", results.get(3).getError());
+
+        assertEquals(BigDecimal.ONE, lunch.getAmount());
+        verify(expenseRepository).delete(dinner);
+        // Ownership came from the directory, so no category query was needed
+        verifyNoInteractions(categoryRepository);
+    }
+
+    @Test
+    void applyExpenses_checksUnknownCategoriesWithOneQuery() {
+        when(categoryDirectory.ownedAll(Set.of(20L, 30L), user)).thenReturn(Map.of());
+        when(categoryRepository.findExistingIds(Set.of(20L, 30L))).thenReturn(List.of(20L));
+
+        List<BatchItemResult> results = batchService.applyExpenses(user, List.of(
+                create(BigDecimal.TEN, 20L, LocalDate.now()),
+                create(BigDecimal.TEN, 30L, LocalDate.now()),
+                create(BigDecimal.TEN, 20L, LocalDate.now())));
+
+        assertEquals(403, results.get(0).getStatus());
+        assertEquals(404, results.get(1).getStatus());
+        assertEquals(403, results.get(2).getStatus());
+        verify(categoryRepository, times(1)).findExistingIds(any());
+        verify(expenseRepository, never()).save(any());
+    }
+
+    @Test
+    void applyExpenses_rejectsInvalidOperationsAndKeepsTheRest() {
+        when(categoryDirectory.ownedAll(Set.of(10L), user)).thenReturn(Map.of(10L, food));
+        when(expenseRepository.save(any(Expense.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        EntryOperation unknown = new EntryOperation();
+        unknown.op = "upsert";
+
+        List<BatchItemResult> results = batchService.applyExpenses(user, Arrays.asList(
+                create(null, 10L, LocalDate.now()),
+                create(BigDecimal.TEN, 10L, null),
+                unknown,
+                null,
+                create(BigDecimal.TEN, 10L, LocalDate.now())));
+
+        assertEquals("amount is required", results.get(0).getError());
+        assertEquals("date is required", results.get(1).getError());
+        assertEquals("Unknown op: upsert", results.get(2).getError());
+        assertEquals("op is required", results.get(3).getError());
+        assertEquals(201, results.get(4).getStatus());
+        verify(expenseRepository, times(1)).save(any());
+    }
+
+    @Test
+    void applyExpenses_answersAnOperationThatDidNotBindWithItsError() {
+        when(categoryDirectory.ownedAll(Set.of(10L), user)).thenReturn(Map.of(10L, food));
+        when(expenseRepository.save(any(Expense.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        EntryOperation malformed = new EntryOperation();
+        malformed.bindError = "Malformed operation: bad amount";
+
+        List<BatchItemResult> results = batchService.applyExpenses(user, List.of(
+                malformed,
+                create(BigDecimal.TEN, 10L, LocalDate.now())));
+
+        assertEquals(400, results.get(0).getStatus());
+        assertEquals("Malformed operation: bad amount", results.get(0).getError());
+        assertEquals(201, results.get(1).getStatus());
+    }
+
+    @Test
+    void applyIncomes_defaultsTheDateToToday() {
+        Category salary = new Category(11L, "Salary", CategoryType.INCOME, null);
+        when(categoryDirectory.ownedAll(Set.of(11L), user)).thenReturn(Map.of(11L, salary));
+        when(incomeRepository.save(any(Income.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        EntryOperation operation = create(BigDecimal.TEN, 11L, null);
+        operation.source = "Employer";
+
+        List<BatchItemResult> results = batchService.applyIncomes(user, List.of(operation));
+
+        assertEquals(201, results.get(0).getStatus());
+        verify(incomeRepository).save(argThat(income -> LocalDate.now().equals(income.getDate())
+                && "Employer".equals(income.getSource()) && income.getUser() == user));
+    }
+
+    private Expense expense(Long id) {
+        Expense expense = new Expense();
+        expense.setId(id);
+        expense.setAmount(BigDecimal.TEN);
+        expense.setCategory(food);
+        expense.setDate(LocalDate.now());
+        expense.setUser(user);
+        return expense;
+    }
+
+    private static EntryOperation create(BigDecimal amount, Long categoryId, LocalDate date) {
+        EntryOperation operation = new EntryOperation();
+        operation.op = "create";
+        operation.amount = amount;
+        operation.categoryId = categoryId;
+        operation.date = date;
+        return operation;
+    }
+
+    private static EntryOperation update(Long id, BigDecimal amount, Long categoryId) {
+        EntryOperation operation = create(amount, categoryId, LocalDate.now());
+        operation.op = "update";
+        operation.id = id;
+        return operation;
+    }
+
+    private static EntryOperation delete(Long id) {
+        EntryOperation operation = new EntryOperation();
+        operation.op = "delete";
+        operation.id = id;
+        return operation;
+    }
+
+    private static void assertResult(BatchItemResult result, int index, int status, Long id) {
+        assertEquals(index, result.getIndex());
+        assertEquals(status, result.getStatus());
+        assertEquals(id, result.getId());
+        assertNull(result.getError());
+    }
+}
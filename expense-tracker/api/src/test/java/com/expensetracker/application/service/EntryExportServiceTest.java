@@ -0,0 +1,98 @@
+package com.expensetracker.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.expensetracker.application.export.ExportFormat;
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.Expense;
+import com.expensetracker.domain.model.Income;
+import com.expensetracker.domain.repository.ExpenseRepository;
+import com.expensetracker.domain.repository.IncomeRepository;
+
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+class EntryExportServiceTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private IncomeRepository incomeRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private EntryExportService exportService;
+
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        food = new Category(3L, "Food", CategoryType.EXPENSE, null);
+    }
+
+    @Test
+    void exportExpenses_writesOneJsonObjectPerLine_andDetachesEveryRow() throws IOException {
+        Expense lunch = expense(1L, "12.50", "Lunch");
+        Expense dinner = expense(2L, "30", null);
+        when(expenseRepository.streamByUserId(7L)).thenReturn(Stream.of(lunch, dinner));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.exportExpenses(7L, ExportFormat.NDJSON, out);
+
+        assertEquals(2, rows);
+        assertEquals("{\"id\":1,\"date\":\"2025-06-08\",\"amount\":12.50,\"categoryId\":3,\"category\":\"Food\",\"notes\":\"Lunch\"}\n"
+                        + "{\"id\":2,\"date\":\"2025-06-08\",\"amount\":30,\"categoryId\":3,\"category\":\"Food\",\"notes\":null}\n",
+                out.toString(StandardCharsets.UTF_8));
+        verify(entityManager).detach(lunch);
+        verify(entityManager).detach(dinner);
+    }
+
+    @Test
+    void exportIncomes_writesCsvWithQuotedFields() throws IOException {
+        Income income = new Income();
+        income.setId(5L);
+        income.setDate(LocalDate.of(2025, 6, 1));
+        income.setAmount(new BigDecimal("3000.00"));
+        income.setCategory(new Category(4L, "Salary", CategoryType.INCOME, null));
+        income.setSource("ACME, Inc.");
+        income.setNotes("June \"bonus\"");
+        when(incomeRepository.streamByUserId(7L)).thenReturn(Stream.of(income));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportIncomes(7L, ExportFormat.CSV, out);
+
+        assertEquals("id,date,amount,category_id,category,source,notes\r\n"
+                        + "5,2025-06-01,3000.00,4,Salary,\"ACME, Inc.\",\"June \"\"bonus\"\"\"\r\n",
+                out.toString(StandardCharsets.UTF_8));
+        verify(entityManager).detach(income);
+    }
+
+    private Expense expense(Long id, String amount, String notes) {
+        Expense expense = new Expense();
+        expense.setId(id);
+        expense.setDate(LocalDate.of(2025, 6, 8));
+        expense.setAmount(new BigDecimal(amount));
+        expense.setCategory(food);
+        expense.setNotes(notes);
+        return expense;
+    }
+}
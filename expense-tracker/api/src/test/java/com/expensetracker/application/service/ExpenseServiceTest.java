@@ -1,12 +1,22 @@
 package com.expensetracker.application.service;
 
+import com.expensetracker.application.paging.CursorPage;
+import com.expensetracker.application.paging.KeysetCursor;
+import com.expensetracker.config.exception.BadRequestException;
 import com.expensetracker.domain.model.Expense;
 import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.EntryFilter;
+import com.expensetracker.domain.repository.EntrySpecifications;
 import com.expensetracker.domain.repository.ExpenseRepository;
+import com.expensetracker.domain.repository.view.ExpenseView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.data.jpa.domain.Specification;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -57,36 +67,73 @@ public class ExpenseServiceTest {
     }
 
     @Test
-    void testGetExpensesByUser() {
-        when(expenseRepository.findByUser(user)).thenReturn(List.of(expense));
+    @SuppressWarnings("unchecked")
+    void testGetExpensePage_firstPageWithMore() {
+        ExpenseView newest = view(1L, LocalDate.of(2025, 6, 8));
+        ExpenseView older = view(2L, LocalDate.of(2025, 6, 1));
+        ExpenseView oldest = view(3L, LocalDate.of(2025, 5, 1));
+        when(expenseRepository.findViews(any(Specification.class), eq(EntrySpecifications.NEWEST_FIRST), eq(3)))
+                .thenReturn(List.of(newest, older, oldest));
+
+        CursorPage<ExpenseView> page = expenseService.getExpensePage(user.getId(), new EntryFilter(), null, 2);
+
+        assertEquals(List.of(newest, older), page.getItems());
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(LocalDate.of(2025, 6, 1), next.getDate());
+        assertEquals(Long.valueOf(2L), next.getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetExpensePage_lastPage() {
+        String cursor = new KeysetCursor(LocalDate.of(2025, 6, 1), 2L).encode();
+        ExpenseView last = view(1L, LocalDate.of(2025, 5, 1));
+        when(expenseRepository.findViews(any(Specification.class), any(), anyInt())).thenReturn(List.of(last));
+
+        CursorPage<ExpenseView> page = expenseService.getExpensePage(user.getId(), null, cursor, null);
+
+        assertEquals(List.of(last), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetExpensePage_limitIsCapped() {
+        when(expenseRepository.findViews(any(Specification.class), eq(EntrySpecifications.NEWEST_FIRST),
+                eq(CursorPage.MAX_LIMIT + 1)))
+                .thenReturn(List.of());
 
-        List<Expense> result = expenseService.getExpensesByUser(user);
+        CursorPage<ExpenseView> page = expenseService.getExpensePage(user.getId(), null, null, 10_000);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(user.getId(), result.get(0).getUser().getId());
-        verify(expenseRepository, times(1)).findByUser(user);
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
     }
 
     @Test
-    void testGetExpenseById_found() {
-        when(expenseRepository.findById(1L)).thenReturn(Optional.of(expense));
+    void testGetExpensePage_invalidCursor() {
+        assertThrows(BadRequestException.class,
+                () -> expenseService.getExpensePage(user.getId(), null, "not-a-cursor", null));
+        verifyNoInteractions(expenseRepository);
+    }
+
+    @Test
+    void testGetExpenseForUser_found() {
+        when(expenseRepository.findByIdAndUserId(1L, user.getId())).thenReturn(Optional.of(expense));
 
-        Optional<Expense> result = expenseService.getExpenseById(1L);
+        Optional<Expense> result = expenseService.getExpenseForUser(1L, user.getId());
 
         assertTrue(result.isPresent());
         assertEquals(expense, result.get());
-        verify(expenseRepository, times(1)).findById(1L);
+        verify(expenseRepository, times(1)).findByIdAndUserId(1L, user.getId());
     }
 
     @Test
-    void testGetExpenseById_notFound() {
-        when(expenseRepository.findById(99L)).thenReturn(Optional.empty());
+    void testGetExpenseForUser_notFound() {
+        when(expenseRepository.findByIdAndUserId(99L, user.getId())).thenReturn(Optional.empty());
 
-        Optional<Expense> result = expenseService.getExpenseById(99L);
+        Optional<Expense> result = expenseService.getExpenseForUser(99L, user.getId());
 
         assertFalse(result.isPresent());
-        verify(expenseRepository, times(1)).findById(99L);
     }
 
     @Test
@@ -103,10 +150,20 @@ public class ExpenseServiceTest {
 
     @Test
     void testDeleteExpense() {
-        doNothing().when(expenseRepository).deleteById(1L);
+        when(expenseRepository.deleteByIdAndUserId(1L, user.getId())).thenReturn(1);
+
+        assertTrue(expenseService.deleteExpense(1L, user.getId()));
+        verify(expenseRepository, never()).findById(any());
+    }
+
+    @Test
+    void testDeleteExpense_notOwned() {
+        when(expenseRepository.deleteByIdAndUserId(1L, 2L)).thenReturn(0);
 
-        expenseService.deleteExpense(1L);
+        assertFalse(expenseService.deleteExpense(1L, 2L));
+    }
 
-        verify(expenseRepository, times(1)).deleteById(1L);
+    private static ExpenseView view(Long id, LocalDate date) {
+        return new ExpenseView(id, BigDecimal.TEN, date, null, 5L, "Food");
     }
 }
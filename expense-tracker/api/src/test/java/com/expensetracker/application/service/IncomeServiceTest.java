@@ -1,13 +1,24 @@
 package com.expensetracker.application.service;
 
+import com.expensetracker.application.paging.CursorPage;
+import com.expensetracker.application.paging.KeysetCursor;
+import com.expensetracker.domain.model.CategoryType;
 import com.expensetracker.domain.model.Income;
 import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.EntryFilter;
+import com.expensetracker.domain.repository.EntrySpecifications;
 import com.expensetracker.domain.repository.IncomeRepository;
+import com.expensetracker.domain.repository.view.CategoryView;
+import com.expensetracker.domain.repository.view.IncomeView;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.data.jpa.domain.Specification;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -59,45 +70,81 @@ public class IncomeServiceTest {
     }
 
     @Test
-    void testGetIncomesByUser() {
-        when(incomeRepository.findByUser(user)).thenReturn(List.of(income));
+    @SuppressWarnings("unchecked")
+    void testGetIncomePage_firstPage() {
+        IncomeView view = new IncomeView(1L, BigDecimal.valueOf(1000), "Job", LocalDate.of(2025, 2, 1), "Salary",
+            new CategoryView(4L, "Salary", CategoryType.INCOME));
+        when(incomeRepository.findViews(any(Specification.class), eq(EntrySpecifications.NEWEST_FIRST),
+                eq(CursorPage.DEFAULT_LIMIT + 1)))
+            .thenReturn(List.of(view));
+
+        CursorPage<IncomeView> page = incomeService.getIncomePage(user.getId(), null, null, null);
+
+        assertEquals(List.of(view), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetIncomePage_limitIsCapped() {
+        when(incomeRepository.findViews(any(Specification.class), eq(EntrySpecifications.NEWEST_FIRST),
+                eq(CursorPage.MAX_LIMIT + 1)))
+            .thenReturn(List.of());
+
+        CursorPage<IncomeView> page = incomeService.getIncomePage(user.getId(), new EntryFilter(), null, 10_000);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
 
-        List<Income> incomes = incomeService.getIncomesByUser(user);
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetIncomePage_afterCursor() {
+        CategoryView salary = new CategoryView(4L, "Salary", CategoryType.INCOME);
+        IncomeView older = new IncomeView(2L, BigDecimal.TEN, null, LocalDate.of(2025, 1, 31), null, salary);
+        IncomeView oldest = new IncomeView(1L, BigDecimal.TEN, null, LocalDate.of(2025, 1, 1), null, salary);
+        String cursor = new KeysetCursor(LocalDate.of(2025, 2, 28), 5L).encode();
+
+        when(incomeRepository.findViews(any(Specification.class), any(), anyInt())).thenReturn(List.of(older, oldest));
+
+        CursorPage<IncomeView> page = incomeService.getIncomePage(user.getId(), new EntryFilter(), cursor, 1);
 
-        assertNotNull(incomes);
-        assertEquals(1, incomes.size());
-        assertEquals(user, incomes.get(0).getUser());
-        verify(incomeRepository, times(1)).findByUser(user);
+        assertEquals(List.of(older), page.getItems());
+        assertEquals(new KeysetCursor(LocalDate.of(2025, 1, 31), 2L).encode(), page.getNextCursor());
     }
 
     @Test
-    void testGetIncomeById_found() {
-        when(incomeRepository.findById(1L)).thenReturn(Optional.of(income));
+    void testGetIncomeForUser_found() {
+        when(incomeRepository.findByIdAndUserId(1L, user.getId())).thenReturn(Optional.of(income));
 
-        Optional<Income> result = incomeService.getIncomeById(1L);
+        Optional<Income> result = incomeService.getIncomeForUser(1L, user.getId());
 
         assertTrue(result.isPresent());
         assertEquals(income, result.get());
-        verify(incomeRepository, times(1)).findById(1L);
+        verify(incomeRepository, times(1)).findByIdAndUserId(1L, user.getId());
     }
 
     @Test
-    void testGetIncomeById_notFound() {
-        when(incomeRepository.findById(2L)).thenReturn(Optional.empty());
+    void testGetIncomeForUser_notFound() {
+        when(incomeRepository.findByIdAndUserId(2L, user.getId())).thenReturn(Optional.empty());
 
-        Optional<Income> result = incomeService.getIncomeById(2L);
+        Optional<Income> result = incomeService.getIncomeForUser(2L, user.getId());
 
         assertFalse(result.isPresent());
-        verify(incomeRepository, times(1)).findById(2L);
     }
 
     @Test
     void testDeleteIncome() {
-        doNothing().when(incomeRepository).deleteById(1L);
+        when(incomeRepository.deleteByIdAndUserId(1L, user.getId())).thenReturn(1);
 
-        incomeService.deleteIncome(1L);
+        assertTrue(incomeService.deleteIncome(1L, user.getId()));
+    }
+
+    @Test
+    void testDeleteIncome_notOwned() {
+        when(incomeRepository.deleteByIdAndUserId(1L, 2L)).thenReturn(0);
 
-        verify(incomeRepository, times(1)).deleteById(1L);
+        assertFalse(incomeService.deleteIncome(1L, 2L));
     }
 
     @Test
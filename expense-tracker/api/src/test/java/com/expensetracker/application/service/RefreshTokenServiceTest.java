@@ -0,0 +1,127 @@
+package com.expensetracker.application.service;
+
+import com.expensetracker.domain.model.RefreshToken;
+import com.expensetracker.domain.repository.RefreshTokenRepository;
+import com.expensetracker.infrastructure.security.JwtProperties;
+import com.expensetracker.infrastructure.security.TokenRevocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private TokenRevocationService revocationService;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, revocationService, new JwtProperties());
+    }
+
+    @Test
+    void issue_storesOnlyTheHash() {
+        String raw = refreshTokenService.issue(1L);
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken saved = captor.getValue();
+        assertNotEquals(raw, saved.getTokenHash());
+        assertEquals(RefreshTokenService.hash(raw), saved.getTokenHash());
+        assertEquals(Long.valueOf(1L), saved.getUserId());
+        assertNotNull(saved.getFamilyId());
+    }
+
+    @Test
+    void rotate_success_issuesNewTokenInSameFamily() {
+        RefreshToken stored = token("family-1", null, false, Instant.now().plusSeconds(60));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(1);
+
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate("raw");
+
+        assertTrue(rotation.isPresent());
+        assertEquals(Long.valueOf(1L), rotation.get().getUserId());
+        assertNotEquals("raw", rotation.get().getRefreshToken());
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertEquals("family-1", captor.getValue().getFamilyId());
+        verify(refreshTokenRepository, never()).revokeFamily(any());
+    }
+
+    @Test
+    void rotate_reusedToken_revokesFamilyAndAccessTokens() {
+        RefreshToken stored = token("family-1", Instant.now().minusSeconds(5), false, Instant.now().plusSeconds(60));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(stored));
+
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate("raw");
+
+        assertTrue(rotation.isEmpty());
+        verify(refreshTokenRepository).revokeFamily("family-1");
+        verify(revocationService).revokeAllForUser(1L);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_lostConcurrentRace_isTreatedAsReuse() {
+        RefreshToken stored = token("family-1", null, false, Instant.now().plusSeconds(60));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(0);
+
+        assertTrue(refreshTokenService.rotate("raw").isEmpty());
+        verify(refreshTokenRepository).revokeFamily("family-1");
+    }
+
+    @Test
+    void rotate_expiredOrRevokedToken_isRejected() {
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("expired")))
+                .thenReturn(Optional.of(token("family-1", null, false, Instant.now().minusSeconds(1))));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("revoked")))
+                .thenReturn(Optional.of(token("family-2", null, true, Instant.now().plusSeconds(60))));
+
+        assertTrue(refreshTokenService.rotate("expired").isEmpty());
+        assertTrue(refreshTokenService.rotate("revoked").isEmpty());
+        verify(refreshTokenRepository, never()).markUsed(any(), any());
+        verifyNoInteractions(revocationService);
+    }
+
+    @Test
+    void revoke_revokesFamily() {
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw")))
+                .thenReturn(Optional.of(token("family-1", null, false, Instant.now().plusSeconds(60))));
+
+        refreshTokenService.revoke("raw", 1L);
+
+        verify(refreshTokenRepository).revokeFamily("family-1");
+    }
+
+    @Test
+    void revoke_ignoresTokenOfAnotherUser() {
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw")))
+                .thenReturn(Optional.of(token("family-1", null, false, Instant.now().plusSeconds(60))));
+
+        refreshTokenService.revoke("raw", 2L);
+
+        verify(refreshTokenRepository, never()).revokeFamily(any());
+    }
+
+    private static RefreshToken token(String familyId, Instant usedAt, boolean revoked, Instant expiresAt) {
+        return new RefreshToken(10L, "hash", familyId, 1L, Instant.now().minusSeconds(60), expiresAt, usedAt, revoked);
+    }
+}
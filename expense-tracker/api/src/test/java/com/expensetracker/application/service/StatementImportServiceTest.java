@@ -0,0 +1,190 @@
+package com.expensetracker.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.expensetracker.application.imports.StatementFormatException;
+import com.expensetracker.application.imports.StatementImporter;
+import com.expensetracker.config.exception.BadRequestException;
+import com.expensetracker.config.exception.ConflictException;
+import com.expensetracker.config.exception.ResourceNotFoundException;
+import com.expensetracker.domain.model.ImportFormat;
+import com.expensetracker.domain.model.ImportJob;
+import com.expensetracker.domain.model.ImportStatus;
+import com.expensetracker.domain.repository.ImportJobRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StatementImportServiceTest {
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private StatementImporter statementImporter;
+
+    @TempDir
+    Path dir;
+
+    private StatementImportService importService;
+    private ImportJob job;
+
+    @BeforeEach
+    void setUp() {
+        importService = new StatementImportService(importJobRepository, statementImporter, dir.toString(), 16, 1,
+                "node-1", 60_000);
+        job = new ImportJob();
+        job.setId(7L);
+        job.setUserId(1L);
+        job.setFormat(ImportFormat.CSV);
+        job.setStatus(ImportStatus.RECEIVING);
+        job.setNodeId("node-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.destroy();
+    }
+
+    @Test
+    void chunksAreAppendedAtTheirOffset() throws IOException {
+        when(importJobRepository.findByIdAndUserId(7L, 1L)).thenReturn(Optional.of(job));
+        when(importJobRepository.advanceUpload(eq(7L), anyLong(), anyLong(), any())).thenReturn(1);
+
+        importService.appendChunk(7L, 1L, 0, body("date,"));
+        ImportJob updated = importService.appendChunk(7L, 1L, 5, body("amount\n"));
+
+        assertEquals(12, updated.getBytesReceived());
+        assertEquals("date,amount\n", Files.readString(dir.resolve("7.upload")));
+        verify(importJobRepository).advanceUpload(eq(7L), eq(5L), eq(12L), any());
+    }
+
+    @Test
+    void resentChunk_replacesThePartialWrite() throws IOException {
+        when(importJobRepository.findByIdAndUserId(7L, 1L)).thenReturn(Optional.of(job));
+        when(importJobRepository.advanceUpload(eq(7L), anyLong(), anyLong(), any())).thenReturn(1);
+        // Left behind by a chunk whose connection dropped before it was recorded
+        Files.writeString(dir.resolve("7.upload"), "date,amo");
+
+        importService.appendChunk(7L, 1L, 0, body("date,"));
+
+        assertEquals("date,", Files.readString(dir.resolve("7.upload")));
+    }
+
+    @Test
+    void chunkAtTheWrongOffset_isAConflict() {
+        job.setBytesReceived(5);
+        when(importJobRepository.findByIdAndUserId(7L, 1L)).thenReturn(Optional.of(job));
+
+        ConflictException ex = assertThrows(ConflictException.class, () -> importService.appendChunk(7L, 1L, 0, body("x")));
+
+        assertEquals("Upload is at byte 5", ex.getMessage());
+        verify(importJobRepository, never()).advanceUpload(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void uploadsOverTheLimit_areRejected() {
+        when(importJobRepository.findByIdAndUserId(7L, 1L)).thenReturn(Optional.of(job));
+
+        assertThrows(BadRequestException.class, () -> importService.appendChunk(7L, 1L, 0, body("0123456789abcdefg")));
+    }
+
+    @Test
+    void chunkForAnotherNodesUpload_isAConflict() {
+        job.setNodeId("node-2");
+        when(importJobRepository.findByIdAndUserId(7L, 1L)).thenReturn(Optional.of(job));
+
+        assertThrows(ConflictException.class, () -> importService.appendChunk(7L, 1L, 0, body("date,")));
+
+        assertFalse(Files.exists(dir.resolve("7.upload")));
+        verify(importJobRepository, never()).advanceUpload(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void completingAnotherNodesUpload_isAConflict() {
+        job.setNodeId("node-2");
+        job.setBytesReceived(12);
+        when(importJobRepository.findByIdAndUserId(7L, 1L)).thenReturn(Optional.of(job));
+
+        assertThrows(ConflictException.class, () -> importService.complete(7L, 1L));
+
+        verify(importJobRepository, never()).transition(any(), any(), any(), any());
+    }
+
+    @Test
+    void someoneElsesImport_isNotFound() {
+        when(importJobRepository.findByIdAndUserId(7L, 2L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> importService.complete(7L, 2L));
+    }
+
+    @Test
+    void run_recordsTheOutcome() throws IOException {
+        when(importJobRepository.transition(eq(7L), eq(ImportStatus.QUEUED), eq(ImportStatus.RUNNING), any())).thenReturn(1);
+        when(importJobRepository.findById(7L)).thenReturn(Optional.of(job));
+        doThrow(new StatementFormatException(1, "no date column in header"))
+                .when(statementImporter).importFile(eq(job), any());
+
+        importService.run(7L);
+
+        verify(importJobRepository).finish(eq(7L), eq(ImportStatus.FAILED), eq("Line 1: no date column in header"), any());
+    }
+
+    @Test
+    void resumeInterrupted_onlyPicksUpThisNodesJobs() {
+        job.setStatus(ImportStatus.RUNNING);
+        when(importJobRepository.findByStatusInAndNodeId(EnumSet.of(ImportStatus.QUEUED, ImportStatus.RUNNING), "node-1"))
+                .thenReturn(List.of(job));
+
+        importService.resumeInterrupted();
+
+        verify(importJobRepository).transition(eq(7L), eq(ImportStatus.RUNNING), eq(ImportStatus.QUEUED), any());
+    }
+
+    @Test
+    void abandonStaleUploads_failsTheJobAndDeletesItsFile() throws IOException {
+        Path upload = Files.writeString(dir.resolve("7.upload"), "date,amount");
+        when(importJobRepository.findByStatusAndNodeIdAndUpdatedAtBefore(eq(ImportStatus.RECEIVING), eq("node-1"), any()))
+                .thenReturn(List.of(job));
+        when(importJobRepository.abandonUpload(eq(7L), any(), any(), any())).thenReturn(1);
+
+        importService.abandonStaleUploads();
+
+        assertFalse(Files.exists(upload));
+    }
+
+    @Test
+    void abandonStaleUploads_keepsAnUploadThatJustReceivedAChunk() throws IOException {
+        Path upload = Files.writeString(dir.resolve("7.upload"), "date,amount");
+        when(importJobRepository.findByStatusAndNodeIdAndUpdatedAtBefore(eq(ImportStatus.RECEIVING), eq("node-1"), any()))
+                .thenReturn(List.of(job));
+        when(importJobRepository.abandonUpload(eq(7L), any(), any(), any())).thenReturn(0);
+
+        importService.abandonStaleUploads();
+
+        assertTrue(Files.exists(upload));
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,61 @@
+package com.expensetracker.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+/**
+ * With open-in-view off, every public service method declares its own boundary:
+ * writes run read-write, everything else read-only, and the directory-backed
+ * lookups join a caller's transaction without starting one.
+ */
+class TransactionBoundariesTest {
+
+    private static final Map<Class<?>, Set<String>> WRITES = Map.of(
+            ExpenseService.class, Set.of("addExpense", "updateExpense", "deleteExpense"),
+            IncomeService.class, Set.of("addIncome", "updateIncome", "deleteIncome"),
+            CategoryService.class, Set.of("addCategory", "updateCategoryForUser", "deleteCategory"),
+            CategoryBudgetService.class, Set.of("saveOrUpdateCategoryBudget", "updateBudget", "deleteBudget"),
+            UserService.class, Set.of("registerUser", "updatePasswordHash"));
+
+    private static final Map<Class<?>, Set<String>> WITHOUT_OWN_TRANSACTION = Map.of(
+            CategoryService.class, Set.of("findByNameAndTypeAndUser", "getCategoriesByUser", "getOwnedCategory",
+                    "getCategoriesByTypeForUser"),
+            UserService.class, Set.of("getReference"));
+
+    private final AnnotationTransactionAttributeSource attributes = new AnnotationTransactionAttributeSource();
+
+    @Test
+    void everyServiceMethodDeclaresItsBoundary() {
+        for (Map.Entry<Class<?>, Set<String>> service : WRITES.entrySet()) {
+            Class<?> type = service.getKey();
+            for (Method method : type.getDeclaredMethods()) {
+                if (!Modifier.isPublic(method.getModifiers())) {
+                    continue;
+                }
+                String name = type.getSimpleName() + "." + method.getName();
+                TransactionAttribute attribute = attributes.getTransactionAttribute(method, type);
+                assertNotNull(attribute, name);
+
+                if (service.getValue().contains(method.getName())) {
+                    assertFalse(attribute.isReadOnly(), name + " writes");
+                    assertEquals(TransactionDefinition.PROPAGATION_REQUIRED, attribute.getPropagationBehavior(), name);
+                } else {
+                    assertTrue(attribute.isReadOnly(), name + " only reads");
+                    int propagation = WITHOUT_OWN_TRANSACTION.getOrDefault(type, Set.of()).contains(method.getName())
+                            ? TransactionDefinition.PROPAGATION_SUPPORTS
+                            : TransactionDefinition.PROPAGATION_REQUIRED;
+                    assertEquals(propagation, attribute.getPropagationBehavior(), name);
+                }
+            }
+        }
+    }
+}
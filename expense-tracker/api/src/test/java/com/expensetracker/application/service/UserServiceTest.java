@@ -2,6 +2,7 @@ package com.expensetracker.application.service;
 
 import com.expensetracker.domain.model.User;
 import com.expensetracker.domain.repository.UserRepository;
+import com.expensetracker.infrastructure.security.UserIdCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,6 +22,9 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserIdCache userIdCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -50,6 +54,7 @@ public class UserServiceTest {
         assertEquals("john@example.com", registeredUser.getEmail());
         verify(userRepository, times(1)).findByEmail(testUser.getEmail());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(userIdCache).evict(testUser.getEmail());
     }
 
     @Test
@@ -93,4 +98,14 @@ public class UserServiceTest {
         assertFalse(result.isPresent());
         verify(userRepository, times(1)).findByEmail("unknown@example.com");
     }
+
+    @Test
+    void testGetReference_doesNotQueryByEmail() {
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+
+        User reference = userService.getReference(1L);
+
+        assertEquals(testUser.getId(), reference.getId());
+        verify(userRepository, never()).findByEmail(any());
+    }
 }
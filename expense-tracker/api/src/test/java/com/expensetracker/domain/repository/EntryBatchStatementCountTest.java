@@ -0,0 +1,84 @@
+package com.expensetracker.domain.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.expensetracker.api.ExpenseTrackerApplication;
+import com.expensetracker.application.batch.BatchItemResult;
+import com.expensetracker.application.batch.EntryOperation;
+import com.expensetracker.application.service.CategoryDirectory;
+import com.expensetracker.application.service.EntryBatchService;
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.User;
+
+/**
+ * Categories a batch names that are not in the user's directory are checked with
+ * two statements, one for the user's own rows and one telling foreign ids from
+ * missing ones, however many there are.
+ */
+@DataJpaTest(properties = SqlStatementRecorder.PROPERTY)
+@ContextConfiguration(classes = ExpenseTrackerApplication.class)
+class EntryBatchStatementCountTest {
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @ParameterizedTest
+    @ValueSource(ints = { 2, 20 })
+    void unknownCategories_costTwoStatements(int categories) {
+        User user = entityManager.persist(new User(null, "Batch", "batch-count@example.com", "hash"));
+        User other = entityManager.persist(new User(null, "Other", "batch-count-other@example.com", "hash"));
+        List<EntryOperation> operations = new ArrayList<>();
+        for (int i = 0; i < categories; i++) {
+            Category foreign = entityManager.persist(new Category(null, "Foreign " + i, CategoryType.EXPENSE, other));
+            operations.add(create(foreign.getId()));
+            operations.add(create(-1L - i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        CategoryDirectory directory = new CategoryDirectory(categoryRepository, 100, 60_000);
+        EntryBatchService batchService = new EntryBatchService(expenseRepository, incomeRepository, categoryRepository,
+                directory);
+        // Loads the user's directory, so only the checks of the batch are counted
+        directory.all(user);
+        SqlStatementRecorder.clear();
+
+        List<BatchItemResult> results = batchService.applyExpenses(user, operations);
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i % 2 == 0 ? 403 : 404, results.get(i).getStatus());
+        }
+        assertEquals(2, SqlStatementRecorder.statements().size(), () -> String.join("\n", SqlStatementRecorder.statements()));
+    }
+
+    private static EntryOperation create(Long categoryId) {
+        EntryOperation operation = new EntryOperation();
+        operation.op = "create";
+        operation.amount = BigDecimal.TEN;
+        operation.categoryId = categoryId;
+        operation.date = LocalDate.of(2025, 6, 8);
+        return operation;
+    }
+}
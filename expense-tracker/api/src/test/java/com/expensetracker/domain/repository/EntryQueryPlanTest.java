@@ -0,0 +1,218 @@
+package com.expensetracker.domain.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.expensetracker.api.ExpenseTrackerApplication;
+import com.expensetracker.application.paging.KeysetCursor;
+import com.expensetracker.application.paging.KeysetPager;
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.Expense;
+import com.expensetracker.domain.model.Income;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.view.ExpenseView;
+import com.expensetracker.domain.repository.view.IncomeView;
+
+/**
+ * Runs the filtered listing queries, as KeysetPager issues them, against H2 and
+ * checks via EXPLAIN on the SQL Hibernate actually issued that each filter
+ * combination is answered from one of the user-leading composite indexes rather
+ * than a table scan.
+ */
+@DataJpaTest(properties = SqlStatementRecorder.PROPERTY)
+@ContextConfiguration(classes = ExpenseTrackerApplication.class)
+class EntryQueryPlanTest {
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Category food;
+    private Category rent;
+
+    @BeforeEach
+    void setUp() {
+        user = new User(null, "Test", "plan@example.com", "hash");
+        entityManager.persist(user);
+        User other = new User(null, "Other", "other@example.com", "hash");
+        entityManager.persist(other);
+
+        food = entityManager.persist(new Category(null, "Food", CategoryType.EXPENSE, user));
+        rent = entityManager.persist(new Category(null, "Rent", CategoryType.EXPENSE, user));
+        Category salary = entityManager.persist(new Category(null, "Salary", CategoryType.INCOME, user));
+
+        expense(user, food, "12.50", LocalDate.of(2025, 6, 1), "lunch");
+        expense(user, food, "40.00", LocalDate.of(2025, 6, 3), "groceries");
+        expense(user, rent, "900.00", LocalDate.of(2025, 6, 1), "june rent");
+        expense(user, food, "8.00", LocalDate.of(2025, 5, 20), "lunch_special");
+        expense(other, food, "10.00", LocalDate.of(2025, 6, 2), "lunch");
+
+        Income income = new Income();
+        income.setUser(user);
+        income.setCategory(salary);
+        income.setAmount(new BigDecimal("3000.00"));
+        income.setDate(LocalDate.of(2025, 6, 1));
+        income.setNotes("june salary");
+        entityManager.persist(income);
+
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementRecorder.clear();
+    }
+
+    @Test
+    void noFilter_usesUserIndex() {
+        List<ExpenseView> result = expenses(filter -> { });
+
+        assertEquals(List.of("groceries", "june rent", "lunch", "lunch_special"), notes(result));
+        assertPlanUses("IDX_EXPENSES_USER_");
+    }
+
+    @Test
+    void dateRange_usesUserDateIndex() {
+        List<ExpenseView> result = expenses(filter -> {
+            filter.setFrom(LocalDate.of(2025, 6, 1));
+            filter.setTo(LocalDate.of(2025, 6, 2));
+        });
+
+        assertEquals(List.of("june rent", "lunch"), notes(result));
+        assertPlanUses("IDX_EXPENSES_USER_");
+    }
+
+    @Test
+    void category_usesUserCategoryIndex() {
+        List<ExpenseView> result = expenses(filter -> filter.setCategoryId(food.getId()));
+
+        assertEquals(List.of("groceries", "lunch", "lunch_special"), notes(result));
+        assertPlanUses("IDX_EXPENSES_USER_CATEGORY_DATE_ID");
+    }
+
+    @Test
+    void categoryAndDateRange_usesUserCategoryIndex() {
+        List<ExpenseView> result = expenses(filter -> {
+            filter.setCategoryId(food.getId());
+            filter.setFrom(LocalDate.of(2025, 6, 1));
+        });
+
+        assertEquals(List.of("groceries", "lunch"), notes(result));
+        assertPlanUses("IDX_EXPENSES_USER_CATEGORY_DATE_ID");
+    }
+
+    @Test
+    void amountRange_usesUserIndex() {
+        List<ExpenseView> result = expenses(filter -> {
+            filter.setMinAmount(new BigDecimal("10"));
+            filter.setMaxAmount(new BigDecimal("100"));
+        });
+
+        assertEquals(List.of("groceries", "lunch"), notes(result));
+        assertPlanUses("IDX_EXPENSES_USER_");
+    }
+
+    @Test
+    void notesPrefix_usesUserIndexAndEscapesWildcards() {
+        List<ExpenseView> result = expenses(filter -> filter.setNotesPrefix("lunch_"));
+
+        assertEquals(List.of("lunch_special"), notes(result));
+        assertPlanUses("IDX_EXPENSES_USER_");
+    }
+
+    @Test
+    void allFilters_usesUserCategoryIndex() {
+        List<ExpenseView> result = expenses(filter -> {
+            filter.setCategoryId(rent.getId());
+            filter.setFrom(LocalDate.of(2025, 5, 1));
+            filter.setTo(LocalDate.of(2025, 6, 30));
+            filter.setMinAmount(new BigDecimal("500"));
+            filter.setNotesPrefix("june");
+        });
+
+        assertEquals(List.of("june rent"), notes(result));
+        assertPlanUses("IDX_EXPENSES_USER_CATEGORY_DATE_ID");
+    }
+
+    @Test
+    void keysetAfterCursor_usesUserIndex() {
+        String cursor = new KeysetCursor(LocalDate.of(2025, 6, 1), Long.MAX_VALUE).encode();
+        List<ExpenseView> result = KeysetPager.page(expenseRepository::findViews,
+                EntrySpecifications.matching(user.getId(), null), cursor, 2,
+                expense -> new KeysetCursor(expense.date(), expense.id())).getItems();
+
+        assertEquals(List.of("june rent", "lunch"), notes(result));
+        assertPlanUses("IDX_EXPENSES_USER_");
+    }
+
+    @Test
+    void incomeDateRange_usesUserIndex() {
+        EntryFilter filter = new EntryFilter();
+        filter.setFrom(LocalDate.of(2025, 6, 1));
+        List<IncomeView> result = KeysetPager.page(incomeRepository::findViews,
+                EntrySpecifications.matching(user.getId(), filter), null, 10,
+                income -> new KeysetCursor(income.date(), income.id())).getItems();
+
+        assertEquals(1, result.size());
+        assertPlanUses("IDX_INCOMES_USER_");
+    }
+
+    private List<ExpenseView> expenses(Consumer<EntryFilter> configure) {
+        EntryFilter filter = new EntryFilter();
+        configure.accept(filter);
+        return KeysetPager.page(expenseRepository::findViews, EntrySpecifications.matching(user.getId(), filter),
+                null, 10, expense -> new KeysetCursor(expense.date(), expense.id())).getItems();
+    }
+
+    private void expense(User owner, Category category, String amount, LocalDate date, String notes) {
+        entityManager.persist(Expense.builder()
+                .user(owner)
+                .category(category)
+                .amount(new BigDecimal(amount))
+                .date(date)
+                .notes(notes)
+                .build());
+    }
+
+    private static List<String> notes(List<ExpenseView> expenses) {
+        return expenses.stream().map(ExpenseView::notes).toList();
+    }
+
+    // EXPLAINs the first listing query issued since setUp, binding nulls: H2 plans before parameter values are known
+    private void assertPlanUses(String indexPrefix) {
+        String sql = SqlStatementRecorder.statements().stream()
+                .filter(statement -> statement.toLowerCase(Locale.ROOT).matches("(?s)select .* from (expenses|incomes) .*"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No listing query was issued"));
+        long parameters = sql.chars().filter(c -> c == '?').count();
+
+        String plan = jdbcTemplate.query("EXPLAIN " + sql, statement -> {
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+        }, rs -> rs.next() ? rs.getString(1) : "");
+
+        assertTrue(plan.toUpperCase(Locale.ROOT).contains(indexPrefix), () -> "Expected " + indexPrefix + " in plan:\n" + plan);
+        assertFalse(plan.contains("tableScan"), () -> "Unexpected table scan:\n" + plan);
+    }
+}
@@ -0,0 +1,95 @@
+package com.expensetracker.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.expensetracker.api.ExpenseTrackerApplication;
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.Expense;
+import com.expensetracker.domain.model.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Insert throughput for 100k expenses on H2. Off by default; run with
+ * {@code mvn -pl api test -Dtest=ExpenseInsertBenchmarkTest -Dbenchmark=true}.
+ *
+ * "per-row" flushes after every expense, which is what IDENTITY ids forced: one
+ * insert round trip per row. "batched" flushes every 1000 rows and lets the pooled
+ * sequence ids and JDBC batching group the inserts. The comparison is logged, not
+ * asserted, so a noisy machine cannot fail the build.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = ExpenseTrackerApplication.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExpenseInsertBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseInsertBenchmarkTest.class);
+
+    private static final int ROWS = 100_000;
+    private static final int WARMUP_ROWS = 10_000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void insertThroughput_perRowAgainstBatched() {
+        User user = entityManager.persist(new User(null, "Bench", "bench@example.com", "hash"));
+        Category category = entityManager.persist(new Category(null, "Bench", CategoryType.EXPENSE, user));
+        entityManager.flush();
+
+        insert(user, category, WARMUP_ROWS, 1);
+        insert(user, category, WARMUP_ROWS, 1000);
+
+        double perRow = measure("per-row", user, category, 1);
+        double batched = measure("batched", user, category, 1000);
+
+        logger.info("batched inserts ran at {}x the per-row rate", String.format("%.2f", batched / perRow));
+    }
+
+    private double measure(String label, User user, Category category, int flushEvery) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        insert(user, category, ROWS, flushEvery);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        double rowsPerSecond = ROWS / seconds;
+        logger.info("{}: {} expenses in {} s ({} rows/s, {} statements prepared)", label, ROWS,
+                String.format("%.2f", seconds), Math.round(rowsPerSecond), statistics.getPrepareStatementCount());
+        return rowsPerSecond;
+    }
+
+    private void insert(User user, Category category, int rows, int flushEvery) {
+        for (int i = 0; i < rows; i++) {
+            entityManager.persist(Expense.builder()
+                    .user(user)
+                    .category(category)
+                    .amount(BigDecimal.TEN)
+                    .date(LocalDate.of(2025, 1, 1).plusDays(i % 365))
+                    .build());
+            if ((i + 1) % flushEvery == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
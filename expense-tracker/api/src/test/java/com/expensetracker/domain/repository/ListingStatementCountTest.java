@@ -0,0 +1,157 @@
+package com.expensetracker.domain.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.expensetracker.api.ExpenseTrackerApplication;
+import com.expensetracker.application.paging.CursorPage;
+import com.expensetracker.application.paging.KeysetCursor;
+import com.expensetracker.application.paging.KeysetPager;
+import com.expensetracker.domain.model.Budget;
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.Expense;
+import com.expensetracker.domain.model.Income;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.view.BudgetView;
+import com.expensetracker.domain.repository.view.ExpenseView;
+import com.expensetracker.domain.repository.view.IncomeView;
+
+/**
+ * Every list path must load its rows and their categories in a single statement,
+ * however many rows and distinct categories there are, and read only the view's
+ * columns.
+ */
+@DataJpaTest(properties = SqlStatementRecorder.PROPERTY)
+@ContextConfiguration(classes = ExpenseTrackerApplication.class)
+class ListingStatementCountTest {
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User(null, "Test", "count@example.com", "hash"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 2, 40 })
+    void expensePage_isOneStatement(int rows) {
+        for (int i = 0; i < rows; i++) {
+            Category category = category("Expense " + i, CategoryType.EXPENSE);
+            entityManager.persist(Expense.builder()
+                    .user(user)
+                    .category(category)
+                    .amount(BigDecimal.TEN)
+                    .date(LocalDate.of(2025, 1, 1).plusDays(i))
+                    .build());
+        }
+        resetSession();
+
+        CursorPage<ExpenseView> page = KeysetPager.page(expenseRepository::findViews,
+                EntrySpecifications.matching(user.getId(), null), null, rows,
+                expense -> new KeysetCursor(expense.date(), expense.id()));
+
+        assertEquals(rows, page.getItems().size());
+        page.getItems().forEach(expense -> assertNotNull(expense.categoryName()));
+        assertEquals(1, SqlStatementRecorder.statements().size(), () -> String.join("\n", SqlStatementRecorder.statements()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 2, 40 })
+    void incomePage_isOneStatement(int rows) {
+        for (int i = 0; i < rows; i++) {
+            Income income = new Income();
+            income.setUser(user);
+            income.setCategory(category("Income " + i, CategoryType.INCOME));
+            income.setAmount(BigDecimal.TEN);
+            income.setDate(LocalDate.of(2025, 1, 1).plusDays(i));
+            entityManager.persist(income);
+        }
+        resetSession();
+
+        CursorPage<IncomeView> page = KeysetPager.page(incomeRepository::findViews,
+                EntrySpecifications.matching(user.getId(), null), null, rows,
+                income -> new KeysetCursor(income.date(), income.id()));
+
+        assertEquals(rows, page.getItems().size());
+        page.getItems().forEach(income -> assertNotNull(income.category().name()));
+        assertEquals(1, SqlStatementRecorder.statements().size(), () -> String.join("\n", SqlStatementRecorder.statements()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 2, 40 })
+    void budgetsByUser_isOneStatement(int rows) {
+        for (int i = 0; i < rows; i++) {
+            Budget budget = new Budget();
+            budget.setUser(user);
+            budget.setCategory(category("Budget " + i, CategoryType.EXPENSE));
+            budget.setAmount(BigDecimal.TEN);
+            budget.setMonth(1);
+            budget.setYear(2025);
+            entityManager.persist(budget);
+        }
+        resetSession();
+
+        List<BudgetView> budgets = budgetRepository.findViewsByUserId(user.getId());
+
+        assertEquals(rows, budgets.size());
+        budgets.forEach(budget -> assertNotNull(budget.category().name()));
+        assertEquals(1, SqlStatementRecorder.statements().size(), () -> String.join("\n", SqlStatementRecorder.statements()));
+    }
+
+    @Test
+    void expenseViewById_readsNoUserColumns() {
+        Category category = category("Food", CategoryType.EXPENSE);
+        Expense expense = entityManager.persist(Expense.builder()
+                .user(user)
+                .category(category)
+                .amount(BigDecimal.TEN)
+                .date(LocalDate.of(2025, 1, 1))
+                .notes("lunch")
+                .build());
+        resetSession();
+
+        ExpenseView view = expenseRepository.findViewByIdAndUserId(expense.getId(), user.getId()).orElseThrow();
+
+        assertEquals(0, BigDecimal.TEN.compareTo(view.amount()));
+        assertEquals("lunch", view.notes());
+        assertEquals(category.getId(), view.categoryId());
+        assertEquals("Food", view.categoryName());
+        assertEquals(1, SqlStatementRecorder.statements().size());
+        assertFalse(SqlStatementRecorder.statements().get(0).contains("users"));
+    }
+
+    private Category category(String name, CategoryType type) {
+        return entityManager.persist(new Category(null, name, type, user));
+    }
+
+    private void resetSession() {
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementRecorder.clear();
+    }
+}
@@ -0,0 +1,146 @@
+package com.expensetracker.domain.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.api.ExpenseTrackerApplication;
+import com.expensetracker.application.service.CategoryBudgetService;
+import com.expensetracker.application.service.CategoryDirectory;
+import com.expensetracker.application.service.CategoryService;
+import com.expensetracker.domain.model.Budget;
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.infrastructure.persistence.SecondLevelCacheConfig;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Repeated category and budget reads are answered from the second-level cache,
+ * and every service write is visible to the next read. Runs without a test
+ * transaction, since the cache is only written when a transaction commits.
+ */
+@DataJpaTest(properties = SqlStatementRecorder.PROPERTY)
+@ContextConfiguration(classes = ExpenseTrackerApplication.class)
+@Import({ SecondLevelCacheConfig.class, CategoryService.class, CategoryDirectory.class, CategoryBudgetService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryDirectory categoryDirectory;
+
+    @Autowired
+    private CategoryBudgetService budgetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(new User(null, "Test", "cache@example.com", "hash"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        budgetRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void categoryFinders_areCachedUntilACategoryChanges() {
+        Category category = categoryService.addCategory(new Category(null, "Food", CategoryType.EXPENSE, user));
+        categoryService.getCategoriesByUser(user);
+        categoryService.getCategoryForUser(category.getId(), user.getId());
+        resetCounters();
+
+        assertEquals(List.of("Food"), names(categoryService.getCategoriesByUser(user)));
+        assertEquals("Food", categoryService.getCategoryForUser(category.getId(), user.getId()).orElseThrow().getName());
+        // The listing comes from the category directory, the single lookup from the query cache
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertTrue(SqlStatementRecorder.statements().isEmpty(), () -> String.join("\n", SqlStatementRecorder.statements()));
+
+        categoryService.updateCategoryForUser(category.getId(), user, "Groceries", CategoryType.EXPENSE);
+
+        assertEquals(List.of("Groceries"), names(categoryService.getCategoriesByUser(user)));
+        assertEquals("Groceries", categoryService.getCategoryForUser(category.getId(), user.getId()).orElseThrow().getName());
+
+        assertTrue(categoryService.deleteCategory(category.getId(), user));
+
+        assertTrue(categoryService.getCategoriesByUser(user).isEmpty());
+        assertTrue(categoryService.getCategoryForUser(category.getId(), user.getId()).isEmpty());
+        assertTrue(categoryService.getCategoryById(category.getId()).isEmpty());
+    }
+
+    @Test
+    void templates_areReloadedFromTheQueryCache() {
+        categoryService.getCategoriesByUser(user);
+        categoryDirectory.invalidateTemplates();
+        resetCounters();
+
+        categoryService.getCategoriesByUser(user);
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        // Only the user's own categories are read again
+        assertEquals(1, SqlStatementRecorder.statements().size(), () -> String.join("\n", SqlStatementRecorder.statements()));
+    }
+
+    @Test
+    void budgets_areCachedUntilTheyChange() {
+        Category category = categoryService.addCategory(new Category(null, "Rent", CategoryType.EXPENSE, user));
+        Budget budget = budgetService.saveOrUpdateCategoryBudget(user, category, 1, 2025, BigDecimal.TEN);
+        resetCounters();
+
+        assertEquals(0, BigDecimal.TEN.compareTo(budgetRepository.findById(budget.getId()).orElseThrow().getAmount()));
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+        assertTrue(SqlStatementRecorder.statements().isEmpty(), () -> String.join("\n", SqlStatementRecorder.statements()));
+
+        budgetService.saveOrUpdateCategoryBudget(user, category, 1, 2025, BigDecimal.ONE);
+
+        assertEquals(0, BigDecimal.ONE.compareTo(budgetRepository.findById(budget.getId()).orElseThrow().getAmount()));
+
+        assertTrue(budgetService.deleteBudget(budget.getId(), user.getId()));
+
+        assertTrue(budgetRepository.findById(budget.getId()).isEmpty());
+    }
+
+    private void resetCounters() {
+        statistics.clear();
+        SqlStatementRecorder.clear();
+    }
+
+    private static List<String> names(List<Category> categories) {
+        return categories.stream().map(Category::getName).collect(Collectors.toList());
+    }
+}
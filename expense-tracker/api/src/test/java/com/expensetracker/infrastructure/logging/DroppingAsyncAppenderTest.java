@@ -0,0 +1,85 @@
+package com.expensetracker.infrastructure.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+class DroppingAsyncAppenderTest {
+
+    private LoggerContext context;
+    private DroppingAsyncAppender appender;
+    private BlockingListAppender target;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        target = new BlockingListAppender();
+        target.setContext(context);
+        target.start();
+
+        appender = new DroppingAsyncAppender();
+        appender.setContext(context);
+        appender.setName("test-async");
+        appender.setQueueSize(1);
+        appender.addAppender(target);
+        appender.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        target.release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void append_dropsAndCountsWhenQueueIsFull() throws Exception {
+        long droppedBefore = DroppingAsyncAppender.droppedCount();
+
+        appender.doAppend(event("first"));
+        assertTrue(target.started.await(5, TimeUnit.SECONDS));
+        appender.doAppend(event("queued"));
+        appender.doAppend(event("dropped"));
+
+        assertEquals(droppedBefore + 1, DroppingAsyncAppender.droppedCount());
+
+        target.release.countDown();
+        appender.stop();
+        assertEquals(List.of("first", "queued"), target.messages);
+    }
+
+    private LoggingEvent event(String message) {
+        Logger logger = context.getLogger("test");
+        return new LoggingEvent(Logger.class.getName(), logger, Level.INFO, message, null, null);
+    }
+
+    private static class BlockingListAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(event.getFormattedMessage());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.expensetracker.infrastructure.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+class SampledRequestTurboFilterTest {
+
+    private LoggerContext context;
+    private Logger hotPath;
+    private Logger other;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        SampledRequestTurboFilter filter = new SampledRequestTurboFilter();
+        filter.addLoggerPrefix("com.expensetracker.infrastructure.security.filters");
+        filter.setContext(context);
+        filter.start();
+        context.addTurboFilter(filter);
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+
+        hotPath = context.getLogger("com.expensetracker.infrastructure.security.filters.JwtAuthenticationFilter");
+        other = context.getLogger("com.expensetracker.application.service.UserService");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestSampling.end();
+    }
+
+    @Test
+    void unsampledRequest_suppressesHotPathBelowWarn() {
+        RequestSampling.begin(false);
+
+        assertFalse(hotPath.isDebugEnabled());
+        assertFalse(hotPath.isInfoEnabled());
+        assertTrue(hotPath.isWarnEnabled());
+        assertTrue(other.isDebugEnabled());
+    }
+
+    @Test
+    void sampledRequest_keepsHotPathLogging() {
+        RequestSampling.begin(true);
+
+        assertTrue(hotPath.isDebugEnabled());
+    }
+
+    @Test
+    void outsideRequest_isNeverSuppressed() {
+        assertTrue(hotPath.isInfoEnabled());
+    }
+}
@@ -0,0 +1,162 @@
+package com.expensetracker.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
+
+/**
+ * Two embedded H2 databases stand in for the primary and the replica; each holds
+ * one row naming itself, so every read tells which one answered it.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final long WINDOW_MS = 5000;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("routing-primary");
+        replica = database("routing-replica");
+
+        ReadYourWritesWindow window = new ReadYourWritesWindow(WINDOW_MS, 100, clock::get);
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, window));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransaction_readsFromReplica() {
+        signIn(1L);
+
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void readWriteTransactionAndNonTransactionalWork_useThePrimary() {
+        signIn(1L);
+
+        assertEquals("primary", readWrite.execute(status -> node()));
+        assertEquals("primary", node());
+    }
+
+    @Test
+    void readOnlyWithoutTransaction_readsFromReplica() {
+        TransactionTemplate supports = new TransactionTemplate(readOnly.getTransactionManager());
+        supports.setReadOnly(true);
+        supports.setPropagationBehavior(TransactionDefinition.PROPAGATION_SUPPORTS);
+
+        assertEquals("replica", supports.execute(status -> node()));
+    }
+
+    @Test
+    void afterACommittedWrite_theUsersReadsStayOnThePrimaryForTheWindow() {
+        signIn(1L);
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set name = name"));
+
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(WINDOW_MS) - 1);
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        clock.incrementAndGet();
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void theWindowIsPerUser() {
+        signIn(1L);
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set name = name"));
+
+        signIn(2L);
+        assertEquals("replica", readOnly.execute(status -> node()));
+        SecurityContextHolder.clearContext();
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void forcePrimary_keepsReadOnlyTransactionsOnThePrimary() {
+        assertEquals("primary", ReplicaRoutingDataSource.forcePrimary(() -> readOnly.execute(status -> node())));
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void aRolledBackWrite_opensNoWindow() {
+        signIn(1L);
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("update node set name = name");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void expiredUsers_arePrunedOnceTheLimitIsExceeded() {
+        ReadYourWritesWindow window = new ReadYourWritesWindow(WINDOW_MS, 2, clock::get);
+        window.recordWrite(1L);
+        window.recordWrite(2L);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(WINDOW_MS));
+
+        window.recordWrite(3L);
+
+        assertEquals(1, window.trackedUsers());
+        assertTrue(window.recentlyWrote(3L));
+        assertFalse(window.recentlyWrote(1L));
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static void signIn(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, "user" + userId + "@example.com"), null, List.of()));
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name)
+                .build();
+        new JdbcTemplate(database).execute("create table node (name varchar(16))");
+        new JdbcTemplate(database).update("insert into node values (?)", name.substring("routing-".length()));
+        return database;
+    }
+}
@@ -0,0 +1,173 @@
+package com.expensetracker.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.expensetracker.api.ExpenseTrackerApplication;
+import com.expensetracker.application.listing.JdbcListingReader;
+import com.expensetracker.application.listing.JsonListing;
+import com.expensetracker.application.service.CategoryService;
+import com.expensetracker.application.service.UserService;
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Runs the application with a second H2 database as persistence.replica.url, so
+ * ReplicaDataSourceConfig, the JPA transaction manager and the real services decide
+ * where each statement goes. The replica gets the primary's schema but nothing is
+ * replicated: a row that exists on only one of them tells which one answered.
+ */
+@SpringBootTest(classes = ExpenseTrackerApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-it-primary;DB_CLOSE_DELAY=-1",
+        "persistence.replica.url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "persistence.replica.read-your-writes-ms=60000" })
+class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-it-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcListingReader listingReader;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    /**
+     * Copies the schema Hibernate created on the primary to the replica. Runs ahead of
+     * the application's own startup listeners, some of which already read from the replica.
+     */
+    @TestConfiguration
+    static class ReplicaSchema {
+
+        @EventListener(ApplicationReadyEvent.class)
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        public void copySchema(ApplicationReadyEvent event) {
+            DataSource primaryDataSource = event.getApplicationContext().getBean("primaryDataSource", DataSource.class);
+            JdbcTemplate replica = replica();
+            new JdbcTemplate(primaryDataSource).queryForList("SCRIPT NODATA", String.class).forEach(replica::execute);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = replica();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void signUpThenLogin_findsTheUserBeforeTheReplicaHasIt() {
+        userService.registerUser("New", "new@example.com", "hash");
+
+        assertTrue(userService.findByEmail("new@example.com").isPresent());
+        assertEquals(0, count(replica, "select count(*) from users where email = 'new@example.com'"));
+    }
+
+    @Test
+    void readOnlyServiceCall_isAnsweredByTheReplica() {
+        User user = userService.registerUser("Reader", "reader@example.com", "hash");
+        replicate(user);
+        replica.update("insert into categories (id, name, type, user_id, hidden) values (900001, 'Replica only', 'EXPENSE', ?, false)",
+                user.getId());
+        signIn(user);
+
+        Category category = categoryService.getCategoryForUser(900001L, user.getId()).orElseThrow();
+
+        assertEquals("Replica only", category.getName());
+        assertEquals(0, count(primary, "select count(*) from categories where id = 900001"));
+    }
+
+    @Test
+    void afterAWrite_theUsersReadsStayOnThePrimary() {
+        User user = userService.registerUser("Writer", "writer@example.com", "hash");
+        replicate(user);
+        signIn(user);
+
+        Category saved = categoryService.addCategory(new Category(null, "Rent", CategoryType.EXPENSE, user));
+
+        assertEquals(1, count(primary, "select count(*) from categories where id = " + saved.getId()));
+        assertEquals(0, count(replica, "select count(*) from categories where id = " + saved.getId()));
+        assertEquals("Rent", categoryService.getCategoryForUser(saved.getId(), user.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void jdbcListing_isAnsweredByTheReplicaUntilTheUserWrites() throws IOException {
+        User user = userService.registerUser("Lister", "lister@example.com", "hash");
+        replicate(user);
+        replica.update("insert into categories (id, name, type, user_id, hidden) values (900002, 'Replica only', 'EXPENSE', ?, false)",
+                user.getId());
+        replica.update("insert into expenses (id, amount, date, notes, category_id, user_id) values (900002, 5.00, '2025-06-01', 'from the replica', 900002, ?)",
+                user.getId());
+        signIn(user);
+
+        assertTrue(json(listingReader.expensePage(user.getId(), null, null, 10)).contains("from the replica"));
+
+        categoryService.addCategory(new Category(null, "Rent", CategoryType.EXPENSE, user));
+
+        assertFalse(json(listingReader.expensePage(user.getId(), null, null, 10)).contains("from the replica"));
+    }
+
+    // Bypasses the read-only pool to stand in for replication
+    private static JdbcTemplate replica() {
+        return new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    }
+
+    private void replicate(User user) {
+        replica.update("insert into users (id, name, email, password_hash) values (?, ?, ?, ?)",
+                user.getId(), user.getName(), user.getEmail(), user.getPasswordHash());
+    }
+
+    private static void signIn(User user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    // The listing's query runs here, as it does while the message converter writes the response
+    private String json(JsonListing listing) throws IOException {
+        return objectMapper.writeValueAsString(listing);
+    }
+
+    private static int count(JdbcTemplate jdbcTemplate, String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.expensetracker.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.expensetracker.api.ExpenseTrackerApplication;
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.Expense;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.ExpenseRepository;
+
+/**
+ * Rows written before the entities took sequence ids carry ids the new sequences
+ * have not handed out; after the catch-up the next insert goes past them.
+ */
+@SpringBootTest(classes = ExpenseTrackerApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:sequence-catch-up;DB_CLOSE_DELAY=-1" })
+class SequenceCatchUpTest {
+
+    private static final long LEGACY_ID = 800001;
+
+    @Autowired
+    private SequenceCatchUp sequenceCatchUp;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void idsAlreadyInTheTable_arePassedByTheNextInsert() {
+        jdbcTemplate.update("insert into users (id, name, email, password_hash) values (?, 'Legacy', 'legacy@example.com', 'hash')",
+                LEGACY_ID);
+        jdbcTemplate.update("insert into categories (id, name, type, user_id, hidden) values (?, 'Legacy', 'EXPENSE', ?, false)",
+                LEGACY_ID, LEGACY_ID);
+        jdbcTemplate.update("insert into expenses (id, amount, date, category_id, user_id) values (?, 5.00, '2025-06-01', ?, ?)",
+                LEGACY_ID, LEGACY_ID, LEGACY_ID);
+
+        sequenceCatchUp.catchUp();
+        long first = insertExpense();
+        // Once the sequence is ahead, running again (the next startup) leaves it there
+        sequenceCatchUp.catchUp();
+        long second = insertExpense();
+
+        assertTrue(first > LEGACY_ID, () -> "first id " + first);
+        assertTrue(second > first, () -> "second id " + second);
+    }
+
+    private long insertExpense() {
+        User user = new User(LEGACY_ID, "Legacy", "legacy@example.com", "hash");
+        Expense expense = Expense.builder()
+                .amount(BigDecimal.TEN)
+                .date(LocalDate.of(2025, 6, 8))
+                .user(user)
+                .category(new Category(LEGACY_ID, "Legacy", CategoryType.EXPENSE, user))
+                .build();
+        return expenseRepository.save(expense).getId();
+    }
+}
@@ -0,0 +1,93 @@
+package com.expensetracker.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.expensetracker.domain.model.ApiKey;
+import com.expensetracker.domain.model.ApiKeyScope;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.ApiKeyRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyAuthenticatorTest {
+
+    @Mock
+    private ApiKeyRepository apiKeyRepository;
+
+    private ApiKeyAuthenticator authenticator;
+
+    @BeforeEach
+    void setUp() {
+        authenticator = new ApiKeyAuthenticator(apiKeyRepository, 100, 60);
+    }
+
+    @Test
+    void authenticate_looksUpDigestOnceAndCaches() {
+        when(apiKeyRepository.findByKeyHash(TokenDigest.sha256("etk_key"))).thenReturn(Optional.of(apiKey(false)));
+
+        Optional<ApiKeyAuthenticator.ResolvedApiKey> first = authenticator.authenticate("etk_key");
+        Optional<ApiKeyAuthenticator.ResolvedApiKey> second = authenticator.authenticate("etk_key");
+
+        assertTrue(first.isPresent());
+        assertTrue(second.isPresent());
+        assertEquals(Long.valueOf(1L), second.get().getUserId());
+        assertTrue(second.get().getScopes().contains(ApiKeyScope.EXPENSES_READ));
+        verify(apiKeyRepository, times(1)).findByKeyHash(any());
+    }
+
+    @Test
+    void authenticate_revokedKeyIsRejected() {
+        when(apiKeyRepository.findByKeyHash(TokenDigest.sha256("etk_key"))).thenReturn(Optional.of(apiKey(true)));
+
+        assertTrue(authenticator.authenticate("etk_key").isEmpty());
+    }
+
+    @Test
+    void evict_forcesReload() {
+        when(apiKeyRepository.findByKeyHash(TokenDigest.sha256("etk_key"))).thenReturn(Optional.of(apiKey(false)));
+
+        authenticator.authenticate("etk_key");
+        authenticator.evict(TokenDigest.sha256("etk_key"));
+        authenticator.authenticate("etk_key");
+
+        verify(apiKeyRepository, times(2)).findByKeyHash(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushLastUsed_writesAllUsedKeysInOneStatement() {
+        when(apiKeyRepository.findByKeyHash(TokenDigest.sha256("etk_key"))).thenReturn(Optional.of(apiKey(false)));
+        for (int i = 0; i < 50; i++) {
+            authenticator.authenticate("etk_key");
+        }
+
+        authenticator.flushLastUsed();
+        authenticator.flushLastUsed();
+
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(apiKeyRepository, times(1)).updateLastUsed(ids.capture(), any(Instant.class));
+        assertEquals(1, ids.getValue().size());
+        assertEquals(0, authenticator.pendingLastUsed());
+    }
+
+    private static ApiKey apiKey(boolean revoked) {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("test@example.com");
+        return new ApiKey(5L, user, "import script", "etk_abcdefgh", "hash",
+                EnumSet.of(ApiKeyScope.EXPENSES_READ), Instant.now(), null, revoked);
+    }
+}
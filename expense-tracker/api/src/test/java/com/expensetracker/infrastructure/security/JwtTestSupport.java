@@ -0,0 +1,25 @@
+package com.expensetracker.infrastructure.security;
+
+/**
+ * Builds JWT configuration for tests without a Spring context.
+ */
+final class JwtTestSupport {
+
+    static final String KEY_1 = "AAECAwQFBgcICQoLDA0ODxAREhMUFRYXGBkaGxwdHh8gISIjJCUmJygpKissLS4vMDEyMzQ1Njc4OTo7PD0+Pw==";
+    static final String KEY_2 = "QEFCQ0RFRkdISUpLTE1OT1BRUlNUVVZXWFlaW1xdXl9gYWJjZGVmZ2hpamtsbW5vcHFyc3R1dnd4eXp7fH1+fw==";
+
+    private JwtTestSupport() {
+    }
+
+    static JwtProperties properties(String activeKeyId) {
+        JwtProperties properties = new JwtProperties();
+        properties.getKeys().put("k1", KEY_1);
+        properties.getKeys().put("k2", KEY_2);
+        properties.setActiveKeyId(activeKeyId);
+        return properties;
+    }
+
+    static JwtTokenProvider provider() {
+        return new JwtTokenProvider(properties("k1"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.expensetracker.infrastructure.security;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Sign and verify throughput of JwtTokenProvider. Off by default; run with
+ * {@code mvn -pl api test -Dtest=JwtTokenProviderBenchmarkTest -Dbenchmark=true}.
+ *
+ * The "per call" rows repeat what the provider did before it kept its keys and
+ * parser: decode the secret string on every signature and build a parser for every
+ * verification. The last row verifies on every core at once through the one shared
+ * parser. A warm-up round runs first so the JIT has compiled the hot paths.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtTokenProviderBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenProviderBenchmarkTest.class);
+
+    private static final int WARMUP_OPERATIONS = 50_000;
+    private static final int OPERATIONS = 200_000;
+
+    private interface Operation {
+        void run() throws Exception;
+    }
+
+    private final JwtTokenProvider provider = JwtTestSupport.provider();
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void signAndVerifyThroughput() throws Exception {
+        String token = provider.generateToken(1L, "bench@example.com");
+        String legacyToken = Jwts.builder()
+                .setSubject("bench@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(SignatureAlgorithm.HS512, JwtTestSupport.KEY_1)
+                .compact();
+
+        Operation signPerCall = () -> Jwts.builder()
+                .setSubject("bench@example.com")
+                .claim(JwtTokenProvider.CLAIM_USER_ID, 1L)
+                .setIssuedAt(new Date())
+                .signWith(SignatureAlgorithm.HS512, JwtTestSupport.KEY_1)
+                .compact();
+        Operation sign = () -> provider.generateToken(1L, "bench@example.com");
+        Operation verifyPerCall = () -> Jwts.parser().setSigningKey(JwtTestSupport.KEY_1).parseClaimsJws(legacyToken);
+        Operation verify = () -> provider.parseClaims(token);
+
+        for (Operation operation : List.of(signPerCall, sign, verifyPerCall, verify)) {
+            repeat(operation, WARMUP_OPERATIONS);
+        }
+
+        measure("sign, key decoded per call", signPerCall);
+        measure("sign", sign);
+        measure("verify, parser built per call", verifyPerCall);
+        measure("verify", verify);
+        measureConcurrently("verify, all cores", verify);
+    }
+
+    private void measure(String label, Operation operation) throws Exception {
+        long start = System.nanoTime();
+        repeat(operation, OPERATIONS);
+        log(label, OPERATIONS, System.nanoTime() - start);
+    }
+
+    private void measureConcurrently(String label, Operation operation) throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> runs = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                runs.add(executor.submit(() -> {
+                    repeat(operation, OPERATIONS);
+                    return null;
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+            log(label + " (" + threads + " threads)", OPERATIONS * threads, System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void log(String label, long operations, long elapsedNanos) {
+        logger.info("{}: {} ops/s, {} us/op", label, Math.round(operations / (elapsedNanos / 1e9)),
+                String.format("%.2f", elapsedNanos / 1e3 / operations));
+    }
+
+    private static void repeat(Operation operation, int times) throws Exception {
+        for (int i = 0; i < times; i++) {
+            operation.run();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.expensetracker.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+class JwtTokenProviderTest {
+
+    @Test
+    void generatedTokenCarriesIdentityClaims() {
+        JwtTokenProvider provider = JwtTestSupport.provider();
+
+        Claims claims = provider.parseClaims(provider.generateToken(5L, "user@example.com"));
+
+        assertEquals("user@example.com", claims.getSubject());
+        assertEquals(Long.valueOf(5L), JwtTokenProvider.getUserId(claims));
+        assertEquals(Integer.valueOf(JwtTokenProvider.TOKEN_VERSION), claims.get(JwtTokenProvider.CLAIM_TOKEN_VERSION, Integer.class));
+    }
+
+    @Test
+    void tokenSignedWithPreviousKeyStillVerifiesAfterRotation() {
+        String oldToken = new JwtTokenProvider(JwtTestSupport.properties("k1")).generateToken(1L, "user@example.com");
+
+        JwtTokenProvider rotated = new JwtTokenProvider(JwtTestSupport.properties("k2"));
+
+        assertEquals("user@example.com", rotated.parseClaims(oldToken).getSubject());
+        assertTrue(rotated.validateToken(rotated.generateToken(1L, "user@example.com")));
+    }
+
+    @Test
+    void tokenSignedWithRetiredKeyIsRejected() {
+        String oldToken = JwtTestSupport.provider().generateToken(1L, "user@example.com");
+
+        JwtProperties onlyNewKey = new JwtProperties();
+        onlyNewKey.getKeys().put("k2", JwtTestSupport.KEY_2);
+        onlyNewKey.setActiveKeyId("k2");
+        JwtTokenProvider provider = new JwtTokenProvider(onlyNewKey);
+
+        assertThrows(JwtException.class, () -> provider.parseClaims(oldToken));
+        assertFalse(provider.validateToken(oldToken));
+    }
+
+    @Test
+    void tokenWithoutKeyIdIsVerifiedWithFallbackKey() {
+        String legacyToken = Jwts.builder()
+                .setSubject("user@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS512, JwtTestSupport.KEY_1)
+                .compact();
+
+        JwtProperties properties = JwtTestSupport.properties("k2");
+        properties.setFallbackKeyId("k1");
+
+        assertEquals("user@example.com", new JwtTokenProvider(properties).getUsernameFromToken(legacyToken));
+    }
+
+    @Test
+    void activeKeyMustBeConfigured() {
+        assertThrows(IllegalStateException.class, () -> new JwtTokenProvider(JwtTestSupport.properties("missing")));
+    }
+}
@@ -0,0 +1,90 @@
+package com.expensetracker.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.expensetracker.config.exception.ServiceBusyException;
+
+class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.destroy();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_runOnHashingPool() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), 1, 10, 1);
+
+        String hash = hasher.encode("secret").join();
+
+        assertTrue(hasher.matches("secret", hash).join());
+        assertFalse(hasher.matches("wrong", hash).join());
+    }
+
+    @Test
+    void submit_rejectsFastWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        hasher = new PasswordHasher(new BlockingEncoder(started, release), 1, 1, 3);
+
+        CompletableFuture<String> running = hasher.encode("a");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = hasher.encode("b");
+        assertEquals(1, hasher.getQueueDepth());
+
+        ServiceBusyException busy = assertThrows(ServiceBusyException.class, () -> hasher.encode("c"));
+        assertEquals(3, busy.getRetryAfterSeconds());
+
+        release.countDown();
+        assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void needsRehash_whenStrengthIsRaised() {
+        String weakHash = new BCryptPasswordEncoder(4).encode("secret");
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(5), 1, 10, 1);
+
+        assertTrue(hasher.needsRehash(weakHash));
+        assertFalse(hasher.needsRehash(hasher.encode("secret").join()));
+    }
+
+    private static class BlockingEncoder implements PasswordEncoder {
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        BlockingEncoder(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.expensetracker.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketLimiterTest {
+
+    private static final long ONE_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000L);
+
+    @Test
+    void tryAcquire_grantsBurstThenRefillsOverTime() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(4, 100, 3, 6, clock::get);
+
+        assertEquals(0L, limiter.tryAcquire("a"));
+        assertEquals(0L, limiter.tryAcquire("a"));
+        assertEquals(0L, limiter.tryAcquire("a"));
+        long wait = limiter.tryAcquire("a");
+        assertTrue(wait > 0);
+        assertEquals(0L, limiter.tryAcquire("b"));
+
+        // 6 per minute -> one token every 10 seconds
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(0L, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void tryAcquire_dropsBucketsOnceFullyRefilled() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 100, 2, 2, clock::get);
+
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        assertEquals(2, limiter.size());
+
+        clock.addAndGet(ONE_MINUTE + 1);
+        limiter.tryAcquire("c");
+
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void size_staysBoundedWithManyDistinctKeys() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(8, 800, 5, 5, clock::get);
+
+        for (int i = 0; i < 100_000; i++) {
+            limiter.tryAcquire("user" + i + "@example.com");
+        }
+
+        assertTrue(limiter.size() <= 800);
+    }
+
+    @Test
+    void tryAcquire_neverGrantsMoreThanCapacityUnderContention() throws Exception {
+        int threads = 32;
+        int attemptsPerThread = 1_000;
+        int keys = 16;
+        int capacity = 10;
+        TokenBucketLimiter limiter = new TokenBucketLimiter(4, 1_000, capacity, 1, clock::get);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (limiter.tryAcquire("key" + ((offset + i) % keys)) == 0L) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // The clock does not move, so each key hands out exactly its burst
+        assertEquals(keys * capacity, granted.get());
+        assertEquals(keys, limiter.size());
+    }
+}
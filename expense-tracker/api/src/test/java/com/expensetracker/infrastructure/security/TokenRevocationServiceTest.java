@@ -0,0 +1,150 @@
+package com.expensetracker.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.expensetracker.domain.model.RevokedToken;
+import com.expensetracker.domain.repository.RevokedTokenRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository repository;
+
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TokenRevocationService(repository, JwtTestSupport.properties("k1"), 1_000, 0.001);
+    }
+
+    @Test
+    void isRevoked_unknownTokenIsClearedWithoutQuery() {
+        assertFalse(service.isRevoked("jti-1", 1L, new Date()));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void revokeToken_isConfirmedAgainstTable() {
+        service.revokeToken("jti-1", 1L, Instant.now().plusSeconds(60));
+        when(repository.existsByTokenId("jti-1")).thenReturn(true);
+
+        assertTrue(service.isRevoked("jti-1", 1L, new Date()));
+        verify(repository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void revokeAllForUser_rejectsOlderTokensOnly() {
+        service.revokeAllForUser(1L);
+        Date issuedBefore = new Date(System.currentTimeMillis() - 60_000);
+        Date issuedAfter = new Date(System.currentTimeMillis() + 60_000);
+
+        assertTrue(service.isRevoked("jti-old", 1L, issuedBefore));
+        assertFalse(service.isRevoked("jti-new", 1L, issuedAfter));
+        assertFalse(service.isRevoked("jti-other", 2L, issuedBefore));
+        verify(repository, never()).findLatestUserRevocation(1L);
+    }
+
+    @Test
+    void revokeAllForUser_keepsTokenIssuedInTheSameSecond() {
+        service.revokeAllForUser(1L);
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(repository).save(saved.capture());
+        Instant revokedAt = saved.getValue().getRevokedAt();
+
+        // JWT iat carries whole seconds, so a token minted right after the revocation has this issue time
+        assertEquals(revokedAt, revokedAt.truncatedTo(ChronoUnit.SECONDS));
+        assertFalse(service.isRevoked("jti-new", 1L, Date.from(revokedAt)));
+        assertTrue(service.isRevoked("jti-old", 1L, Date.from(revokedAt.minusSeconds(1))));
+    }
+
+    @Test
+    void isRevoked_loadsLatestUserRevocationOnce() {
+        Instant later = Instant.now().plusSeconds(60);
+        Instant revokedAt = Instant.parse("2026-01-01T10:00:00.750Z");
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                new RevokedToken(1L, null, 2L, revokedAt, later)));
+        when(repository.findLatestUserRevocation(2L)).thenReturn(Optional.of(revokedAt));
+        service.rebuild();
+
+        assertTrue(service.isRevoked("jti-1", 2L, Date.from(revokedAt.minusSeconds(1))));
+        assertFalse(service.isRevoked("jti-2", 2L, Date.from(Instant.parse("2026-01-01T10:00:00Z"))));
+        assertFalse(service.isRevoked("jti-3", 2L, Date.from(revokedAt.plusSeconds(1))));
+
+        verify(repository, times(1)).findLatestUserRevocation(2L);
+    }
+
+    @Test
+    void rebuild_loadsUnexpiredRevocations() {
+        Instant later = Instant.now().plusSeconds(60);
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                new RevokedToken(1L, "jti-1", 1L, Instant.now(), later),
+                new RevokedToken(2L, null, 2L, Instant.now(), later)));
+        when(repository.existsByTokenId("jti-1")).thenReturn(true);
+        when(repository.findLatestUserRevocation(2L)).thenReturn(Optional.of(Instant.now()));
+
+        service.rebuild();
+
+        assertTrue(service.isRevoked("jti-1", 1L, new Date()));
+        assertTrue(service.isRevoked(null, 2L, new Date(System.currentTimeMillis() - 60_000)));
+    }
+
+    @Test
+    void pollRecent_picksUpRevocationsOfOtherInstances() {
+        Instant revokedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Instant later = revokedAt.plusSeconds(60);
+        when(repository.findByRevokedAtAfter(any())).thenReturn(List.of(
+                new RevokedToken(1L, "jti-1", 1L, revokedAt, later),
+                new RevokedToken(2L, null, 2L, revokedAt, later)));
+        when(repository.existsByTokenId("jti-1")).thenReturn(true);
+
+        service.pollRecent();
+
+        assertTrue(service.isRevoked("jti-1", 1L, new Date()));
+        assertTrue(service.isRevoked("jti-2", 2L, Date.from(revokedAt.minusSeconds(1))));
+        assertFalse(service.isRevoked("jti-3", 2L, Date.from(revokedAt)));
+        verify(repository, never()).findLatestUserRevocation(2L);
+    }
+
+    @Test
+    void pollRecent_readsBackPastThePreviousPoll() {
+        when(repository.findByRevokedAtAfter(any())).thenReturn(List.of());
+        Instant before = Instant.now();
+        service.pollRecent();
+        Instant after = Instant.now();
+
+        service.pollRecent();
+
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(repository, times(2)).findByRevokedAtAfter(since.capture());
+        Instant second = since.getAllValues().get(1);
+        assertFalse(second.isBefore(before.minusSeconds(5)));
+        assertFalse(second.isAfter(after.minusSeconds(5)));
+    }
+
+    @Test
+    void prune_deletesExpiredRowsAndRebuilds() {
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of());
+
+        service.prune();
+
+        verify(repository).deleteExpired(any());
+        verify(repository).findByExpiresAtAfter(any());
+    }
+}
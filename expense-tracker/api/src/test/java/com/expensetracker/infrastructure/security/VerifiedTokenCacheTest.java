@@ -0,0 +1,55 @@
+package com.expensetracker.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+
+class VerifiedTokenCacheTest {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = JwtTestSupport.provider();
+        cache = new VerifiedTokenCache(jwtTokenProvider, 2);
+    }
+
+    @Test
+    void verify_secondCallIsServedFromCache() {
+        String token = jwtTokenProvider.generateToken(1L, "test@example.com");
+
+        Optional<Claims> first = cache.verify(token);
+        Optional<Claims> second = cache.verify(token);
+
+        assertTrue(first.isPresent());
+        assertTrue(second.isPresent());
+        assertEquals("test@example.com", second.get().getSubject());
+        assertEquals(Long.valueOf(1L), JwtTokenProvider.getUserId(second.get()));
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void verify_invalidTokenIsRejectedAndNotCached() {
+        assertTrue(cache.verify("not-a-jwt").isEmpty());
+        assertTrue(cache.verify("not-a-jwt").isEmpty());
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    void verify_cacheStaysWithinMaxSize() {
+        cache.verify(jwtTokenProvider.generateToken(1L, "a@example.com"));
+        cache.verify(jwtTokenProvider.generateToken(2L, "b@example.com"));
+        cache.verify(jwtTokenProvider.generateToken(3L, "c@example.com"));
+
+        assertTrue(cache.size() <= 2);
+    }
+}
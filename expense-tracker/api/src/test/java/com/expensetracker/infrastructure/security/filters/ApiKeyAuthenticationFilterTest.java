@@ -0,0 +1,126 @@
+package com.expensetracker.infrastructure.security.filters;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.EnumSet;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.expensetracker.domain.model.ApiKeyScope;
+import com.expensetracker.infrastructure.security.ApiKeyAuthenticator;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyAuthenticationFilterTest {
+
+    @Mock
+    private ApiKeyAuthenticator apiKeyAuthenticator;
+
+    private ApiKeyAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ApiKeyAuthenticationFilter(apiKeyAuthenticator);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void requestWithoutKey_passesThrough() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/expenses"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        verifyNoInteractions(apiKeyAuthenticator);
+    }
+
+    @Test
+    void keyWithScope_authenticatesAsOwner() throws Exception {
+        MockHttpServletRequest request = requestWithKey("GET", "/expenses");
+        when(apiKeyAuthenticator.authenticate("etk_key")).thenReturn(Optional.of(resolved(ApiKeyScope.EXPENSES_READ)));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        AuthenticatedUser principal = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(Long.valueOf(1L), principal.getId());
+    }
+
+    @Test
+    void keyWithoutScope_isForbidden() throws Exception {
+        MockHttpServletRequest request = requestWithKey("POST", "/expenses");
+        when(apiKeyAuthenticator.authenticate("etk_key")).thenReturn(Optional.of(resolved(ApiKeyScope.EXPENSES_READ)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(403, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void unmappedPath_isForbiddenForApiKeys() throws Exception {
+        MockHttpServletRequest request = requestWithKey("GET", "/api-keys");
+        when(apiKeyAuthenticator.authenticate("etk_key")).thenReturn(Optional.of(resolved(ApiKeyScope.EXPENSES_READ)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(403, response.getStatus());
+    }
+
+    @Test
+    void unknownKey_isUnauthorized() throws Exception {
+        MockHttpServletRequest request = requestWithKey("GET", "/expenses");
+        when(apiKeyAuthenticator.authenticate("etk_key")).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void requiredScope_distinguishesCategoriesFromBudgets() {
+        assertEquals(Optional.of(ApiKeyScope.BUDGETS_WRITE),
+                ApiKeyAuthenticationFilter.requiredScope(new MockHttpServletRequest("PUT", "/category-budgets/3")));
+        assertEquals(Optional.of(ApiKeyScope.CATEGORIES_READ),
+                ApiKeyAuthenticationFilter.requiredScope(new MockHttpServletRequest("GET", "/category/type/EXPENSE")));
+    }
+
+    @Test
+    void requiredScope_coversImports() {
+        assertEquals(Optional.of(ApiKeyScope.IMPORTS),
+                ApiKeyAuthenticationFilter.requiredScope(new MockHttpServletRequest("PUT", "/imports/7/content")));
+        assertEquals(Optional.of(ApiKeyScope.IMPORTS),
+                ApiKeyAuthenticationFilter.requiredScope(new MockHttpServletRequest("GET", "/imports/7")));
+    }
+
+    private static MockHttpServletRequest requestWithKey(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader(ApiKeyAuthenticationFilter.HEADER, "etk_key");
+        return request;
+    }
+
+    private static ApiKeyAuthenticator.ResolvedApiKey resolved(ApiKeyScope scope) {
+        return new ApiKeyAuthenticator.ResolvedApiKey(5L, 1L, "test@example.com", EnumSet.of(scope));
+    }
+}
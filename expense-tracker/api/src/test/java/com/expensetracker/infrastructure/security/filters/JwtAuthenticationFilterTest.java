@@ -0,0 +1,132 @@
+package com.expensetracker.infrastructure.security.filters;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
+import com.expensetracker.infrastructure.security.JwtTokenProvider;
+import com.expensetracker.infrastructure.security.TokenRevocationService;
+import com.expensetracker.infrastructure.security.UserIdCache;
+import com.expensetracker.infrastructure.security.VerifiedTokenCache;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private UserIdCache userIdCache;
+
+    @Mock
+    private TokenRevocationService revocationService;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationFilter(verifiedTokenCache, userIdCache, revocationService,
+                new String[] { "Admin@Example.com" });
+        request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenWithUserIdClaim_needsNoLookup() throws Exception {
+        Claims claims = Jwts.claims().setSubject("test@example.com");
+        claims.put(JwtTokenProvider.CLAIM_USER_ID, 7);
+        when(verifiedTokenCache.verify("token")).thenReturn(Optional.of(claims));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        AuthenticatedUser principal = currentPrincipal();
+        assertEquals(Long.valueOf(7L), principal.getId());
+        assertEquals("test@example.com", principal.getName());
+        verifyNoInteractions(userIdCache);
+    }
+
+    @Test
+    void legacyTokenWithoutUserId_fallsBackToLookup() throws Exception {
+        Claims claims = Jwts.claims().setSubject("test@example.com");
+        when(verifiedTokenCache.verify("token")).thenReturn(Optional.of(claims));
+        when(userIdCache.resolve("test@example.com")).thenReturn(Optional.of(3L));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(Long.valueOf(3L), currentPrincipal().getId());
+    }
+
+    @Test
+    void revokedToken_leavesContextEmpty() throws Exception {
+        Claims claims = Jwts.claims().setSubject("test@example.com").setId("jti-1");
+        claims.put(JwtTokenProvider.CLAIM_USER_ID, 7);
+        when(verifiedTokenCache.verify("token")).thenReturn(Optional.of(claims));
+        when(revocationService.isRevoked("jti-1", 7L, null)).thenReturn(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void tokenId_isExposedOnPrincipal() throws Exception {
+        Claims claims = Jwts.claims().setSubject("test@example.com").setId("jti-1");
+        claims.put(JwtTokenProvider.CLAIM_USER_ID, 7);
+        when(verifiedTokenCache.verify("token")).thenReturn(Optional.of(claims));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals("jti-1", currentPrincipal().getTokenId());
+        assertTrue(SecurityContextHolder.getContext().getAuthentication().getAuthorities().isEmpty());
+    }
+
+    @Test
+    void configuredAdminEmail_isGrantedAdminRole() throws Exception {
+        Claims claims = Jwts.claims().setSubject("admin@example.com");
+        claims.put(JwtTokenProvider.CLAIM_USER_ID, 1);
+        when(verifiedTokenCache.verify("token")).thenReturn(Optional.of(claims));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertTrue(SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority())));
+    }
+
+    @Test
+    void invalidToken_leavesContextEmpty() throws Exception {
+        when(verifiedTokenCache.verify("token")).thenReturn(Optional.empty());
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private AuthenticatedUser currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        return (AuthenticatedUser) authentication.getPrincipal();
+    }
+}
@@ -0,0 +1,47 @@
+package com.expensetracker.application.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one batch operation, by its position in the request. {@code status}
+ * is the HTTP status the single-item endpoint would have answered with.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    private final int index;
+    private final int status;
+    private final Long id;
+    private final String error;
+
+    private BatchItemResult(int index, int status, Long id, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static BatchItemResult applied(int index, int status, Long id) {
+        return new BatchItemResult(index, status, id, null);
+    }
+
+    public static BatchItemResult failed(int index, int status, String error) {
+        return new BatchItemResult(index, status, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
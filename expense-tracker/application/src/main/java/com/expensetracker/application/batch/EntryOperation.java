@@ -0,0 +1,26 @@
+package com.expensetracker.application.batch;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * One element of an expense or income batch. {@code op} is "create", "update" or
+ * "delete"; updates and deletes name the entry by {@code id}. {@code source} is
+ * only used for incomes.
+ */
+public class EntryOperation {
+
+    public String op;
+    public Long id;
+    public BigDecimal amount;
+    public Long categoryId;
+    public LocalDate date;  // e.g. "2025-06-08"
+    public String notes;
+    public String source;
+
+    // Set instead of the fields when the element could not be bound; the operation fails with it
+    @JsonIgnore
+    public String bindError;
+}
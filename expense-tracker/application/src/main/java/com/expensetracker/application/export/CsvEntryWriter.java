@@ -0,0 +1,71 @@
+package com.expensetracker.application.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import com.expensetracker.domain.model.Category;
+
+/**
+ * RFC 4180 CSV with a header row. The column names are the ones the statement
+ * import understands, and expenses are written with negative amounts the way a
+ * statement shows money going out, so an export imports again as the same
+ * expenses and incomes.
+ */
+class CsvEntryWriter implements EntryWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+    private final boolean incomes;
+
+    CsvEntryWriter(OutputStream out, boolean incomes) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.incomes = incomes;
+        writer.write(incomes ? "id,date,amount,category_id,category,source,notes\r\n"
+                : "id,date,amount,category_id,category,notes\r\n");
+    }
+
+    @Override
+    public void write(Long id, LocalDate date, BigDecimal amount, Category category, String notes, String source) throws IOException {
+        writer.write(String.valueOf(id));
+        writer.write(',');
+        writer.write(date != null ? date.toString() : "");
+        writer.write(',');
+        writer.write(amount != null ? (incomes ? amount : amount.negate()).toPlainString() : "");
+        writer.write(',');
+        writer.write(String.valueOf(category.getId()));
+        writer.write(',');
+        field(category.getName());
+        if (incomes) {
+            writer.write(',');
+            field(source);
+        }
+        writer.write(',');
+        field(notes);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void field(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
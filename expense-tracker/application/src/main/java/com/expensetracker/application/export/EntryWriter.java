@@ -0,0 +1,31 @@
+package com.expensetracker.application.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.expensetracker.domain.model.Category;
+
+/**
+ * Writes exported entries one at a time; nothing is kept once a row is written.
+ * Closing the writer flushes it and closes the underlying stream.
+ */
+public interface EntryWriter extends Closeable {
+
+    // source is only written for incomes
+    void write(Long id, LocalDate date, BigDecimal amount, Category category, String notes, String source) throws IOException;
+
+    // Incomes are written with their source
+    static EntryWriter open(ExportFormat format, OutputStream out, boolean incomes) throws IOException {
+        switch (format) {
+            case NDJSON:
+                return new NdjsonEntryWriter(out, incomes);
+            case CSV:
+                return new CsvEntryWriter(out, incomes);
+            default:
+                throw new IllegalArgumentException("Unsupported format " + format);
+        }
+    }
+}
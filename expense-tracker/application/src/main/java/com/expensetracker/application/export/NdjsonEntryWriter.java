@@ -0,0 +1,50 @@
+package com.expensetracker.application.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.expensetracker.domain.model.Category;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * {"id":1,"date":"2025-06-08","amount":12.50,"categoryId":3,"category":"Food","notes":"Lunch"}
+ * per line, written field by field with a streaming generator.
+ */
+class NdjsonEntryWriter implements EntryWriter {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final JsonGenerator generator;
+    private final boolean withSource;
+
+    NdjsonEntryWriter(OutputStream out, boolean withSource) throws IOException {
+        this.generator = JSON.createGenerator(out);
+        // Objects are separated by newlines instead of the default space
+        this.generator.setRootValueSeparator(null);
+        this.withSource = withSource;
+    }
+
+    @Override
+    public void write(Long id, LocalDate date, BigDecimal amount, Category category, String notes, String source) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", id);
+        generator.writeStringField("date", date != null ? date.toString() : null);
+        generator.writeNumberField("amount", amount);
+        generator.writeNumberField("categoryId", category.getId());
+        generator.writeStringField("category", category.getName());
+        if (withSource) {
+            generator.writeStringField("source", source);
+        }
+        generator.writeStringField("notes", notes);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
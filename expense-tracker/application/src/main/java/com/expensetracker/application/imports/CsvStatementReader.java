@@ -0,0 +1,188 @@
+package com.expensetracker.application.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * CSV statements with a header row. Columns are found by name: {@code date},
+ * {@code amount} (or {@code debit}/{@code credit}), {@code description} (or
+ * {@code source}, {@code notes}, {@code memo}, {@code payee}; the first one wins)
+ * and an optional {@code category}.
+ * Comma and semicolon delimiters are detected from the header; quoted fields may
+ * hold delimiters, doubled quotes and line breaks.
+ */
+class CsvStatementReader implements StatementReader {
+
+    // Keeps an unterminated quote from swallowing the rest of the file into one field
+    static final int MAX_FIELD_LENGTH = 64 * 1024;
+    private static final int MAX_HEADER_LENGTH = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+
+    private char delimiter = ',';
+    private long line = 1;
+    private long recordLine;
+
+    private int dateColumn = -1;
+    private int amountColumn = -1;
+    private int debitColumn = -1;
+    private int creditColumn = -1;
+    private int descriptionColumn = -1;
+    private int categoryColumn = -1;
+    private boolean headerRead;
+
+    CsvStatementReader(Reader reader) {
+        this.reader = new BufferedReader(reader);
+    }
+
+    @Override
+    public StatementRow next() throws IOException {
+        if (!headerRead) {
+            readHeader();
+            headerRead = true;
+        }
+        while (readRecord()) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            return new StatementRow(recordLine, column(dateColumn), amount(), column(descriptionColumn),
+                    column(categoryColumn));
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        // Peek at the header line to pick the delimiter, then parse it like any record
+        reader.mark(MAX_HEADER_LENGTH + 1);
+        boolean semicolon = false;
+        boolean comma = false;
+        int length = 0;
+        int c = reader.read();
+        if (c == -1) {
+            throw new StatementFormatException(1, "empty file, expected a header row");
+        }
+        while (c != -1 && c != '\n') {
+            if (++length > MAX_HEADER_LENGTH) {
+                throw new StatementFormatException(1, "header longer than " + MAX_HEADER_LENGTH + " characters");
+            }
+            semicolon |= c == ';';
+            comma |= c == ',';
+            c = reader.read();
+        }
+        if (semicolon && !comma) {
+            delimiter = ';';
+        }
+        reader.reset();
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+
+        readRecord();
+        for (int i = 0; i < fields.size(); i++) {
+            switch (fields.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "date", "transaction date", "posting date", "posted" -> dateColumn = first(dateColumn, i);
+                case "amount" -> amountColumn = first(amountColumn, i);
+                case "debit", "withdrawal" -> debitColumn = first(debitColumn, i);
+                case "credit", "deposit" -> creditColumn = first(creditColumn, i);
+                case "description", "source", "notes", "memo", "payee", "narrative" -> descriptionColumn = first(descriptionColumn, i);
+                case "category" -> categoryColumn = first(categoryColumn, i);
+                default -> { }
+            }
+        }
+        if (dateColumn < 0) {
+            throw new StatementFormatException(1, "no date column in header");
+        }
+        if (amountColumn < 0 && debitColumn < 0 && creditColumn < 0) {
+            throw new StatementFormatException(1, "no amount, debit or credit column in header");
+        }
+    }
+
+    // Debits are money going out; a debit column holds them without a sign
+    private String amount() {
+        if (amountColumn >= 0) {
+            return column(amountColumn);
+        }
+        String debit = column(debitColumn);
+        if (debit != null && !debit.isBlank()) {
+            String value = debit.trim();
+            return value.startsWith("-") ? value : "-" + value;
+        }
+        return column(creditColumn);
+    }
+
+    private String column(int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index) : null;
+    }
+
+    private boolean readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        recordLine = line;
+
+        int c = reader.read();
+        if (c == -1) {
+            return false;
+        }
+        boolean quoted = false;
+        boolean fieldStart = true;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new StatementFormatException(recordLine, "unterminated quoted field");
+                }
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                if (c == '\n') {
+                    line++;
+                }
+                append(c);
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                if (c == '\n') {
+                    line++;
+                }
+                return true;
+            } else if (c != '\r') {
+                append(c);
+                fieldStart = false;
+            }
+            c = reader.read();
+        }
+    }
+
+    private void append(int c) {
+        if (field.length() == MAX_FIELD_LENGTH) {
+            throw new StatementFormatException(recordLine, "field longer than " + MAX_FIELD_LENGTH + " characters");
+        }
+        field.append((char) c);
+    }
+
+    private static int first(int current, int index) {
+        return current >= 0 ? current : index;
+    }
+}
@@ -0,0 +1,150 @@
+package com.expensetracker.application.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+
+/**
+ * OFX statements, both the SGML flavour (1.x, leaf elements without end tags) and
+ * XML (2.x). Every {@code <STMTTRN>} becomes a row from its TRNAMT, DTPOSTED,
+ * NAME and MEMO; everything else in the file is skipped. The reader works tag by
+ * tag, so it never holds more than one element's text.
+ */
+class OfxStatementReader implements StatementReader {
+
+    private static final int MAX_TAG_LENGTH = 64;
+    private static final int MAX_TEXT_LENGTH = 4 * 1024;
+
+    private final BufferedReader reader;
+    private final StringBuilder buffer = new StringBuilder();
+    private long line = 1;
+    // A '<' read while scanning text, handed to the next tag lookup
+    private boolean atTag;
+
+    OfxStatementReader(Reader reader) {
+        this.reader = new BufferedReader(reader);
+    }
+
+    @Override
+    public StatementRow next() throws IOException {
+        boolean inTransaction = false;
+        long start = 0;
+        String amount = null;
+        String posted = null;
+        String name = null;
+        String memo = null;
+
+        String tag;
+        while ((tag = nextTag()) != null) {
+            if (tag.equals("STMTTRN")) {
+                inTransaction = true;
+                start = line;
+                amount = posted = name = memo = null;
+            } else if (tag.equals("/STMTTRN") && inTransaction) {
+                return new StatementRow(start, isoDate(posted), amount, notes(name, memo), null);
+            } else if (inTransaction) {
+                switch (tag) {
+                    case "TRNAMT" -> amount = text();
+                    case "DTPOSTED" -> posted = text();
+                    case "NAME" -> name = text();
+                    case "MEMO" -> memo = text();
+                    default -> { }
+                }
+            }
+        }
+        if (inTransaction) {
+            throw new StatementFormatException(start, "STMTTRN is not closed");
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Upper-cased name of the next tag, with a leading '/' for end tags; null at the end of the file
+    private String nextTag() throws IOException {
+        if (!atTag) {
+            int c;
+            while ((c = reader.read()) != '<') {
+                if (c == -1) {
+                    return null;
+                }
+                if (c == '\n') {
+                    line++;
+                }
+            }
+        }
+        atTag = false;
+
+        buffer.setLength(0);
+        int c;
+        while ((c = reader.read()) != '>') {
+            if (c == -1) {
+                throw new StatementFormatException(line, "unterminated tag");
+            }
+            if (buffer.length() == MAX_TAG_LENGTH) {
+                throw new StatementFormatException(line, "tag longer than " + MAX_TAG_LENGTH + " characters");
+            }
+            buffer.append((char) c);
+        }
+        // Processing instructions, comments and attributes carry nothing we import
+        int space = indexOfWhitespace(buffer);
+        return (space >= 0 ? buffer.substring(0, space) : buffer.toString()).toUpperCase(Locale.ROOT);
+    }
+
+    // Element text up to the next tag (an end tag in XML, the next element in SGML)
+    private String text() throws IOException {
+        buffer.setLength(0);
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '<') {
+                atTag = true;
+                break;
+            }
+            if (c == '\n') {
+                line++;
+            }
+            if (buffer.length() == MAX_TEXT_LENGTH) {
+                throw new StatementFormatException(line, "element text longer than " + MAX_TEXT_LENGTH + " characters");
+            }
+            buffer.append((char) c);
+        }
+        String text = buffer.toString().trim();
+        return text.isEmpty() ? null : unescape(text);
+    }
+
+    // DTPOSTED is YYYYMMDD followed by an optional time and zone
+    private static String isoDate(String posted) {
+        if (posted == null || posted.length() < 8) {
+            return posted;
+        }
+        return posted.substring(0, 4) + "-" + posted.substring(4, 6) + "-" + posted.substring(6, 8);
+    }
+
+    private static String notes(String name, String memo) {
+        if (name == null || memo == null || name.equals(memo)) {
+            return name != null ? name : memo;
+        }
+        return name + " - " + memo;
+    }
+
+    private static String unescape(String text) {
+        if (text.indexOf('&') < 0) {
+            return text;
+        }
+        return text.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&nbsp;", " ").replace("&amp;", "&");
+    }
+
+    private static int indexOfWhitespace(CharSequence s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (Character.isWhitespace(s.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,12 @@
+package com.expensetracker.application.imports;
+
+/**
+ * The file cannot be read as a statement at all (as opposed to a single bad row,
+ * which is skipped).
+ */
+public class StatementFormatException extends RuntimeException {
+
+    public StatementFormatException(long line, String message) {
+        super("Line " + line + ": " + message);
+    }
+}
@@ -0,0 +1,228 @@
+package com.expensetracker.application.imports;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.application.service.CategoryService;
+import com.expensetracker.application.service.UserService;
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.Expense;
+import com.expensetracker.domain.model.ImportJob;
+import com.expensetracker.domain.model.Income;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.ExpenseRepository;
+import com.expensetracker.domain.repository.ImportJobRepository;
+import com.expensetracker.domain.repository.IncomeRepository;
+
+/**
+ * Turns an uploaded statement into expenses (negative amounts) and incomes. Rows
+ * are streamed from the file and written {@code batch-size} at a time, each batch
+ * in its own transaction together with the job's counters; the persistence context
+ * ends with every batch, so memory stays flat however long the file is.
+ *
+ * Rows are matched to the user's categories by name (a blank category means
+ * "Uncategorized"); missing categories are created on first use. A row with a bad
+ * date or amount is counted as skipped and the import goes on.
+ */
+@Component
+public class StatementImporter {
+
+    static final String DEFAULT_CATEGORY = "Uncategorized";
+    // Length of the notes and source columns
+    private static final int MAX_TEXT = 255;
+
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final ImportJobRepository importJobRepository;
+    private final CategoryService categoryService;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public StatementImporter(ExpenseRepository expenseRepository, IncomeRepository incomeRepository,
+                             ImportJobRepository importJobRepository, CategoryService categoryService,
+                             UserService userService, TransactionTemplate transactionTemplate,
+                             @Value("${imports.batch-size:1000}") int batchSize) {
+        this.expenseRepository = expenseRepository;
+        this.incomeRepository = incomeRepository;
+        this.importJobRepository = importJobRepository;
+        this.categoryService = categoryService;
+        this.userService = userService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // Starts after the rows the job has already committed, so a resumed import adds nothing twice
+    public void importFile(ImportJob job, Path file) throws IOException {
+        Map<String, Category> categories = new HashMap<>();
+        long alreadyRead = job.getRowsRead();
+        long index = 0;
+
+        try (StatementReader reader = StatementReader.open(job.getFormat(), Files.newInputStream(file))) {
+            List<StatementRow> batch = new ArrayList<>(batchSize);
+            StatementRow row;
+            while ((row = reader.next()) != null) {
+                if (index++ < alreadyRead) {
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    write(job, batch, categories);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(job, batch, categories);
+            }
+        }
+    }
+
+    // Categories resolved by the batch join the import's map only once it has committed,
+    // so a rolled-back batch leaves no category behind that was never stored
+    private void write(ImportJob job, List<StatementRow> rows, Map<String, Category> categories) {
+        Map<String, Category> batchCategories = new HashMap<>(categories);
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userService.getReference(job.getUserId());
+            List<Expense> expenses = new ArrayList<>();
+            List<Income> incomes = new ArrayList<>();
+            long skipped = 0;
+            String firstError = null;
+
+            for (StatementRow row : rows) {
+                LocalDate date;
+                BigDecimal amount;
+                try {
+                    date = parseDate(row.getDate());
+                    amount = parseAmount(row.getAmount());
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                    if (firstError == null) {
+                        firstError = "Line " + row.getLine() + ": " + e.getMessage();
+                    }
+                    continue;
+                }
+
+                String description = truncate(row.getDescription());
+                if (amount.signum() < 0) {
+                    Expense expense = new Expense();
+                    expense.setUser(user);
+                    expense.setAmount(amount.negate());
+                    expense.setDate(date);
+                    expense.setNotes(description);
+                    expense.setCategory(category(row, CategoryType.EXPENSE, user, batchCategories));
+                    expenses.add(expense);
+                } else {
+                    Income income = new Income();
+                    income.setUser(user);
+                    income.setAmount(amount);
+                    income.setDate(date);
+                    income.setSource(description);
+                    income.setCategory(category(row, CategoryType.INCOME, user, batchCategories));
+                    incomes.add(income);
+                }
+            }
+
+            expenseRepository.saveAll(expenses);
+            incomeRepository.saveAll(incomes);
+            importJobRepository.recordProgress(job.getId(), rows.size(), expenses.size(), incomes.size(), skipped,
+                    firstError, Instant.now());
+        });
+        categories.putAll(batchCategories);
+    }
+
+    // Resolved once per import; categories the user does not have yet are created
+    private Category category(StatementRow row, CategoryType type, User user, Map<String, Category> categories) {
+        String name = row.getCategory() == null || row.getCategory().isBlank() ? DEFAULT_CATEGORY : row.getCategory().trim();
+        return categories.computeIfAbsent(type + ":" + name, key -> categoryService.findByNameAndTypeAndUser(name, type, user)
+                .orElseGet(() -> categoryService.addCategory(new Category(null, name, type, user))));
+    }
+
+    static LocalDate parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("missing date");
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("date '" + value + "' is not yyyy-MM-dd");
+        }
+    }
+
+    /**
+     * Accepts what bank exports write: currency symbols, thousands separators,
+     * a decimal comma, and (12.50) for negatives.
+     */
+    static BigDecimal parseAmount(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("missing amount");
+        }
+        String text = value.trim();
+        boolean negative = text.startsWith("(") && text.endsWith(")");
+        StringBuilder digits = new StringBuilder(text.length());
+        int lastComma = -1;
+        int lastDot = -1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '-') {
+                negative = true;
+            } else if (c == ',') {
+                lastComma = digits.length();
+                digits.append(c);
+            } else if (c == '.') {
+                lastDot = digits.length();
+                digits.append(c);
+            } else if (Character.isDigit(c)) {
+                digits.append(c);
+            }
+        }
+
+        // The last separator is the decimal one when two digits or fewer follow it
+        int decimal = Math.max(lastComma, lastDot);
+        if (decimal >= 0 && digits.length() - decimal - 1 > 2) {
+            decimal = -1;
+        }
+        StringBuilder number = new StringBuilder(digits.length() + 1);
+        if (negative) {
+            number.append('-');
+        }
+        for (int i = 0; i < digits.length(); i++) {
+            char c = digits.charAt(i);
+            if (Character.isDigit(c)) {
+                number.append(c);
+            } else if (i == decimal) {
+                number.append('.');
+            }
+        }
+        try {
+            BigDecimal amount = new BigDecimal(number.toString());
+            if (amount.signum() == 0) {
+                throw new IllegalArgumentException("amount is zero");
+            }
+            return amount;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("amount '" + value + "' is not a number");
+        }
+    }
+
+    private static String truncate(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String trimmed = text.trim();
+        return trimmed.length() <= MAX_TEXT ? trimmed : trimmed.substring(0, MAX_TEXT);
+    }
+}
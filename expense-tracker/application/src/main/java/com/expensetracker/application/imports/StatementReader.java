@@ -0,0 +1,32 @@
+package com.expensetracker.application.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import com.expensetracker.domain.model.ImportFormat;
+
+/**
+ * Pulls statement rows off a stream one at a time. Readers hold a single row and
+ * a fixed-size buffer, so memory does not depend on the size of the file.
+ */
+public interface StatementReader extends Closeable {
+
+    // Null once the statement is exhausted
+    StatementRow next() throws IOException;
+
+    static StatementReader open(ImportFormat format, InputStream in) {
+        Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        switch (format) {
+            case CSV:
+                return new CsvStatementReader(reader);
+            case OFX:
+                return new OfxStatementReader(reader);
+            default:
+                throw new IllegalArgumentException("Unsupported format " + format);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.expensetracker.application.imports;
+
+/**
+ * One transaction of a bank statement as it appears in the file. Values are kept
+ * as text; turning them into entries (and rejecting bad ones) is up to the importer.
+ * A negative amount is money going out.
+ */
+public class StatementRow {
+
+    private final long line;
+    private final String date;
+    private final String amount;
+    private final String description;
+    private final String category;
+
+    public StatementRow(long line, String date, String amount, String description, String category) {
+        this.line = line;
+        this.date = date;
+        this.amount = amount;
+        this.description = description;
+        this.category = category;
+    }
+
+    // Where the row starts in the file, for error messages
+    public long getLine() {
+        return line;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public String getAmount() {
+        return amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+}
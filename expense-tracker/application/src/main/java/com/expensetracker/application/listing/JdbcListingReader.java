@@ -0,0 +1,241 @@
+package com.expensetracker.application.listing;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.application.paging.CursorPage;
+import com.expensetracker.application.paging.KeysetCursor;
+import com.expensetracker.domain.repository.EntryFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+/**
+ * Read path for GET /expenses, /incomes and /category-budgets that writes JDBC rows
+ * straight into the response's JsonGenerator: no entities, no User proxies and no
+ * persistence context. The JSON is the same as serializing the views the ORM path
+ * returns (ExpenseView, IncomeView, BudgetView).
+ *
+ * Filters, keyset order and page size follow EntrySpecifications and KeysetPager,
+ * so the same composite indexes answer both paths and cursors are interchangeable.
+ * Each query runs in a read-only transaction, like the ORM path, so it is answered
+ * by the replica when one is configured, within the user's read-your-writes window
+ * by the primary. The transaction is opened around the query itself, since the
+ * query runs while the response is serialized, after the controller has returned.
+ * Turned off with listing.jdbc.enabled=false, which puts the controllers back on
+ * the ORM path.
+ */
+@Component
+public class JdbcListingReader {
+
+    // Not a backslash: MySQL would read '\' in the SQL literal as an escape itself
+    private static final char LIKE_ESCAPE = '!';
+
+    private static final String EXPENSES = "select e.id, e.date, e.amount, e.notes, c.id, c.name"
+            + " from expenses e join categories c on c.id = e.category_id";
+
+    private static final String INCOMES = "select e.id, e.date, e.amount, e.source, e.notes, c.id, c.name, c.type"
+            + " from incomes e join categories c on c.id = e.category_id";
+
+    private static final String BUDGETS = "select b.id, b.budget_month, b.budget_year, b.amount, c.id, c.name, c.type"
+            + " from category_budgets b join categories c on c.id = b.category_id where b.user_id = ? order by b.id";
+
+    private interface JsonRow {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+
+    // Writes the columns after id and date; the entry's object is opened and closed around it
+    private interface EntryColumns {
+        void write(ResultSet rs, long id, LocalDate date, JsonGenerator json, SerializerProvider serializers)
+                throws SQLException, IOException;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnly;
+    private final boolean enabled;
+
+    public JdbcListingReader(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             @Value("${listing.jdbc.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Same JSON as CursorPage<ExpenseView>
+    public JsonListing expensePage(Long userId, EntryFilter filter, String cursor, Integer limit) {
+        return page(EXPENSES, userId, filter, cursor, limit, (rs, id, date, json, serializers) -> {
+            json.writeNumberField("id", id);
+            json.writeNumberField("amount", rs.getBigDecimal(3));
+            serializers.defaultSerializeField("date", date, json);
+            json.writeStringField("notes", rs.getString(4));
+            json.writeNumberField("categoryId", rs.getLong(5));
+            json.writeStringField("categoryName", rs.getString(6));
+        });
+    }
+
+    // Same JSON as CursorPage<IncomeView>
+    public JsonListing incomePage(Long userId, EntryFilter filter, String cursor, Integer limit) {
+        return page(INCOMES, userId, filter, cursor, limit, (rs, id, date, json, serializers) -> {
+            json.writeNumberField("id", id);
+            json.writeNumberField("amount", rs.getBigDecimal(3));
+            json.writeStringField("source", rs.getString(4));
+            serializers.defaultSerializeField("date", date, json);
+            json.writeStringField("notes", rs.getString(5));
+            writeCategory(rs, 6, json);
+        });
+    }
+
+    // Same JSON as List<BudgetView>
+    public JsonListing budgets(Long userId) {
+        return new JsonListing((json, serializers) -> {
+            json.writeStartArray();
+            query(BUDGETS, new Object[] { userId }, rs -> {
+                json.writeStartObject();
+                json.writeNumberField("id", rs.getLong(1));
+                json.writeNumberField("month", rs.getInt(2));
+                json.writeNumberField("year", rs.getInt(3));
+                json.writeNumberField("amount", rs.getBigDecimal(4));
+                writeCategory(rs, 5, json);
+                json.writeEndObject();
+            });
+            json.writeEndArray();
+        });
+    }
+
+    // The cursor is decoded here, so a bad one is rejected before the response starts
+    private JsonListing page(String select, Long userId, EntryFilter filter, String cursor, Integer limit,
+                             EntryColumns columns) {
+        int pageSize = CursorPage.clampLimit(limit);
+        KeysetCursor after = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+        List<Object> args = new ArrayList<>();
+        String sql = entrySql(select, userId, filter, after, pageSize + 1, args);
+
+        return new JsonListing((json, serializers) -> {
+            json.writeStartObject();
+            json.writeArrayFieldStart("items");
+            PageRows rows = new PageRows(pageSize);
+            query(sql, args.toArray(), rs -> {
+                if (rows.isFull()) {
+                    rows.more = true;
+                    return;
+                }
+                long id = rs.getLong(1);
+                LocalDate date = rs.getObject(2, LocalDate.class);
+                json.writeStartObject();
+                columns.write(rs, id, date, json, serializers);
+                json.writeEndObject();
+                rows.written(id, date);
+            });
+            json.writeEndArray();
+            json.writeStringField("nextCursor", rows.nextCursor());
+            json.writeEndObject();
+        });
+    }
+
+    private static String entrySql(String select, Long userId, EntryFilter filter, KeysetCursor after, int rows,
+                                   List<Object> args) {
+        StringBuilder sql = new StringBuilder(select).append(" where e.user_id = ?");
+        args.add(userId);
+        if (filter != null) {
+            condition(sql, args, " and e.category_id = ?", filter.getCategoryId());
+            condition(sql, args, " and e.date >= ?", filter.getFrom());
+            condition(sql, args, " and e.date <= ?", filter.getTo());
+            condition(sql, args, " and e.amount >= ?", filter.getMinAmount());
+            condition(sql, args, " and e.amount <= ?", filter.getMaxAmount());
+            if (filter.getNotesPrefix() != null && !filter.getNotesPrefix().isEmpty()) {
+                sql.append(" and e.notes like ? escape '").append(LIKE_ESCAPE).append('\'');
+                args.add(escapeLike(filter.getNotesPrefix()) + "%");
+            }
+        }
+        if (after != null) {
+            sql.append(" and (e.date < ? or (e.date = ? and e.id < ?))");
+            args.add(after.getDate());
+            args.add(after.getDate());
+            args.add(after.getId());
+        }
+        sql.append(" order by e.date desc, e.id desc limit ?");
+        args.add(rows);
+        return sql.toString();
+    }
+
+    private static void condition(StringBuilder sql, List<Object> args, String condition, Object value) {
+        if (value != null) {
+            sql.append(condition);
+            args.add(value);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        String escape = String.valueOf(LIKE_ESCAPE);
+        return value.replace(escape, escape + escape).replace("%", escape + "%").replace("_", escape + "_");
+    }
+
+    // Category JSON is {id, name, type}; the owner and template columns are not exposed
+    private static void writeCategory(ResultSet rs, int firstColumn, JsonGenerator json) throws SQLException, IOException {
+        json.writeObjectFieldStart("category");
+        json.writeNumberField("id", rs.getLong(firstColumn));
+        json.writeStringField("name", rs.getString(firstColumn + 1));
+        json.writeStringField("type", rs.getString(firstColumn + 2));
+        json.writeEndObject();
+    }
+
+    // Row callbacks cannot throw IOException; it is tunnelled out and rethrown to the converter
+    private void query(String sql, Object[] args, JsonRow row) throws IOException {
+        RowCallbackHandler handler = rs -> {
+            try {
+                row.write(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        try {
+            readOnly.executeWithoutResult(status -> jdbcTemplate.query(sql, handler, args));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Rows are fetched with pageSize + 1: the extra one only tells that another page exists
+    private static final class PageRows {
+
+        private final int pageSize;
+        private int count;
+        private long lastId;
+        private LocalDate lastDate;
+        private boolean more;
+
+        PageRows(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        boolean isFull() {
+            return count == pageSize;
+        }
+
+        void written(long id, LocalDate date) {
+            count++;
+            lastId = id;
+            lastDate = date;
+        }
+
+        String nextCursor() {
+            return more ? new KeysetCursor(lastDate, lastId).encode() : null;
+        }
+    }
+}
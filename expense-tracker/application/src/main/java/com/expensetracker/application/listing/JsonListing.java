@@ -0,0 +1,39 @@
+package com.expensetracker.application.listing;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * A response body that writes itself into the generator of the JSON message
+ * converter. The query behind it runs during serialization, on the request
+ * thread, and each row goes to the response as it is read. Values whose format is
+ * configurable, such as dates, are written with the converter's own serializers.
+ */
+public final class JsonListing implements JsonSerializable {
+
+    public interface Body {
+        void writeTo(JsonGenerator json, SerializerProvider serializers) throws IOException;
+    }
+
+    private final Body body;
+
+    public JsonListing(Body body) {
+        this.body = body;
+    }
+
+    @Override
+    public void serialize(JsonGenerator json, SerializerProvider serializers) throws IOException {
+        body.writeTo(json, serializers);
+    }
+
+    // Listings are never written with type information
+    @Override
+    public void serializeWithType(JsonGenerator json, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(json, serializers);
+    }
+}
@@ -0,0 +1,41 @@
+package com.expensetracker.application.paging;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.expensetracker.domain.repository.EntrySpecifications;
+
+/**
+ * Runs a keyset-paginated query in (date desc, id desc) order. The cursor becomes
+ * one more predicate and the page size a row limit, so no count query is issued.
+ * Rows come back as the views the finder selects, category columns included.
+ */
+public final class KeysetPager {
+
+    // A repository's view query, e.g. ExpenseRepository::findViews
+    public interface Finder<T, V> {
+        List<V> find(Specification<T> specification, Sort sort, int limit);
+    }
+
+    private KeysetPager() {
+    }
+
+    public static <T, V> CursorPage<V> page(Finder<T, V> finder,
+                                            Specification<T> specification,
+                                            String cursor,
+                                            Integer limit,
+                                            Function<V, KeysetCursor> position) {
+        int pageSize = CursorPage.clampLimit(limit);
+        Specification<T> spec = specification;
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            spec = spec.and(EntrySpecifications.after(after.getDate(), after.getId()));
+        }
+
+        List<V> rows = finder.find(spec, EntrySpecifications.NEWEST_FIRST, pageSize + 1);
+        return CursorPage.of(rows, pageSize, position);
+    }
+}
@@ -0,0 +1,112 @@
+package com.expensetracker.application.service;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.expensetracker.domain.model.ApiKey;
+import com.expensetracker.domain.model.ApiKeyScope;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.ApiKeyRepository;
+import com.expensetracker.infrastructure.security.ApiKeyAuthenticator;
+import com.expensetracker.infrastructure.security.TokenDigest;
+
+@Service
+public class ApiKeyService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final String KEY_PREFIX = "etk_";
+    private static final int KEY_BYTES = 32;
+    private static final int DISPLAY_PREFIX_LENGTH = 12;
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final ApiKeyAuthenticator apiKeyAuthenticator;
+
+    public ApiKeyService(ApiKeyRepository apiKeyRepository, ApiKeyAuthenticator apiKeyAuthenticator) {
+        this.apiKeyRepository = apiKeyRepository;
+        this.apiKeyAuthenticator = apiKeyAuthenticator;
+    }
+
+    /**
+     * A newly created key. The raw value is only available here; afterwards only its digest is stored.
+     */
+    public static class CreatedApiKey {
+        private final ApiKey apiKey;
+        private final String rawKey;
+
+        public CreatedApiKey(ApiKey apiKey, String rawKey) {
+            this.apiKey = apiKey;
+            this.rawKey = rawKey;
+        }
+
+        public ApiKey getApiKey() {
+            return apiKey;
+        }
+
+        public String getRawKey() {
+            return rawKey;
+        }
+    }
+
+    @Transactional
+    public CreatedApiKey createKey(User user, String name, Set<ApiKeyScope> scopes) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("API key name is required");
+        }
+        if (scopes == null || scopes.isEmpty()) {
+            throw new IllegalArgumentException("At least one scope is required");
+        }
+
+        byte[] bytes = new byte[KEY_BYTES];
+        RANDOM.nextBytes(bytes);
+        String rawKey = KEY_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        ApiKey apiKey = new ApiKey();
+        apiKey.setUser(user);
+        apiKey.setName(name.trim());
+        apiKey.setPrefix(rawKey.substring(0, DISPLAY_PREFIX_LENGTH));
+        apiKey.setKeyHash(TokenDigest.sha256(rawKey));
+        apiKey.setScopes(EnumSet.copyOf(scopes));
+        apiKey.setCreatedAt(Instant.now());
+
+        return new CreatedApiKey(apiKeyRepository.save(apiKey), rawKey);
+    }
+
+    public List<ApiKey> getKeysByUser(Long userId) {
+        return apiKeyRepository.findByUserId(userId);
+    }
+
+    // Returns false when the key does not exist or belongs to someone else
+    @Transactional
+    public boolean revokeKey(Long userId, Long keyId) {
+        return apiKeyRepository.findByIdAndUserId(keyId, userId)
+            .map(apiKey -> {
+                apiKey.setRevoked(true);
+                evictAfterCommit(apiKey.getKeyHash());
+                return true;
+            })
+            .orElse(false);
+    }
+
+    // Evicting before the commit would let a concurrent request cache the still-active row again
+    private void evictAfterCommit(String keyHash) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apiKeyAuthenticator.evict(keyHash);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apiKeyAuthenticator.evict(keyHash);
+            }
+        });
+    }
+}
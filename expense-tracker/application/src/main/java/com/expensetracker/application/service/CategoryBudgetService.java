@@ -5,13 +5,16 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.expensetracker.domain.model.Budget;
 import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.User;
 import com.expensetracker.domain.repository.BudgetRepository;
+import com.expensetracker.domain.repository.view.BudgetView;
 
 @Service
+@Transactional(readOnly = true)
 public class CategoryBudgetService {
 
     private final BudgetRepository categoryBudgetRepository;
@@ -20,6 +23,7 @@ public class CategoryBudgetService {
         this.categoryBudgetRepository = categoryBudgetRepository;
     }
 
+    @Transactional
     public Budget saveOrUpdateCategoryBudget(User user, Category category, int month, int year, BigDecimal amount) {
         Optional<Budget> existing = categoryBudgetRepository
                 .findByUserIdAndCategoryIdAndMonthAndYear(user.getId(), category.getId(), month, year);
@@ -34,16 +38,19 @@ public class CategoryBudgetService {
         return categoryBudgetRepository.save(budget);
     }
 
-    public List<Budget> getBudgetsForUser(Long userId) {
-        return categoryBudgetRepository.findAllByUserId(userId);
+    public List<BudgetView> getBudgetsForUser(Long userId) {
+        return categoryBudgetRepository.findViewsByUserId(userId);
     }
 
-    public Optional<Budget> getById(Long id) {
-        return categoryBudgetRepository.findById(id);
+    // Only if it belongs to the user
+    public Optional<Budget> getBudgetForUser(Long id, Long userId) {
+        return categoryBudgetRepository.findByIdAndUserId(id, userId);
     }
 
-    public void deleteBudget(Long id) {
-        categoryBudgetRepository.deleteById(id);
+    // False when the user has no such budget
+    @Transactional
+    public boolean deleteBudget(Long id, Long userId) {
+        return categoryBudgetRepository.deleteByIdAndUserId(id, userId) > 0;
     }
 
 	public Optional<Budget> getByUserCategoryMonthYear(Long id, Long id2, Integer month, Integer year) {
@@ -51,6 +58,7 @@ public class CategoryBudgetService {
 		return categoryBudgetRepository.findByUserIdAndCategoryIdAndMonthAndYear(id, id2, month, year);
 	}
 
+	@Transactional
 	public Budget updateBudget(Budget budget) {
 		return categoryBudgetRepository.save(budget);
 	}
@@ -0,0 +1,333 @@
+package com.expensetracker.application.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.CategoryRepository;
+
+/**
+ * In-process view of each user's categories: by id, by (name, type), and a sorted
+ * id array for ownership checks. A user's directory is loaded with one query on
+ * first use and dropped whenever one of their categories changes; the least
+ * recently used directories are evicted beyond {@code max-users}.
+ *
+ * Invalidation only reaches this instance, and a load may read a lagging replica,
+ * so directories and templates are also reloaded once older than {@code ttl-ms}.
+ * An ownership check that misses is confirmed against the table before it fails.
+ *
+ * The shared template categories are loaded once and merged into every directory.
+ * A template is left out for a user who has a row replacing it (see
+ * Category.templateId) or a category of the same name and type.
+ *
+ * Callers get fresh, detached Category instances, so changing one never touches
+ * the cached state. Templates come back without a user.
+ */
+@Component
+public class CategoryDirectory {
+
+    private final CategoryRepository categoryRepository;
+    private final int maxUsers;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    private final Map<Long, UserCategories> directories;
+    private volatile List<Entry> templates;
+    private volatile long templatesLoadedAt;
+    // Bumped when the templates change; a load that raced with it is returned but not cached
+    private final AtomicLong templateInvalidations = new AtomicLong();
+    // Marker of each user's load in flight; evicting the user drops it, so that load is returned but not cached
+    private final Map<Long, Object> loading = new HashMap<>();
+
+    @Autowired
+    public CategoryDirectory(CategoryRepository categoryRepository,
+                             @Value("${categories.directory.max-users:10000}") int maxUsers,
+                             @Value("${categories.directory.ttl-ms:60000}") long ttlMillis) {
+        this(categoryRepository, maxUsers, ttlMillis, System::nanoTime);
+    }
+
+    CategoryDirectory(CategoryRepository categoryRepository, int maxUsers, long ttlMillis, LongSupplier clock) {
+        this.categoryRepository = categoryRepository;
+        this.maxUsers = maxUsers;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.clock = clock;
+        this.directories = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserCategories> eldest) {
+                return size() > CategoryDirectory.this.maxUsers;
+            }
+        };
+    }
+
+    public List<Category> all(User user) {
+        return load(user.getId()).entries().stream()
+                .map(entry -> entry.toCategory(user))
+                .collect(Collectors.toList());
+    }
+
+    public List<Category> ofType(CategoryType type, User user) {
+        return load(user.getId()).entries().stream()
+                .filter(entry -> entry.type == type)
+                .map(entry -> entry.toCategory(user))
+                .collect(Collectors.toList());
+    }
+
+    public Optional<Category> byNameAndType(String name, CategoryType type, User user) {
+        UserCategories categories = load(user.getId());
+        return Optional.ofNullable(categories.idsByNameAndType.get(new NameKey(name, type)))
+                .map(id -> categories.byId.get(id).toCategory(user));
+    }
+
+    public boolean isTemplate(Long categoryId, Long userId) {
+        Entry entry = categoryId != null ? load(userId).byId.get(categoryId) : null;
+        return entry != null && entry.template;
+    }
+
+    // Includes the templates the user sees. A miss is checked against the table, since the
+    // category may have been added on another instance after the directory was loaded
+    public Optional<Category> owned(Long categoryId, User user) {
+        if (categoryId == null) {
+            return Optional.empty();
+        }
+        UserCategories categories = load(user.getId());
+        if (categories.owns(categoryId)) {
+            return Optional.of(categories.byId.get(categoryId).toCategory(user));
+        }
+
+        Optional<Category> own = categoryRepository.findByIdAndUserId(categoryId, user.getId())
+                .filter(category -> !category.isHidden())
+                .map(category -> new Category(category.getId(), category.getName(), category.getType(), user));
+        if (own.isPresent()) {
+            evict(user.getId());
+        }
+        return own;
+    }
+
+    // owned() for many ids at once: the ids the directory does not hold are checked with one query
+    public Map<Long, Category> ownedAll(Collection<Long> categoryIds, User user) {
+        Map<Long, Category> owned = new HashMap<>();
+        if (categoryIds.isEmpty()) {
+            return owned;
+        }
+        UserCategories categories = load(user.getId());
+        Set<Long> misses = new HashSet<>();
+        for (Long categoryId : categoryIds) {
+            if (categories.owns(categoryId)) {
+                owned.put(categoryId, categories.byId.get(categoryId).toCategory(user));
+            } else {
+                misses.add(categoryId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return owned;
+        }
+
+        boolean found = false;
+        for (Category category : categoryRepository.findAllByIdInAndUserId(misses, user.getId())) {
+            if (!category.isHidden()) {
+                owned.put(category.getId(), new Category(category.getId(), category.getName(), category.getType(), user));
+                found = true;
+            }
+        }
+        if (found) {
+            evict(user.getId());
+        }
+        return owned;
+    }
+
+    /**
+     * Drops the user's directory now and, inside a transaction, again once it completes,
+     * so a concurrent reader cannot cache the state from before the commit.
+     */
+    public void invalidate(Long userId) {
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    // After templates were added or changed; every directory is rebuilt on next use
+    public void invalidateTemplates() {
+        synchronized (directories) {
+            templateInvalidations.incrementAndGet();
+            templates = null;
+            directories.clear();
+        }
+    }
+
+    int cachedUsers() {
+        synchronized (directories) {
+            return directories.size();
+        }
+    }
+
+    private UserCategories load(Long userId) {
+        Object marker = new Object();
+        long seen;
+        synchronized (directories) {
+            UserCategories cached = directories.get(userId);
+            if (cached != null && !expired(cached.loadedAt)) {
+                return cached;
+            }
+            loading.put(userId, marker);
+            seen = templateInvalidations.get();
+        }
+
+        long loadedAt = clock.getAsLong();
+        UserCategories loaded = null;
+        try {
+            loaded = new UserCategories(templates(), categoryRepository.findAllByUserId(userId), loadedAt);
+            return loaded;
+        } finally {
+            synchronized (directories) {
+                if (loading.remove(userId, marker) && loaded != null && templateInvalidations.get() == seen) {
+                    directories.put(userId, loaded);
+                }
+            }
+        }
+    }
+
+    private List<Entry> templates() {
+        List<Entry> current = templates;
+        if (current == null || expired(templatesLoadedAt)) {
+            long seen = templateInvalidations.get();
+            long loadedAt = clock.getAsLong();
+            current = categoryRepository.findAllByUserIsNullOrderById().stream()
+                    .map(category -> new Entry(category.getId(), category.getName(), category.getType(), true))
+                    .collect(Collectors.toUnmodifiableList());
+            synchronized (directories) {
+                if (templateInvalidations.get() == seen) {
+                    templatesLoadedAt = loadedAt;
+                    templates = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private boolean expired(long loadedAt) {
+        return clock.getAsLong() - loadedAt >= ttlNanos;
+    }
+
+    private void evict(Long userId) {
+        synchronized (directories) {
+            loading.remove(userId);
+            directories.remove(userId);
+        }
+    }
+
+    private static final class UserCategories {
+        private final Map<Long, Entry> byId;
+        private final Map<NameKey, Long> idsByNameAndType;
+        private final long[] ownedIds;
+        private final long loadedAt;
+
+        private UserCategories(List<Entry> templates, List<Category> own, long loadedAt) {
+            Set<Long> replaced = new HashSet<>();
+            Map<NameKey, Entry> visible = new LinkedHashMap<>();
+            for (Category category : own) {
+                if (category.getTemplateId() != null) {
+                    replaced.add(category.getTemplateId());
+                }
+                if (!category.isHidden()) {
+                    visible.put(new NameKey(category.getName(), category.getType()),
+                            new Entry(category.getId(), category.getName(), category.getType(), false));
+                }
+            }
+
+            Map<Long, Entry> entries = new LinkedHashMap<>();
+            Map<NameKey, Long> ids = new HashMap<>();
+            for (Entry template : templates) {
+                NameKey key = new NameKey(template.name, template.type);
+                if (!replaced.contains(template.id) && !visible.containsKey(key) && !ids.containsKey(key)) {
+                    entries.put(template.id, template);
+                    ids.put(key, template.id);
+                }
+            }
+            for (Map.Entry<NameKey, Entry> category : visible.entrySet()) {
+                entries.put(category.getValue().id, category.getValue());
+                ids.put(category.getKey(), category.getValue().id);
+            }
+            this.byId = Collections.unmodifiableMap(entries);
+            this.idsByNameAndType = Collections.unmodifiableMap(ids);
+            this.ownedIds = entries.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            this.loadedAt = loadedAt;
+        }
+
+        private boolean owns(long categoryId) {
+            return Arrays.binarySearch(ownedIds, categoryId) >= 0;
+        }
+
+        private Collection<Entry> entries() {
+            return byId.values();
+        }
+    }
+
+    private static final class Entry {
+        private final Long id;
+        private final String name;
+        private final CategoryType type;
+        private final boolean template;
+
+        private Entry(Long id, String name, CategoryType type, boolean template) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+            this.template = template;
+        }
+
+        private Category toCategory(User user) {
+            return new Category(id, name, type, template ? null : user);
+        }
+    }
+
+    private static final class NameKey {
+        private final String name;
+        private final CategoryType type;
+
+        private NameKey(String name, CategoryType type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof NameKey)) {
+                return false;
+            }
+            NameKey other = (NameKey) o;
+            return Objects.equals(name, other.name) && type == other.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, type);
+        }
+    }
+}
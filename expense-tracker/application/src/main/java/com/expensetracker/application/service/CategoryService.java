@@ -1,55 +1,146 @@
 package com.expensetracker.application.service;
 
+import com.expensetracker.config.exception.ConflictException;
 import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.CategoryType;
-import com.expensetracker.domain.model.Expense;
 import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.BudgetRepository;
 import com.expensetracker.domain.repository.CategoryRepository;
 import com.expensetracker.domain.repository.ExpenseRepository;
+import com.expensetracker.domain.repository.IncomeRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Transactional(readOnly = true)
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryDirectory categoryDirectory;
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final BudgetRepository budgetRepository;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, CategoryDirectory categoryDirectory,
+                           ExpenseRepository expenseRepository, IncomeRepository incomeRepository,
+                           BudgetRepository budgetRepository) {
         this.categoryRepository = categoryRepository;
+        this.categoryDirectory = categoryDirectory;
+        this.expenseRepository = expenseRepository;
+        this.incomeRepository = incomeRepository;
+        this.budgetRepository = budgetRepository;
     }
 
+    // Lookups answered by the directory run without a transaction of their own; a directory
+    // load on a miss is a single query that takes a connection only for its duration
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Optional<Category> findByNameAndTypeAndUser(String name , CategoryType type, User user){
-    	return categoryRepository.findByNameAndTypeAndUser(name, type, user);
+    	return categoryDirectory.byNameAndType(name, type, user);
     }
     // Add a new category for a user
+    @Transactional
     public Category addCategory(Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoryDirectory.invalidate(saved.getUser().getId());
+        return saved;
     }
 
     // List all categories for a user
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<Category> getCategoriesByUser(User user) {
-        return categoryRepository.findByUser(user);
+        return categoryDirectory.all(user);
     }
 
     // Get a specific category by ID
     public Optional<Category> getCategoryById(Long id) {
         return categoryRepository.findById(id);
     }
+
+    // A category the user sees (their own or a template), checked against the directory without a query
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Optional<Category> getOwnedCategory(Long id, User user) {
+        return categoryDirectory.owned(id, user);
+    }
+
+    // Tells a foreign category (403) from a missing one once ownership has failed
+    public boolean categoryExists(Long id) {
+        return id != null && categoryRepository.existsById(id);
+    }
+
+    // Get a specific category, only if it belongs to the user
+    public Optional<Category> getCategoryForUser(Long id, Long userId) {
+        return categoryRepository.findByIdAndUserId(id, userId);
+    }
     
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<Category> getCategoriesByTypeForUser(String typeStr, User user) {
         CategoryType type = CategoryType.valueOf(typeStr.toUpperCase());
-        return categoryRepository.findByTypeAndUser(type, user);
+        return categoryDirectory.ofType(type, user);
     }
 
-    // Update an category
-    public Category updateCategory(Category category) {
-        return categoryRepository.save(category);
+    /**
+     * Renames or retypes a category the user sees. The first change to a template
+     * gives the user their own copy, and their entries and budgets move onto it;
+     * the template itself is never modified. Empty when the user has no such category;
+     * a ConflictException when the user already has another category of that name and type.
+     */
+    @Transactional
+    public Optional<Category> updateCategoryForUser(Long id, User user, String name, CategoryType type) {
+        if (categoryDirectory.isTemplate(id, user.getId())) {
+            checkNameIsFree(id, user, name, type);
+            // Flushed so the bulk updates below can reference the new row
+            Category copy = categoryRepository.saveAndFlush(new Category(null, name, type, user, id, false));
+            expenseRepository.reassignCategory(user.getId(), id, copy);
+            incomeRepository.reassignCategory(user.getId(), id, copy);
+            budgetRepository.reassignCategory(user.getId(), id, copy);
+            categoryDirectory.invalidate(user.getId());
+            return Optional.of(copy);
+        }
+
+        Optional<Category> own = categoryRepository.findByIdAndUserId(id, user.getId()).filter(c -> !c.isHidden());
+        own.ifPresent(category -> {
+            checkNameIsFree(id, user, name, type);
+            category.setName(name);
+            category.setType(type);
+            categoryRepository.save(category);
+            categoryDirectory.invalidate(user.getId());
+        });
+        return own;
     }
 
-    // Delete an category by ID
-    public void deleteCategory(Long id) {
-    	categoryRepository.deleteById(id);
+    // Checked up front so a duplicate is a 409 instead of a unique constraint violation
+    private void checkNameIsFree(Long id, User user, String name, CategoryType type) {
+        if (categoryRepository.existsByNameAndTypeAndUserIdAndIdNot(name, type, user.getId(), id)) {
+            throw new ConflictException("Category '" + name + "' already exists");
+        }
+    }
+
+    /**
+     * Deletes a category of the user; false when there is no such category. Templates
+     * and the user's copies of them are hidden for the user instead of deleted.
+     */
+    @Transactional
+    public boolean deleteCategory(Long id, User user) {
+        categoryDirectory.invalidate(user.getId());
+        if (categoryRepository.deleteByIdAndUserId(id, user.getId()) > 0) {
+            return true;
+        }
+
+        // The name is cleared so it can be reused for a new category of the user
+        Optional<Category> copy = categoryRepository.findByIdAndUserId(id, user.getId()).filter(c -> !c.isHidden());
+        if (copy.isPresent()) {
+            copy.get().setHidden(true);
+            copy.get().setName(null);
+            return true;
+        }
+        if (categoryDirectory.isTemplate(id, user.getId())) {
+            categoryRepository.save(new Category(null, null, null, user, id, true));
+            return true;
+        }
+        return false;
     }
 }
@@ -0,0 +1,88 @@
+package com.expensetracker.application.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.repository.CategoryRepository;
+
+/**
+ * Makes sure the default categories exist as shared templates (rows without a
+ * user). New users see them through the category directory, so signing up
+ * inserts no categories.
+ */
+@Component
+public class CategoryTemplateSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryTemplateSeeder.class);
+
+    static final List<Category> DEFAULTS = List.of(
+            template("Food", CategoryType.EXPENSE),
+            template("Transport", CategoryType.EXPENSE),
+            template("Rent", CategoryType.EXPENSE),
+            template("Utilities", CategoryType.EXPENSE),
+            template("Entertainment", CategoryType.EXPENSE),
+            template("Salary", CategoryType.INCOME),
+            template("Freelancing", CategoryType.INCOME),
+            template("Investments", CategoryType.INCOME),
+            template("Rental Income", CategoryType.INCOME),
+            template("Other", CategoryType.INCOME));
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryDirectory categoryDirectory;
+
+    public CategoryTemplateSeeder(CategoryRepository categoryRepository, CategoryDirectory categoryDirectory) {
+        this.categoryRepository = categoryRepository;
+        this.categoryDirectory = categoryDirectory;
+    }
+
+    /**
+     * Only missing templates are inserted; existing ones are never changed. Each insert
+     * carries the template key, so when another node inserted the same template first the
+     * unique constraint rejects ours and it is skipped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        Set<String> existing = categoryRepository.findAllByUserIsNullOrderById().stream()
+                .map(CategoryTemplateSeeder::key)
+                .collect(Collectors.toSet());
+
+        int added = 0;
+        for (Category template : DEFAULTS) {
+            String key = key(template);
+            if (existing.contains(key)) {
+                continue;
+            }
+            try {
+                categoryRepository.saveAndFlush(
+                        new Category(null, template.getName(), template.getType(), null, null, false, key));
+                added++;
+            } catch (DataIntegrityViolationException e) {
+                logger.info("Template category {} was added by another instance", key);
+            }
+        }
+        if (added == 0) {
+            return;
+        }
+
+        categoryDirectory.invalidateTemplates();
+        logger.info("Added {} template categories", added);
+    }
+
+    private static Category template(String name, CategoryType type) {
+        return new Category(null, name, type, null);
+    }
+
+    private static String key(Category category) {
+        return category.getType() + ":" + category.getName();
+    }
+}
@@ -0,0 +1,289 @@
+package com.expensetracker.application.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.application.batch.BatchItemResult;
+import com.expensetracker.application.batch.EntryOperation;
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.Expense;
+import com.expensetracker.domain.model.Income;
+import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.CategoryRepository;
+import com.expensetracker.domain.repository.ExpenseRepository;
+import com.expensetracker.domain.repository.IncomeRepository;
+
+/**
+ * Applies a batch of create/update/delete operations to a user's expenses or
+ * incomes in one transaction, answering each operation with its own result. An
+ * invalid operation is reported and skipped; the others still apply.
+ *
+ * Categories are checked for the whole batch against the category directory; the
+ * ids it does not hold cost one query for those the user owns and one telling
+ * foreign ids from missing ones, however many there are. The entries to change are
+ * loaded with one query. Creates take pooled sequence ids, so all inserts, updates
+ * and deletes go out as JDBC batches when the transaction flushes.
+ */
+@Service
+public class EntryBatchService {
+
+    static final String CREATE = "create";
+    static final String UPDATE = "update";
+    static final String DELETE = "delete";
+
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryDirectory categoryDirectory;
+
+    public EntryBatchService(ExpenseRepository expenseRepository, IncomeRepository incomeRepository,
+                             CategoryRepository categoryRepository, CategoryDirectory categoryDirectory) {
+        this.expenseRepository = expenseRepository;
+        this.incomeRepository = incomeRepository;
+        this.categoryRepository = categoryRepository;
+        this.categoryDirectory = categoryDirectory;
+    }
+
+    @Transactional
+    public List<BatchItemResult> applyExpenses(User user, List<EntryOperation> operations) {
+        return apply(user, operations, new ExpenseEntries());
+    }
+
+    @Transactional
+    public List<BatchItemResult> applyIncomes(User user, List<EntryOperation> operations) {
+        return apply(user, operations, new IncomeEntries());
+    }
+
+    private <T> List<BatchItemResult> apply(User user, List<EntryOperation> operations, Entries<T> entries) {
+        Categories categories = resolveCategories(user, operations);
+
+        Set<Long> targetIds = new HashSet<>();
+        for (EntryOperation operation : operations) {
+            if (operation != null && operation.id != null && (UPDATE.equals(operation.op) || DELETE.equals(operation.op))) {
+                targetIds.add(operation.id);
+            }
+        }
+        Map<Long, T> existing = new HashMap<>();
+        if (!targetIds.isEmpty()) {
+            for (T entry : entries.findOwned(targetIds, user.getId())) {
+                existing.put(entries.idOf(entry), entry);
+            }
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(operations.size());
+        for (int index = 0; index < operations.size(); index++) {
+            results.add(applyOne(index, operations.get(index), user, categories, existing, entries));
+        }
+        return results;
+    }
+
+    private <T> BatchItemResult applyOne(int index, EntryOperation operation, User user, Categories categories,
+                                         Map<Long, T> existing, Entries<T> entries) {
+        if (operation != null && operation.bindError != null) {
+            return BatchItemResult.failed(index, HttpStatus.BAD_REQUEST.value(), operation.bindError);
+        }
+        if (operation == null || operation.op == null) {
+            return BatchItemResult.failed(index, HttpStatus.BAD_REQUEST.value(), "op is required");
+        }
+        switch (operation.op) {
+            case CREATE: {
+                BatchItemResult invalid = validate(index, operation, categories, entries);
+                if (invalid != null) {
+                    return invalid;
+                }
+                T entry = entries.create(user);
+                entries.copy(operation, categories.owned.get(operation.categoryId), entry);
+                return BatchItemResult.applied(index, HttpStatus.CREATED.value(), entries.idOf(entries.save(entry)));
+            }
+            case UPDATE: {
+                T entry = operation.id != null ? existing.get(operation.id) : null;
+                if (entry == null) {
+                    return BatchItemResult.failed(index, HttpStatus.NOT_FOUND.value(), entries.label() + " not found");
+                }
+                BatchItemResult invalid = validate(index, operation, categories, entries);
+                if (invalid != null) {
+                    return invalid;
+                }
+                // Managed, so the change is written by dirty checking at flush
+                entries.copy(operation, categories.owned.get(operation.categoryId), entry);
+                return BatchItemResult.applied(index, HttpStatus.OK.value(), operation.id);
+            }
+            case DELETE: {
+                T entry = operation.id != null ? existing.remove(operation.id) : null;
+                if (entry == null) {
+                    return BatchItemResult.failed(index, HttpStatus.NOT_FOUND.value(), entries.label() + " not found");
+                }
+                entries.delete(entry);
+                return BatchItemResult.applied(index, HttpStatus.NO_CONTENT.value(), operation.id);
+            }
+            default:
+                return BatchItemResult.failed(index, HttpStatus.BAD_REQUEST.value(), "Unknown op: " + operation.op);
+        }
+    }
+
+    private BatchItemResult validate(int index, EntryOperation operation, Categories categories, Entries<?> entries) {
+        if (operation.amount == null) {
+            return BatchItemResult.failed(index, HttpStatus.BAD_REQUEST.value(), "amount is required");
+        }
+        if (operation.date == null && entries.requiresDate()) {
+            return BatchItemResult.failed(index, HttpStatus.BAD_REQUEST.value(), "date is required");
+        }
+        if (!categories.owned.containsKey(operation.categoryId)) {
+            if (categories.foreign.contains(operation.categoryId)) {
+                return BatchItemResult.failed(index, HttpStatus.FORBIDDEN.value(), "Access denied to category");
+            }
+            return BatchItemResult.failed(index, HttpStatus.NOT_FOUND.value(), "Category not found");
+        }
+        return null;
+    }
+
+    // Ownership for every category in the batch; only ids the user does not see cost a query
+    private Categories resolveCategories(User user, List<EntryOperation> operations) {
+        Set<Long> categoryIds = new HashSet<>();
+        for (EntryOperation operation : operations) {
+            if (operation != null && operation.categoryId != null && !DELETE.equals(operation.op)) {
+                categoryIds.add(operation.categoryId);
+            }
+        }
+
+        Categories categories = new Categories();
+        categories.owned.putAll(categoryDirectory.ownedAll(categoryIds, user));
+        categoryIds.removeAll(categories.owned.keySet());
+        if (!categoryIds.isEmpty()) {
+            categories.foreign.addAll(categoryRepository.findExistingIds(categoryIds));
+        }
+        return categories;
+    }
+
+    private static final class Categories {
+        private final Map<Long, Category> owned = new HashMap<>();
+        private final Set<Long> foreign = new HashSet<>();
+    }
+
+    // What differs between expenses and incomes
+    private interface Entries<T> {
+        String label();
+
+        boolean requiresDate();
+
+        List<T> findOwned(Collection<Long> ids, Long userId);
+
+        Long idOf(T entry);
+
+        T create(User user);
+
+        void copy(EntryOperation operation, Category category, T entry);
+
+        T save(T entry);
+
+        void delete(T entry);
+    }
+
+    private final class ExpenseEntries implements Entries<Expense> {
+
+        @Override
+        public String label() {
+            return "Expense";
+        }
+
+        @Override
+        public boolean requiresDate() {
+            return true;
+        }
+
+        @Override
+        public List<Expense> findOwned(Collection<Long> ids, Long userId) {
+            return expenseRepository.findAllByIdInAndUserId(ids, userId);
+        }
+
+        @Override
+        public Long idOf(Expense expense) {
+            return expense.getId();
+        }
+
+        @Override
+        public Expense create(User user) {
+            Expense expense = new Expense();
+            expense.setUser(user);
+            return expense;
+        }
+
+        @Override
+        public void copy(EntryOperation operation, Category category, Expense expense) {
+            expense.setAmount(operation.amount);
+            expense.setCategory(category);
+            expense.setDate(operation.date);
+            expense.setNotes(operation.notes);
+        }
+
+        @Override
+        public Expense save(Expense expense) {
+            return expenseRepository.save(expense);
+        }
+
+        @Override
+        public void delete(Expense expense) {
+            expenseRepository.delete(expense);
+        }
+    }
+
+    private final class IncomeEntries implements Entries<Income> {
+
+        @Override
+        public String label() {
+            return "Income";
+        }
+
+        // Like the single-income endpoints, a missing date means today
+        @Override
+        public boolean requiresDate() {
+            return false;
+        }
+
+        @Override
+        public List<Income> findOwned(Collection<Long> ids, Long userId) {
+            return incomeRepository.findAllByIdInAndUserId(ids, userId);
+        }
+
+        @Override
+        public Long idOf(Income income) {
+            return income.getId();
+        }
+
+        @Override
+        public Income create(User user) {
+            Income income = new Income();
+            income.setUser(user);
+            return income;
+        }
+
+        @Override
+        public void copy(EntryOperation operation, Category category, Income income) {
+            income.setAmount(operation.amount);
+            income.setSource(operation.source);
+            income.setDate(operation.date != null ? operation.date : LocalDate.now());
+            income.setNotes(operation.notes);
+            income.setCategory(category);
+        }
+
+        @Override
+        public Income save(Income income) {
+            return incomeRepository.save(income);
+        }
+
+        @Override
+        public void delete(Income income) {
+            incomeRepository.delete(income);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.expensetracker.application.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.application.export.EntryWriter;
+import com.expensetracker.application.export.ExportFormat;
+import com.expensetracker.domain.model.Expense;
+import com.expensetracker.domain.model.Income;
+import com.expensetracker.domain.repository.ExpenseRepository;
+import com.expensetracker.domain.repository.IncomeRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes a user's whole expense or income history, oldest first, straight from a
+ * streamed query to the output. Each entry is detached once written, so the
+ * persistence context only ever holds the current row and the categories, and
+ * memory does not grow with the history.
+ */
+@Service
+public class EntryExportService {
+
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final EntityManager entityManager;
+
+    public EntryExportService(ExpenseRepository expenseRepository, IncomeRepository incomeRepository,
+                              EntityManager entityManager) {
+        this.expenseRepository = expenseRepository;
+        this.incomeRepository = incomeRepository;
+        this.entityManager = entityManager;
+    }
+
+    // The stream needs its transaction (and connection) until the last row; out is closed when done
+    @Transactional(readOnly = true)
+    public long exportExpenses(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        long rows = 0;
+        try (Stream<Expense> expenses = expenseRepository.streamByUserId(userId);
+             EntryWriter writer = EntryWriter.open(format, out, false)) {
+            Iterator<Expense> iterator = expenses.iterator();
+            while (iterator.hasNext()) {
+                Expense expense = iterator.next();
+                writer.write(expense.getId(), expense.getDate(), expense.getAmount(), expense.getCategory(),
+                        expense.getNotes(), null);
+                entityManager.detach(expense);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportIncomes(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        long rows = 0;
+        try (Stream<Income> incomes = incomeRepository.streamByUserId(userId);
+             EntryWriter writer = EntryWriter.open(format, out, true)) {
+            Iterator<Income> iterator = incomes.iterator();
+            while (iterator.hasNext()) {
+                Income income = iterator.next();
+                writer.write(income.getId(), income.getDate(), income.getAmount(), income.getCategory(),
+                        income.getNotes(), income.getSource());
+                entityManager.detach(income);
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
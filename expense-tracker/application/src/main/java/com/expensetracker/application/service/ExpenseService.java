@@ -1,14 +1,20 @@
 package com.expensetracker.application.service;
 
+import com.expensetracker.application.paging.CursorPage;
+import com.expensetracker.application.paging.KeysetCursor;
+import com.expensetracker.application.paging.KeysetPager;
 import com.expensetracker.domain.model.Expense;
-import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.EntryFilter;
+import com.expensetracker.domain.repository.EntrySpecifications;
 import com.expensetracker.domain.repository.ExpenseRepository;
+import com.expensetracker.domain.repository.view.ExpenseView;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.Optional;
 
 @Service
+@Transactional(readOnly = true)
 public class ExpenseService {
 
     private final ExpenseRepository expenseRepository;
@@ -18,27 +24,36 @@ public class ExpenseService {
     }
 
     // Add a new expense for a user
+    @Transactional
     public Expense addExpense(Expense expense) {
         return expenseRepository.save(expense);
     }
 
-    // List all expenses for a user
-    public List<Expense> getExpensesByUser(User user) {
-        return expenseRepository.findByUser(user);
+    // List a user's expenses newest first, one page at a time; a null cursor starts at the newest
+    public CursorPage<ExpenseView> getExpensePage(Long userId, EntryFilter filter, String cursor, Integer limit) {
+        return KeysetPager.page(expenseRepository::findViews, EntrySpecifications.matching(userId, filter), cursor, limit,
+                expense -> new KeysetCursor(expense.date(), expense.id()));
     }
 
-    // Get a specific expense by ID
-    public Optional<Expense> getExpenseById(Long id) {
-        return expenseRepository.findById(id);
+    // Get a specific expense for display, only if it belongs to the user
+    public Optional<ExpenseView> getExpenseView(Long id, Long userId) {
+        return expenseRepository.findViewByIdAndUserId(id, userId);
+    }
+
+    // Get a specific expense to change it, only if it belongs to the user
+    public Optional<Expense> getExpenseForUser(Long id, Long userId) {
+        return expenseRepository.findByIdAndUserId(id, userId);
     }
 
     // Update an expense
+    @Transactional
     public Expense updateExpense(Expense expense) {
         return expenseRepository.save(expense);
     }
 
-    // Delete an expense by ID
-    public void deleteExpense(Long id) {
-        expenseRepository.deleteById(id);
+    // Delete an expense of the user; false when there is no such expense
+    @Transactional
+    public boolean deleteExpense(Long id, Long userId) {
+        return expenseRepository.deleteByIdAndUserId(id, userId) > 0;
     }
 }
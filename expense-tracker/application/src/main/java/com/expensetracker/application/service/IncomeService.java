@@ -2,15 +2,21 @@ package com.expensetracker.application.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.expensetracker.application.paging.CursorPage;
+import com.expensetracker.application.paging.KeysetCursor;
+import com.expensetracker.application.paging.KeysetPager;
 import com.expensetracker.domain.model.Income;
-import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.EntryFilter;
+import com.expensetracker.domain.repository.EntrySpecifications;
 import com.expensetracker.domain.repository.IncomeRepository;
+import com.expensetracker.domain.repository.view.IncomeView;
 
-import java.util.List;
 import java.util.Optional;
 
 @Service
+@Transactional(readOnly = true)
 public class IncomeService {
 
 	@Autowired
@@ -20,22 +26,34 @@ public class IncomeService {
         this.incomeRepository = incomeRepository;
     }
 
+    @Transactional
     public Income addIncome(Income income) {
         return incomeRepository.save(income);
     }
 
-    public List<Income> getIncomesByUser(User user) {
-        return incomeRepository.findByUser(user);
+    // Newest first, one page at a time; a null cursor starts at the newest
+    public CursorPage<IncomeView> getIncomePage(Long userId, EntryFilter filter, String cursor, Integer limit) {
+        return KeysetPager.page(incomeRepository::findViews, EntrySpecifications.matching(userId, filter), cursor, limit,
+            income -> new KeysetCursor(income.date(), income.id()));
     }
 
-    public Optional<Income> getIncomeById(Long id) {
-        return incomeRepository.findById(id);
+    // For display; only if it belongs to the user
+    public Optional<IncomeView> getIncomeView(Long id, Long userId) {
+        return incomeRepository.findViewByIdAndUserId(id, userId);
     }
 
-    public void deleteIncome(Long id) {
-        incomeRepository.deleteById(id);
+    // To change it; only if it belongs to the user
+    public Optional<Income> getIncomeForUser(Long id, Long userId) {
+        return incomeRepository.findByIdAndUserId(id, userId);
     }
 
+    // False when the user has no such income
+    @Transactional
+    public boolean deleteIncome(Long id, Long userId) {
+        return incomeRepository.deleteByIdAndUserId(id, userId) > 0;
+    }
+
+    @Transactional
     public Income updateIncome(Income income) {
         return incomeRepository.save(income);
     }
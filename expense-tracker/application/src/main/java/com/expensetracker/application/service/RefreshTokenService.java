@@ -0,0 +1,138 @@
+package com.expensetracker.application.service;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.domain.model.RefreshToken;
+import com.expensetracker.domain.repository.RefreshTokenRepository;
+import com.expensetracker.infrastructure.security.JwtProperties;
+import com.expensetracker.infrastructure.security.TokenDigest;
+import com.expensetracker.infrastructure.security.TokenRevocationService;
+
+/**
+ * Issues and rotates refresh tokens.
+ *
+ * Only a {@link TokenDigest} of each token is stored, so a refresh costs one
+ * indexed lookup instead of a BCrypt verification.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService revocationService;
+    private final long refreshExpirationMillis;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               TokenRevocationService revocationService,
+                               JwtProperties jwtProperties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revocationService = revocationService;
+        this.refreshExpirationMillis = jwtProperties.getRefreshExpiration();
+    }
+
+    /**
+     * Result of a successful rotation: the owner of the token and its replacement.
+     */
+    public static class Rotation {
+        private final Long userId;
+        private final String refreshToken;
+
+        public Rotation(Long userId, String refreshToken) {
+            this.userId = userId;
+            this.refreshToken = refreshToken;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+
+    // Starts a new token family, e.g. on login
+    @Transactional
+    public String issue(Long userId) {
+        return create(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family.
+     * A token that was already used means it was copied, so the family and the
+     * user's outstanding access tokens are revoked.
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return Optional.empty();
+        }
+
+        Optional<RefreshToken> stored = refreshTokenRepository.findByTokenHash(hash(rawToken));
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RefreshToken token = stored.get();
+        Instant now = Instant.now();
+        if (token.isRevoked() || !token.getExpiresAt().isAfter(now)) {
+            return Optional.empty();
+        }
+
+        if (token.getUsedAt() != null || refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            logger.warn("Refresh token reuse detected for user {}, revoking token family", token.getUserId());
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            revocationService.revokeAllForUser(token.getUserId());
+            return Optional.empty();
+        }
+
+        return Optional.of(new Rotation(token.getUserId(), create(token.getUserId(), token.getFamilyId())));
+    }
+
+    // Ends the session the token belongs to, e.g. on logout; tokens of other users are ignored
+    @Transactional
+    public void revoke(String rawToken, Long userId) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+            .filter(token -> token.getUserId().equals(userId))
+            .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Scheduled(fixedDelayString = "${security.refresh-token.prune-interval-ms:3600000}",
+               initialDelayString = "${security.refresh-token.prune-interval-ms:3600000}")
+    public void pruneExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        logger.info("Pruned {} expired refresh token(s)", deleted);
+    }
+
+    static String hash(String rawToken) {
+        return TokenDigest.sha256(rawToken);
+    }
+
+    private String create(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        refreshTokenRepository.save(new RefreshToken(null, hash(rawToken), familyId, userId, now,
+                now.plusMillis(refreshExpirationMillis), null, false));
+        return rawToken;
+    }
+}
@@ -0,0 +1,281 @@
+package com.expensetracker.application.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.expensetracker.application.imports.StatementFormatException;
+import com.expensetracker.application.imports.StatementImporter;
+import com.expensetracker.config.exception.BadRequestException;
+import com.expensetracker.config.exception.ConflictException;
+import com.expensetracker.config.exception.ResourceNotFoundException;
+import com.expensetracker.domain.model.ImportFormat;
+import com.expensetracker.domain.model.ImportJob;
+import com.expensetracker.domain.model.ImportStatus;
+import com.expensetracker.domain.repository.ImportJobRepository;
+import com.expensetracker.infrastructure.persistence.ReplicaRoutingDataSource;
+
+/**
+ * Bank-statement imports: a job is created, the file is uploaded in chunks to
+ * {@code imports.storage-dir} (a chunk must start at the job's bytesReceived, so
+ * a client resumes an interrupted upload by asking for the job and sending the
+ * rest), and on completion the file is imported on a small background pool.
+ *
+ * Uploads are streamed to disk and imports read the file row by row, so neither
+ * holds the file in memory. Each job records the node that created it
+ * ({@code imports.node-id}), whose storage-dir holds the file: chunks and the
+ * completion of a job are only taken by that node and answered with 409 on any
+ * other, jobs that were queued or running when it stopped are picked up again
+ * when it starts, and its uploads that saw no chunk for
+ * {@code imports.abandon-after-ms} are failed and their files deleted.
+ */
+@Service
+public class StatementImportService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementImportService.class);
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_MESSAGE_LENGTH = 500;
+
+    private final ImportJobRepository importJobRepository;
+    private final StatementImporter statementImporter;
+    private final Path storageDir;
+    private final long maxBytes;
+    private final String nodeId;
+    private final long abandonAfterMillis;
+    private final ExecutorService executor;
+
+    public StatementImportService(ImportJobRepository importJobRepository, StatementImporter statementImporter,
+                                  @Value("${imports.storage-dir:${java.io.tmpdir}/expense-tracker-imports}") String storageDir,
+                                  @Value("${imports.max-bytes:1073741824}") long maxBytes,
+                                  @Value("${imports.threads:2}") int threads,
+                                  @Value("${imports.node-id:${HOSTNAME:localhost}}") String nodeId,
+                                  @Value("${imports.abandon-after-ms:86400000}") long abandonAfterMillis) {
+        this.importJobRepository = importJobRepository;
+        this.statementImporter = statementImporter;
+        this.storageDir = Paths.get(storageDir);
+        this.maxBytes = maxBytes;
+        this.nodeId = nodeId;
+        this.abandonAfterMillis = abandonAfterMillis;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "statement-import-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public ImportJob createJob(Long userId, ImportFormat format) {
+        if (format == null) {
+            throw new BadRequestException("format is required (CSV or OFX)");
+        }
+        Instant now = Instant.now();
+        ImportJob job = new ImportJob();
+        job.setUserId(userId);
+        job.setFormat(format);
+        job.setStatus(ImportStatus.RECEIVING);
+        job.setNodeId(nodeId);
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+        return importJobRepository.save(job);
+    }
+
+    public Optional<ImportJob> getJob(Long id, Long userId) {
+        return importJobRepository.findByIdAndUserId(id, userId);
+    }
+
+    /**
+     * Writes the chunk at {@code offset}, which must equal the job's bytesReceived.
+     * A chunk that breaks off mid-way is discarded, so the client can resend it
+     * from the same offset. No transaction is held while the body is read.
+     */
+    public ImportJob appendChunk(Long id, Long userId, long offset, InputStream body) throws IOException {
+        ImportJob job = receivingJob(id, userId);
+        if (offset != job.getBytesReceived()) {
+            throw new ConflictException("Upload is at byte " + job.getBytesReceived());
+        }
+
+        Files.createDirectories(storageDir);
+        long received;
+        try (FileChannel channel = FileChannel.open(file(id), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            try (FileLock lock = lock(channel)) {
+                received = offset + copy(body, channel, offset);
+                channel.truncate(received);
+                channel.force(false);
+            }
+        }
+
+        if (importJobRepository.advanceUpload(id, offset, received, Instant.now()) == 0) {
+            throw new ConflictException("Upload changed while the chunk was written");
+        }
+        job.setBytesReceived(received);
+        return job;
+    }
+
+    // Ends the upload and queues the import
+    public ImportJob complete(Long id, Long userId) {
+        ImportJob job = receivingJob(id, userId);
+        if (job.getBytesReceived() == 0) {
+            throw new BadRequestException("Nothing was uploaded");
+        }
+        if (importJobRepository.transition(id, ImportStatus.RECEIVING, ImportStatus.QUEUED, Instant.now()) == 0) {
+            throw new ConflictException("Import was already completed");
+        }
+        job.setStatus(ImportStatus.QUEUED);
+        queue(id);
+        return job;
+    }
+
+    // Imports of this node interrupted by a shutdown go on after the last committed batch
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        List<ImportJob> interrupted = ReplicaRoutingDataSource.forcePrimary(() -> importJobRepository.findByStatusInAndNodeId(
+                EnumSet.of(ImportStatus.QUEUED, ImportStatus.RUNNING), nodeId));
+        for (ImportJob job : interrupted) {
+            importJobRepository.transition(job.getId(), ImportStatus.RUNNING, ImportStatus.QUEUED, Instant.now());
+            queue(job.getId());
+        }
+        if (!interrupted.isEmpty()) {
+            logger.info("Resuming {} statement import(s)", interrupted.size());
+        }
+    }
+
+    // Uploads the client never completed would otherwise keep their partial file forever
+    @Scheduled(fixedDelayString = "${imports.cleanup-interval-ms:3600000}",
+               initialDelayString = "${imports.cleanup-interval-ms:3600000}")
+    public void abandonStaleUploads() {
+        Instant cutoff = Instant.now().minusMillis(abandonAfterMillis);
+        List<ImportJob> stale = ReplicaRoutingDataSource.forcePrimary(() ->
+                importJobRepository.findByStatusAndNodeIdAndUpdatedAtBefore(ImportStatus.RECEIVING, nodeId, cutoff));
+        int abandoned = 0;
+        for (ImportJob job : stale) {
+            if (importJobRepository.abandonUpload(job.getId(), cutoff, "Upload was not completed", Instant.now()) > 0) {
+                deleteUpload(job.getId());
+                abandoned++;
+            }
+        }
+        if (abandoned > 0) {
+            logger.info("Abandoned {} incomplete statement upload(s)", abandoned);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    void run(Long id) {
+        if (importJobRepository.transition(id, ImportStatus.QUEUED, ImportStatus.RUNNING, Instant.now()) == 0) {
+            return;
+        }
+        ImportJob job = importJobRepository.findById(id).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        ImportStatus outcome = ImportStatus.FAILED;
+        String message = null;
+        try {
+            statementImporter.importFile(job, file(id));
+            outcome = ImportStatus.COMPLETED;
+        } catch (StatementFormatException e) {
+            message = e.getMessage();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Statement import {} failed", id, e);
+            message = "Import failed: " + e.getMessage();
+        }
+
+        importJobRepository.finish(id, outcome, truncate(message), Instant.now());
+        deleteUpload(id);
+        logger.info("Statement import {} {} in {} ms", id, outcome, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // The job row was just written and no user's read-your-writes window covers this thread, so it reads the primary:
+    // a lagging replica could miss the job or hand back an old rowsRead and have rows imported twice
+    private void queue(Long id) {
+        executor.execute(() -> ReplicaRoutingDataSource.forcePrimary(() -> run(id)));
+    }
+
+    private ImportJob receivingJob(Long id, Long userId) {
+        ImportJob job = importJobRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import not found"));
+        if (job.getStatus() != ImportStatus.RECEIVING) {
+            throw new ConflictException("Import is " + job.getStatus());
+        }
+        // The file is in the storage-dir of the node that created the job; writing here would start a second one
+        if (!nodeId.equals(job.getNodeId())) {
+            throw new ConflictException("Import is being uploaded to another node");
+        }
+        return job;
+    }
+
+    private void deleteUpload(Long id) {
+        try {
+            Files.deleteIfExists(file(id));
+        } catch (IOException e) {
+            logger.warn("Could not delete upload of import {}", id, e);
+        }
+    }
+
+    private Path file(Long id) {
+        return storageDir.resolve(id + ".upload");
+    }
+
+    private long copy(InputStream body, FileChannel channel, long offset) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long position = offset;
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            if (position + read > maxBytes) {
+                throw new BadRequestException("Uploads are limited to " + maxBytes + " bytes");
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+            while (bytes.hasRemaining()) {
+                position += channel.write(bytes, position);
+            }
+        }
+        return position - offset;
+    }
+
+    // A second chunk for the same job arriving meanwhile is turned away rather than interleaved
+    private static FileLock lock(FileChannel channel) throws IOException {
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                return lock;
+            }
+        } catch (OverlappingFileLockException e) {
+            // Held by another request thread of this node
+        }
+        throw new ConflictException("Another chunk of this upload is being written");
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+}
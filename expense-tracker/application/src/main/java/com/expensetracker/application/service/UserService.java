@@ -2,21 +2,29 @@ package com.expensetracker.application.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.expensetracker.domain.model.User;
 import com.expensetracker.domain.repository.UserRepository;
+import com.expensetracker.infrastructure.persistence.ReplicaRoutingDataSource;
+import com.expensetracker.infrastructure.security.UserIdCache;
 
 import java.util.Optional;
 
 @Service
+@Transactional(readOnly = true)
 public class UserService {
 	@Autowired
     private final UserRepository userRepository;
+    private final UserIdCache userIdCache;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserIdCache userIdCache) {
         this.userRepository = userRepository;
+        this.userIdCache = userIdCache;
     }
 
+    @Transactional
     public User registerUser(String name, String email, String passwordHash) {
         Optional<User> existingUser = userRepository.findByEmail(email);
         if (existingUser.isPresent()) {
@@ -28,10 +36,31 @@ public class UserService {
         user.setName(name);
         user.setEmail(email);
         user.setPasswordHash(passwordHash);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userIdCache.evict(email);
+        return saved;
     }
-    
+
+    // Authentication lookups read the primary: a user who just signed up (or a refresh right after one)
+    // must not be turned away while the replica catches up
     public Optional<User> findByEmail(String email){
-    	return userRepository.findByEmail(email);
+    	return ReplicaRoutingDataSource.forcePrimary(() -> userRepository.findByEmail(email));
+    }
+
+    public Optional<User> findById(Long id) {
+        return ReplicaRoutingDataSource.forcePrimary(() -> userRepository.findById(id));
+    }
+
+    // Used to upgrade a hash to the current BCrypt strength after a successful login
+    @Transactional
+    public void updatePasswordHash(Long userId, String passwordHash) {
+        userRepository.updatePasswordHash(userId, passwordHash);
+    }
+
+    // Reference to the authenticated user; no select is issued unless a field other than the id is read,
+    // so no transaction (and connection) is started for it
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public User getReference(Long id) {
+        return userRepository.getReferenceById(id);
     }
 }
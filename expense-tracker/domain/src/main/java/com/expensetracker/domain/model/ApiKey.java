@@ -0,0 +1,67 @@
+package com.expensetracker.domain.model;
+
+import java.time.Instant;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An API key for machine clients. Only the SHA-256 digest of the key is stored;
+ * the prefix is kept so users can tell their keys apart.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "api_keys", indexes = {
+		@Index(name = "idx_api_keys_key_hash", columnList = "key_hash", unique = true),
+		@Index(name = "idx_api_keys_user_id", columnList = "user_id") })
+public class ApiKey {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "user_id", nullable = false)
+	@JsonIgnore
+	private User user;
+
+	@Column(nullable = false)
+	private String name;
+
+	@Column(name = "key_prefix", nullable = false, length = 16)
+	private String prefix;
+
+	@Column(name = "key_hash", nullable = false, length = 64)
+	@JsonIgnore
+	private String keyHash;
+
+	@Convert(converter = ApiKeyScopesConverter.class)
+	@Column(nullable = false)
+	private Set<ApiKeyScope> scopes;
+
+	@Column(name = "created_at", nullable = false)
+	private Instant createdAt;
+
+	@Column(name = "last_used_at")
+	private Instant lastUsedAt;
+
+	@Column(nullable = false)
+	private boolean revoked;
+}
@@ -0,0 +1,14 @@
+package com.expensetracker.domain.model;
+
+public enum ApiKeyScope {
+    EXPENSES_READ,
+    EXPENSES_WRITE,
+    INCOMES_READ,
+    INCOMES_WRITE,
+    CATEGORIES_READ,
+    CATEGORIES_WRITE,
+    BUDGETS_READ,
+    BUDGETS_WRITE,
+    // Creating, uploading and polling bank-statement imports
+    IMPORTS
+}
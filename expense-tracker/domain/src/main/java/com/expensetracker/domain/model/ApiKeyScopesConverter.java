@@ -0,0 +1,36 @@
+package com.expensetracker.domain.model;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a key's scopes as a comma-separated column so the key loads in a single row.
+ */
+@Converter
+public class ApiKeyScopesConverter implements AttributeConverter<Set<ApiKeyScope>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Set<ApiKeyScope> scopes) {
+        if (scopes == null || scopes.isEmpty()) {
+            return "";
+        }
+        return scopes.stream().map(Enum::name).sorted().collect(Collectors.joining(","));
+    }
+
+    @Override
+    public Set<ApiKeyScope> convertToEntityAttribute(String column) {
+        Set<ApiKeyScope> scopes = EnumSet.noneOf(ApiKeyScope.class);
+        if (column != null && !column.isBlank()) {
+            Arrays.stream(column.split(","))
+                  .map(String::trim)
+                  .filter(name -> !name.isEmpty())
+                  .forEach(name -> scopes.add(ApiKeyScope.valueOf(name)));
+        }
+        return scopes;
+    }
+}
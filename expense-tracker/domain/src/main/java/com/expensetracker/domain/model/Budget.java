@@ -2,6 +2,8 @@ package com.expensetracker.domain.model;
 
 import jakarta.persistence.*;
 import lombok.Getter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Setter;
 
 import java.math.BigDecimal;
@@ -11,13 +13,16 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 @Entity
 @Getter
 @Setter
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "budgets")
 @Table(name = "category_budgets", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "category_id", "budget_month", "budget_year"})
 })
 public class Budget {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_budgets_seq")
+    @SequenceGenerator(name = "category_budgets_seq", sequenceName = "category_budgets_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "budget_month", nullable = false)
@@ -34,7 +39,7 @@ public class Budget {
 //    @JsonIgnore
     private Category category;
 
-    @ManyToOne()
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonIgnore
     private User user;
@@ -1,7 +1,14 @@
 package com.expensetracker.domain.model;
 
 import org.antlr.v4.runtime.misc.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -9,8 +16,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
@@ -21,10 +30,14 @@ import lombok.NoArgsConstructor;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "categories", uniqueConstraints = { @UniqueConstraint(columnNames = { "name", "type", "user_id" }) })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
+@Table(name = "categories", uniqueConstraints = { @UniqueConstraint(columnNames = { "name", "type", "user_id" }) }, indexes = {
+		@Index(name = "idx_categories_user_id", columnList = "user_id") })
 public class Category {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_seq")
+	@SequenceGenerator(name = "categories_seq", sequenceName = "categories_seq", allocationSize = 50)
 	private Long id;
 
 	@NotNull
@@ -35,5 +48,31 @@ public class Category {
 
 	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id")
+	@JsonIgnore
 	private User user;
+
+	// Set on a user's row that replaces a template category (user_id null) for that user
+	@Column(name = "template_id")
+	@JsonIgnore
+	private Long templateId;
+
+	// A replacement that only hides the template from the user. The default lets
+	// ddl-auto add the column to a table that already has rows
+	@Column(nullable = false)
+	@ColumnDefault("false")
+	@JsonIgnore
+	private boolean hidden;
+
+	// Set only on templates, as type:name; unique, so nodes seeding at the same time cannot insert one twice
+	@Column(name = "template_key", unique = true)
+	@JsonIgnore
+	private String templateKey;
+
+	public Category(Long id, String name, CategoryType type, User user) {
+		this(id, name, type, user, null, false);
+	}
+
+	public Category(Long id, String name, CategoryType type, User user, Long templateId, boolean hidden) {
+		this(id, name, type, user, templateId, hidden, null);
+	}
 }
@@ -16,11 +16,14 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 @Data
 @Builder
 @Entity
-@Table(name = "expenses", uniqueConstraints = { @UniqueConstraint(columnNames = { "category_id", "user_id" }) })
+@Table(name = "expenses", indexes = {
+		@Index(name = "idx_expenses_user_date_id", columnList = "user_id, date, id"),
+		@Index(name = "idx_expenses_user_category_date_id", columnList = "user_id, category_id, date, id") })
 public class Expense {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expenses_seq")
+	@SequenceGenerator(name = "expenses_seq", sequenceName = "expenses_seq", allocationSize = 50)
 	private Long id;
 
 	@Column(nullable = false)
@@ -0,0 +1,6 @@
+package com.expensetracker.domain.model;
+
+public enum ImportFormat {
+    CSV,
+    OFX
+}
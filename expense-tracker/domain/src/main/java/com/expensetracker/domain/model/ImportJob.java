@@ -0,0 +1,79 @@
+package com.expensetracker.domain.model;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A bank-statement import. The file is uploaded in chunks (bytesReceived is the
+ * offset the next chunk must start at) and then imported in batches; the row
+ * counters are committed together with each batch, so an interrupted import
+ * resumes after the last committed row.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "import_jobs", indexes = {
+		@Index(name = "idx_import_jobs_user_id", columnList = "user_id"),
+		@Index(name = "idx_import_jobs_status", columnList = "status") })
+public class ImportJob {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "user_id", nullable = false)
+	@JsonIgnore
+	private Long userId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 8)
+	private ImportFormat format;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 16)
+	private ImportStatus status;
+
+	@Column(name = "bytes_received", nullable = false)
+	private long bytesReceived;
+
+	// Statement rows read so far, including skipped ones
+	@Column(name = "rows_read", nullable = false)
+	private long rowsRead;
+
+	@Column(name = "expenses_imported", nullable = false)
+	private long expensesImported;
+
+	@Column(name = "incomes_imported", nullable = false)
+	private long incomesImported;
+
+	@Column(name = "rows_skipped", nullable = false)
+	private long rowsSkipped;
+
+	// Why the import failed, or the first skipped row
+	@Column(length = 500)
+	private String message;
+
+	// The node whose storage directory holds the upload; only that node resumes the import
+	@Column(name = "node_id", length = 64)
+	@JsonIgnore
+	private String nodeId;
+
+	@Column(name = "created_at", nullable = false)
+	private Instant createdAt;
+
+	@Column(name = "updated_at", nullable = false)
+	private Instant updatedAt;
+}
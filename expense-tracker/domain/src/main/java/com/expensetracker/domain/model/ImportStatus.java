@@ -0,0 +1,11 @@
+package com.expensetracker.domain.model;
+
+public enum ImportStatus {
+    // Accepting chunks of the file
+    RECEIVING,
+    // Upload complete, waiting for an import thread
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
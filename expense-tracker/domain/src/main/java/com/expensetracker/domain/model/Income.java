@@ -5,30 +5,37 @@ import java.time.LocalDate;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
 
 @Entity
 @Data
-@Table(name = "incomes", uniqueConstraints = { @UniqueConstraint(columnNames = { "category_id", "user_id" }) })
+@Table(name = "incomes", indexes = {
+		@Index(name = "idx_incomes_user_date_id", columnList = "user_id, date, id"),
+		@Index(name = "idx_incomes_user_category_date_id", columnList = "user_id, category_id, date, id") })
 public class Income {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "incomes_seq")
+	@SequenceGenerator(name = "incomes_seq", sequenceName = "incomes_seq", allocationSize = 50)
 	private Long id;
 
 	private BigDecimal amount;
 
 	private String source; 
 
+	// Part of the keyset ordering, so it must not be null
+	@Column(nullable = false)
 	private LocalDate date;
 
 	private String notes;
@@ -0,0 +1,55 @@
+package com.expensetracker.domain.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A refresh token, stored as the SHA-256 hash of the value handed to the client.
+ * Every rotation creates a new token in the same family and marks the old one
+ * used; presenting a used token again revokes the whole family.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "refresh_tokens", indexes = {
+		@Index(name = "idx_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+		@Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+		@Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at") })
+public class RefreshToken {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "token_hash", nullable = false, length = 64)
+	private String tokenHash;
+
+	@Column(name = "family_id", nullable = false, length = 36)
+	private String familyId;
+
+	@Column(name = "user_id", nullable = false)
+	private Long userId;
+
+	@Column(name = "created_at", nullable = false)
+	private Instant createdAt;
+
+	@Column(name = "expires_at", nullable = false)
+	private Instant expiresAt;
+
+	@Column(name = "used_at")
+	private Instant usedAt;
+
+	@Column(nullable = false)
+	private boolean revoked;
+}
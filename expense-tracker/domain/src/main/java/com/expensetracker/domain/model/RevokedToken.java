@@ -0,0 +1,49 @@
+package com.expensetracker.domain.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A revoked JWT. With a token id it revokes that single token (the user id is
+ * informational and may be null); without one it revokes every token of the
+ * user issued before {@code revokedAt}. Rows can be deleted once
+ * {@code expiresAt} has passed, since the tokens they cover are rejected as
+ * expired anyway.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "revoked_tokens", indexes = {
+		@Index(name = "idx_revoked_tokens_token_id", columnList = "token_id"),
+		@Index(name = "idx_revoked_tokens_user_id", columnList = "user_id"),
+		@Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"),
+		@Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at") })
+public class RevokedToken {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "token_id", length = 64)
+	private String tokenId;
+
+	@Column(name = "user_id")
+	private Long userId;
+
+	@Column(name = "revoked_at", nullable = false)
+	private Instant revokedAt;
+
+	@Column(name = "expires_at", nullable = false)
+	private Instant expiresAt;
+}
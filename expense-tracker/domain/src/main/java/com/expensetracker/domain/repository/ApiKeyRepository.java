@@ -0,0 +1,33 @@
+package com.expensetracker.domain.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.domain.model.ApiKey;
+
+@Repository
+public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
+
+    // Fetches the owner with the key; the filter needs the email for the principal
+    @Query("select k from ApiKey k join fetch k.user where k.keyHash = :keyHash")
+    Optional<ApiKey> findByKeyHash(@Param("keyHash") String keyHash);
+
+    @Query("select k from ApiKey k where k.user.id = :userId order by k.createdAt desc")
+    List<ApiKey> findByUserId(@Param("userId") Long userId);
+
+    Optional<ApiKey> findByIdAndUserId(Long id, Long userId);
+
+    @Modifying
+    @Transactional
+    @Query("update ApiKey k set k.lastUsedAt = :usedAt where k.id in :ids")
+    int updateLastUsed(@Param("ids") Collection<Long> ids, @Param("usedAt") Instant usedAt);
+}
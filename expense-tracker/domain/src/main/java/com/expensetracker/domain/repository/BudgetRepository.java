@@ -3,13 +3,36 @@ package com.expensetracker.domain.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.Budget;
+import com.expensetracker.domain.repository.view.BudgetView;
 
 public interface BudgetRepository extends JpaRepository<Budget, Long>{
 	Optional<Budget> findByUserIdAndCategoryIdAndMonthAndYear(Long userId, Long categoryId, int month, int year);
-    List<Budget> findAllByUserId(Long userId);
+    // The user's budgets as the API returns them: their columns and the category's, no entities
+    @Query("select new com.expensetracker.domain.repository.view.BudgetView(b.id, b.month, b.year, b.amount,"
+            + " c.id, c.name, c.type) from Budget b join b.category c where b.user.id = :userId order by b.id")
+    List<BudgetView> findViewsByUserId(@Param("userId") Long userId);
+
+    // Scoped to the owner, so someone else's budget is simply not found
+    @EntityGraph(attributePaths = "category")
+    Optional<Budget> findByIdAndUserId(Long id, Long userId);
+
+    // Single statement; the row count tells whether the user owned the budget
+    @Modifying
+    @Query("delete from Budget b where b.id = :id and b.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Moves the user's budgets onto another category, e.g. their own copy of a template
+    @Modifying
+    @Query("update Budget b set b.category = :to where b.user.id = :userId and b.category.id = :fromId")
+    int reassignCategory(@Param("userId") Long userId, @Param("fromId") Long fromId, @Param("to") Category to);
     Optional<Budget> findByUserIdAndCategoryIdAndMonthAndYear(Long userId, Long categoryId, Integer month, Integer year);
 
 }
\ No newline at end of file
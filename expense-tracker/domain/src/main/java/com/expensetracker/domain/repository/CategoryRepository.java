@@ -2,17 +2,53 @@ package com.expensetracker.domain.repository;
 
 import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.CategoryType;
-import com.expensetracker.domain.model.User;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
-    List<Category> findByUser(User user);
-    Optional<Category> findByNameAndTypeAndUser(String name , CategoryType type, User user);
-    List<Category> findByTypeAndUser(CategoryType type, User user);
+    // Everything the user owns, for the in-process category directory. Not query-cached: the directory's
+    // ttl-ms bounds how long a change made on another instance goes unseen, and a cached result would
+    // stretch that to the query cache TTL
+    List<Category> findAllByUserId(Long userId);
+
+    // The shared templates every user sees unless they replaced or hid them. Reloaded every ttl-ms
+    // but only changed when a release seeds new ones, so the query result is cached
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                  @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries") })
+    List<Category> findAllByUserIsNullOrderById();
+
+    // Which of the given ids exist at all, to tell foreign categories from missing ones in one query
+    @Query("select c.id from Category c where c.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Scoped to the owner, so someone else's category is simply not found
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                  @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries") })
+    Optional<Category> findByIdAndUserId(Long id, Long userId);
+
+    // The user's rows among the given ids, to confirm many directory misses in one query
+    List<Category> findAllByIdInAndUserId(Collection<Long> ids, Long userId);
+
+    // Another category of the user with this name and type, e.g. before a rename
+    boolean existsByNameAndTypeAndUserIdAndIdNot(String name, CategoryType type, Long userId, Long id);
+
+    // Single statement; the row count tells whether the user owned the category.
+    // Replacements of templates are kept, so the template stays hidden
+    @Modifying
+    @Query("delete from Category c where c.id = :id and c.user.id = :userId and c.templateId is null")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
  }
@@ -0,0 +1,26 @@
+package com.expensetracker.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.Data;
+
+/**
+ * Optional criteria for listing expenses or incomes; null fields are not applied.
+ * Date and amount bounds are inclusive.
+ */
+@Data
+public class EntryFilter {
+
+	private LocalDate from;
+
+	private LocalDate to;
+
+	private Long categoryId;
+
+	private BigDecimal minAmount;
+
+	private BigDecimal maxAmount;
+
+	private String notesPrefix;
+}
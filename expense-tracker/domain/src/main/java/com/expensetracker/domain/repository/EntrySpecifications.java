@@ -0,0 +1,68 @@
+package com.expensetracker.domain.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Specifications shared by Expense and Income, which use the same attribute names.
+ *
+ * Every query is scoped to one user, so the composite indexes on those tables all
+ * lead with user_id: (user_id, date, id) serves date ranges and the keyset order,
+ * (user_id, category_id, date, id) serves category filters. Amount and notes
+ * conditions are checked on the rows of that index range.
+ */
+public final class EntrySpecifications {
+
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private EntrySpecifications() {
+    }
+
+    public static <T> Specification<T> matching(Long userId, EntryFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("user").get("id"), userId));
+
+            if (filter != null) {
+                if (filter.getCategoryId() != null) {
+                    predicates.add(cb.equal(root.get("category").get("id"), filter.getCategoryId()));
+                }
+                if (filter.getFrom() != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(root.get("date"), filter.getFrom()));
+                }
+                if (filter.getTo() != null) {
+                    predicates.add(cb.lessThanOrEqualTo(root.get("date"), filter.getTo()));
+                }
+                if (filter.getMinAmount() != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(root.get("amount"), filter.getMinAmount()));
+                }
+                if (filter.getMaxAmount() != null) {
+                    predicates.add(cb.lessThanOrEqualTo(root.get("amount"), filter.getMaxAmount()));
+                }
+                if (filter.getNotesPrefix() != null && !filter.getNotesPrefix().isEmpty()) {
+                    predicates.add(cb.like(root.get("notes"), escapeLike(filter.getNotesPrefix()) + "%", LIKE_ESCAPE));
+                }
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Rows strictly after the given position in NEWEST_FIRST order
+    public static <T> Specification<T> after(LocalDate date, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("date"), date),
+                cb.and(cb.equal(root.get("date"), date), cb.lessThan(root.get("id"), id)));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
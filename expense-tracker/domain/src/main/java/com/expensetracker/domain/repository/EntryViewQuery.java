@@ -0,0 +1,48 @@
+package com.expensetracker.domain.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.expensetracker.domain.model.Category;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Runs an EntrySpecifications query for expenses or incomes that selects a view's
+ * columns, with the category inner-joined, instead of entities: no entity, proxy
+ * or snapshot is created for the rows.
+ */
+final class EntryViewQuery {
+
+    interface Columns<T> {
+        Selection<?>[] of(Root<T> entry, Join<T, Category> category);
+    }
+
+    private EntryViewQuery() {
+    }
+
+    static <T, V> List<V> find(EntityManager entityManager, Class<T> entryType, Class<V> viewType,
+                               Specification<T> specification, Sort sort, int limit, Columns<T> columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<V> query = cb.createQuery(viewType);
+        Root<T> entry = query.from(entryType);
+        Join<T, Category> category = entry.join("category");
+        query.select(cb.construct(viewType, columns.of(entry, category)));
+
+        Predicate predicate = specification.toPredicate(entry, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, entry, cb));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -1,14 +1,55 @@
 package com.expensetracker.domain.repository;
 
+import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.Expense;
-import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.view.ExpenseView;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, JpaSpecificationExecutor<Expense>,
+        ExpenseViewRepository {
+
+    // Scoped to the owner, so someone else's expense is simply not found
+    @EntityGraph(attributePaths = "category")
+    Optional<Expense> findByIdAndUserId(Long id, Long userId);
+
+    // Read-only counterpart of findByIdAndUserId: just the response's columns
+    @Query("select new com.expensetracker.domain.repository.view.ExpenseView(e.id, e.amount, e.date, e.notes, c.id, c.name)"
+            + " from Expense e join e.category c where e.id = :id and e.user.id = :userId")
+    Optional<ExpenseView> findViewByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // The user's expenses among the given ids, loaded together for a batch of updates and deletes
+    @EntityGraph(attributePaths = "category")
+    List<Expense> findAllByIdInAndUserId(Collection<Long> ids, Long userId);
+
+    // For exports: rows are fetched from the driver 1000 at a time and loaded read-only; the caller detaches each one
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                  @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("select e from Expense e join fetch e.category where e.user.id = :userId order by e.date, e.id")
+    Stream<Expense> streamByUserId(@Param("userId") Long userId);
+
+    // Single statement; the row count tells whether the user owned the expense
+    @Modifying
+    @Query("delete from Expense e where e.id = :id and e.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 
-    List<Expense> findByUser(User user);
+    // Moves the user's expenses onto another category, e.g. their own copy of a template
+    @Modifying
+    @Query("update Expense e set e.category = :to where e.user.id = :userId and e.category.id = :fromId")
+    int reassignCategory(@Param("userId") Long userId, @Param("fromId") Long fromId, @Param("to") Category to);
 }
@@ -0,0 +1,15 @@
+package com.expensetracker.domain.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.expensetracker.domain.model.Expense;
+import com.expensetracker.domain.repository.view.ExpenseView;
+
+// Listing queries of ExpenseRepository that return views instead of entities
+public interface ExpenseViewRepository {
+
+    List<ExpenseView> findViews(Specification<Expense> specification, Sort sort, int limit);
+}
@@ -0,0 +1,29 @@
+package com.expensetracker.domain.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.expensetracker.domain.model.Expense;
+import com.expensetracker.domain.repository.view.ExpenseView;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Selection;
+
+class ExpenseViewRepositoryImpl implements ExpenseViewRepository {
+
+    private final EntityManager entityManager;
+
+    ExpenseViewRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<ExpenseView> findViews(Specification<Expense> specification, Sort sort, int limit) {
+        return EntryViewQuery.find(entityManager, Expense.class, ExpenseView.class, specification, sort, limit,
+                (expense, category) -> new Selection<?>[] {
+                        expense.get("id"), expense.get("amount"), expense.get("date"), expense.get("notes"),
+                        category.get("id"), category.get("name") });
+    }
+}
@@ -0,0 +1,66 @@
+package com.expensetracker.domain.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.domain.model.ImportJob;
+import com.expensetracker.domain.model.ImportStatus;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    // Scoped to the owner, so someone else's import is simply not found
+    Optional<ImportJob> findByIdAndUserId(Long id, Long userId);
+
+    List<ImportJob> findByStatusInAndNodeId(Collection<ImportStatus> statuses, String nodeId);
+
+    List<ImportJob> findByStatusAndNodeIdAndUpdatedAtBefore(ImportStatus status, String nodeId, Instant cutoff);
+
+    // Accepts a chunk only if it starts where the upload stands, so a retried or racing chunk is never applied twice
+    @Modifying
+    @Transactional
+    @Query("update ImportJob j set j.bytesReceived = :bytesReceived, j.updatedAt = :now "
+            + "where j.id = :id and j.bytesReceived = :offset and j.status = com.expensetracker.domain.model.ImportStatus.RECEIVING")
+    int advanceUpload(@Param("id") Long id, @Param("offset") long offset, @Param("bytesReceived") long bytesReceived,
+                      @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("update ImportJob j set j.status = :to, j.updatedAt = :now where j.id = :id and j.status = :from")
+    int transition(@Param("id") Long id, @Param("from") ImportStatus from, @Param("to") ImportStatus to,
+                   @Param("now") Instant now);
+
+    // Fails an upload that saw no chunk since the cutoff; a chunk arriving meanwhile keeps it alive
+    @Modifying
+    @Transactional
+    @Query("update ImportJob j set j.status = com.expensetracker.domain.model.ImportStatus.FAILED, j.message = :message, "
+            + "j.updatedAt = :now where j.id = :id and j.updatedAt < :cutoff "
+            + "and j.status = com.expensetracker.domain.model.ImportStatus.RECEIVING")
+    int abandonUpload(@Param("id") Long id, @Param("cutoff") Instant cutoff, @Param("message") String message,
+                      @Param("now") Instant now);
+
+    // Runs in the transaction that wrote the batch, so the counters never run ahead of the rows
+    @Modifying
+    @Transactional
+    @Query("update ImportJob j set j.rowsRead = j.rowsRead + :rows, j.expensesImported = j.expensesImported + :expenses, "
+            + "j.incomesImported = j.incomesImported + :incomes, j.rowsSkipped = j.rowsSkipped + :skipped, "
+            + "j.message = coalesce(j.message, :message), j.updatedAt = :now where j.id = :id")
+    int recordProgress(@Param("id") Long id, @Param("rows") long rows, @Param("expenses") long expenses,
+                       @Param("incomes") long incomes, @Param("skipped") long skipped,
+                       @Param("message") String message, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("update ImportJob j set j.status = :status, j.message = coalesce(:message, j.message), j.updatedAt = :now where j.id = :id")
+    int finish(@Param("id") Long id, @Param("status") ImportStatus status, @Param("message") String message,
+               @Param("now") Instant now);
+}
@@ -1,13 +1,54 @@
 package com.expensetracker.domain.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.expensetracker.domain.model.Category;
 import com.expensetracker.domain.model.Income;
-import com.expensetracker.domain.model.User;
+import com.expensetracker.domain.repository.view.IncomeView;
+
+public interface IncomeRepository extends JpaRepository<Income, Long>, JpaSpecificationExecutor<Income>,
+        IncomeViewRepository {
+
+    // Scoped to the owner, so someone else's income is simply not found
+    @EntityGraph(attributePaths = "category")
+    Optional<Income> findByIdAndUserId(Long id, Long userId);
+
+    // Read-only counterpart of findByIdAndUserId: just the response's columns
+    @Query("select new com.expensetracker.domain.repository.view.IncomeView(i.id, i.amount, i.source, i.date, i.notes,"
+            + " c.id, c.name, c.type) from Income i join i.category c where i.id = :id and i.user.id = :userId")
+    Optional<IncomeView> findViewByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // The user's incomes among the given ids, loaded together for a batch of updates and deletes
+    @EntityGraph(attributePaths = "category")
+    List<Income> findAllByIdInAndUserId(Collection<Long> ids, Long userId);
+
+    // For exports: rows are fetched from the driver 1000 at a time and loaded read-only; the caller detaches each one
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                  @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("select i from Income i join fetch i.category where i.user.id = :userId order by i.date, i.id")
+    Stream<Income> streamByUserId(@Param("userId") Long userId);
 
-public interface IncomeRepository extends JpaRepository<Income, Long> {
+    // Single statement; the row count tells whether the user owned the income
+    @Modifying
+    @Query("delete from Income i where i.id = :id and i.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 
-    List<Income> findByUser(User user);
+    // Moves the user's incomes onto another category, e.g. their own copy of a template
+    @Modifying
+    @Query("update Income i set i.category = :to where i.user.id = :userId and i.category.id = :fromId")
+    int reassignCategory(@Param("userId") Long userId, @Param("fromId") Long fromId, @Param("to") Category to);
 }
@@ -0,0 +1,15 @@
+package com.expensetracker.domain.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.expensetracker.domain.model.Income;
+import com.expensetracker.domain.repository.view.IncomeView;
+
+// Listing queries of IncomeRepository that return views instead of entities
+public interface IncomeViewRepository {
+
+    List<IncomeView> findViews(Specification<Income> specification, Sort sort, int limit);
+}
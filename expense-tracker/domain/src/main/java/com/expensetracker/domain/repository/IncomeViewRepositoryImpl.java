@@ -0,0 +1,29 @@
+package com.expensetracker.domain.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.expensetracker.domain.model.Income;
+import com.expensetracker.domain.repository.view.IncomeView;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Selection;
+
+class IncomeViewRepositoryImpl implements IncomeViewRepository {
+
+    private final EntityManager entityManager;
+
+    IncomeViewRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<IncomeView> findViews(Specification<Income> specification, Sort sort, int limit) {
+        return EntryViewQuery.find(entityManager, Income.class, IncomeView.class, specification, sort, limit,
+                (income, category) -> new Selection<?>[] {
+                        income.get("id"), income.get("amount"), income.get("source"), income.get("date"),
+                        income.get("notes"), category.get("id"), category.get("name"), category.get("type") });
+    }
+}
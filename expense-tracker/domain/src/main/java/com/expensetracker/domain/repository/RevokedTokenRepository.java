@@ -0,0 +1,33 @@
+package com.expensetracker.domain.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.domain.model.RevokedToken;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    boolean existsByTokenId(String tokenId);
+
+    @Query("select max(r.revokedAt) from RevokedToken r where r.userId = :userId and r.tokenId is null")
+    Optional<Instant> findLatestUserRevocation(@Param("userId") Long userId);
+
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    // Revocations written since the given time, by any instance
+    List<RevokedToken> findByRevokedAtAfter(Instant since);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,22 @@
+package com.expensetracker.domain.repository.view;
+
+import java.math.BigDecimal;
+
+import com.expensetracker.domain.model.Budget;
+import com.expensetracker.domain.model.CategoryType;
+
+// A budget as the API returns it, with its category nested
+public record BudgetView(Long id, Integer month, Integer year, BigDecimal amount, CategoryView category) {
+
+    // Flat form for query constructor expressions, which cannot nest
+    public BudgetView(Long id, Integer month, Integer year, BigDecimal amount,
+                      Long categoryId, String categoryName, CategoryType categoryType) {
+        this(id, month, year, amount, new CategoryView(categoryId, categoryName, categoryType));
+    }
+
+    // For a budget just saved, whose category is already loaded
+    public static BudgetView of(Budget budget) {
+        return new BudgetView(budget.getId(), budget.getMonth(), budget.getYear(), budget.getAmount(),
+                CategoryView.of(budget.getCategory()));
+    }
+}
@@ -0,0 +1,12 @@
+package com.expensetracker.domain.repository.view;
+
+import com.expensetracker.domain.model.Category;
+import com.expensetracker.domain.model.CategoryType;
+
+// A category as the API returns it, on its own or inside an income or budget
+public record CategoryView(Long id, String name, CategoryType type) {
+
+    public static CategoryView of(Category category) {
+        return new CategoryView(category.getId(), category.getName(), category.getType());
+    }
+}
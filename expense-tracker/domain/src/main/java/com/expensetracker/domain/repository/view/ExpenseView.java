@@ -0,0 +1,17 @@
+package com.expensetracker.domain.repository.view;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.expensetracker.domain.model.Expense;
+
+// An expense as the API returns it; queries select these columns with the category joined in
+public record ExpenseView(Long id, BigDecimal amount, LocalDate date, String notes, Long categoryId,
+                          String categoryName) {
+
+    // For an expense just saved, whose category is already loaded
+    public static ExpenseView of(Expense expense) {
+        return new ExpenseView(expense.getId(), expense.getAmount(), expense.getDate(), expense.getNotes(),
+                expense.getCategory().getId(), expense.getCategory().getName());
+    }
+}
@@ -0,0 +1,19 @@
+package com.expensetracker.domain.repository.view;
+
+import java.time.Instant;
+
+import com.expensetracker.domain.model.ImportFormat;
+import com.expensetracker.domain.model.ImportJob;
+import com.expensetracker.domain.model.ImportStatus;
+
+// A statement import as the API returns it: status, upload offset and row counters
+public record ImportJobView(Long id, ImportFormat format, ImportStatus status, long bytesReceived, long rowsRead,
+                            long expensesImported, long incomesImported, long rowsSkipped, String message,
+                            Instant createdAt, Instant updatedAt) {
+
+    public static ImportJobView of(ImportJob job) {
+        return new ImportJobView(job.getId(), job.getFormat(), job.getStatus(), job.getBytesReceived(),
+                job.getRowsRead(), job.getExpensesImported(), job.getIncomesImported(), job.getRowsSkipped(),
+                job.getMessage(), job.getCreatedAt(), job.getUpdatedAt());
+    }
+}
@@ -0,0 +1,24 @@
+package com.expensetracker.domain.repository.view;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.expensetracker.domain.model.CategoryType;
+import com.expensetracker.domain.model.Income;
+
+// An income as the API returns it, with its category nested
+public record IncomeView(Long id, BigDecimal amount, String source, LocalDate date, String notes,
+                         CategoryView category) {
+
+    // Flat form for query constructor expressions, which cannot nest
+    public IncomeView(Long id, BigDecimal amount, String source, LocalDate date, String notes,
+                      Long categoryId, String categoryName, CategoryType categoryType) {
+        this(id, amount, source, date, notes, new CategoryView(categoryId, categoryName, categoryType));
+    }
+
+    // For an income just saved, whose category is already loaded
+    public static IncomeView of(Income income) {
+        return new IncomeView(income.getId(), income.getAmount(), income.getSource(), income.getDate(),
+                income.getNotes(), CategoryView.of(income.getCategory()));
+    }
+}
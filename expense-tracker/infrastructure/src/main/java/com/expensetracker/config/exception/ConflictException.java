@@ -0,0 +1,11 @@
+package com.expensetracker.config.exception;
+
+/**
+ * The request does not fit the current state of the resource, e.g. an upload chunk
+ * that does not start where the upload stands. Mapped to 409 by GlobalExceptionHandler.
+ */
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,152 @@
+package com.expensetracker.infrastructure.logging;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+/**
+ * Hands events to a background thread through a bounded queue and never blocks
+ * the caller: when the queue is full the event is dropped and counted. Drop
+ * counts and queue depth are exported by LoggingMetrics.
+ *
+ * Unlike logback's AsyncAppender, WARN and ERROR are not kept preferentially;
+ * under sustained overload request threads must not stall on log I/O.
+ */
+public class DroppingAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    // Appenders are created by logback before the Spring context exists, so metrics read these statics
+    private static final LongAdder DROPPED = new LongAdder();
+    private static final Map<String, DroppingAsyncAppender> RUNNING = new ConcurrentHashMap<>();
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private int queueSize = 8192;
+    private int maxFlushTimeMillis = 1000;
+
+    private BlockingQueue<ILoggingEvent> queue;
+    private Thread worker;
+
+    public static long droppedCount() {
+        return DROPPED.sum();
+    }
+
+    public static int queuedCount() {
+        int queued = 0;
+        for (DroppingAsyncAppender appender : RUNNING.values()) {
+            queued += appender.queue.size();
+        }
+        return queued;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public void setMaxFlushTimeMillis(int maxFlushTimeMillis) {
+        this.maxFlushTimeMillis = maxFlushTimeMillis;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (queueSize < 1) {
+            addError("Invalid queue size " + queueSize);
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueSize);
+        worker = new Thread(this::drain, "async-log-" + getName());
+        worker.setDaemon(true);
+        super.start();
+        worker.start();
+        RUNNING.put(getName(), this);
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        RUNNING.remove(getName(), this);
+        try {
+            worker.join(maxFlushTimeMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            addWarn("Gave up flushing " + queue.size() + " queued event(s) after " + maxFlushTimeMillis + " ms");
+            worker.interrupt();
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Capture MDC, thread name and the formatted message while still on the caller's thread
+        event.prepareForDeferredProcessing();
+        if (!queue.offer(event)) {
+            DROPPED.increment();
+        }
+    }
+
+    private void drain() {
+        while (isStarted() || !queue.isEmpty()) {
+            try {
+                ILoggingEvent event = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    appenders.appendLoopOnAppenders(event);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,22 @@
+package com.expensetracker.infrastructure.logging;
+
+import com.expensetracker.infrastructure.security.TokenDigest;
+
+/**
+ * Values that are safe to log in place of secrets.
+ */
+public final class LogRedaction {
+
+    private LogRedaction() {
+    }
+
+    /**
+     * A short fingerprint of a token: enough to correlate log lines, useless to replay.
+     */
+    public static String token(String token) {
+        if (token == null || token.isEmpty()) {
+            return "<none>";
+        }
+        return "sha256:" + TokenDigest.sha256(token).substring(0, 12);
+    }
+}
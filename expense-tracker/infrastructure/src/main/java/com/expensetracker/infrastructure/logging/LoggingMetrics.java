@@ -0,0 +1,22 @@
+package com.expensetracker.infrastructure.logging;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logging.async.dropped", this, m -> DroppingAsyncAppender.droppedCount())
+                .description("Log events dropped because the async queue was full")
+                .register(registry);
+        Gauge.builder("logging.async.queued", this, m -> DroppingAsyncAppender.queuedCount())
+                .description("Log events waiting to be written")
+                .register(registry);
+    }
+}
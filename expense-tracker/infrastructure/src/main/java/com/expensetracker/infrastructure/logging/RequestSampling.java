@@ -0,0 +1,29 @@
+package com.expensetracker.infrastructure.logging;
+
+/**
+ * Per-request logging sample decision, set by RequestSamplingFilter for the
+ * duration of a request and read by SampledRequestTurboFilter.
+ */
+public final class RequestSampling {
+
+    private static final ThreadLocal<Boolean> SAMPLED = new ThreadLocal<>();
+
+    private RequestSampling() {
+    }
+
+    static void begin(boolean sampled) {
+        SAMPLED.set(sampled);
+    }
+
+    static void end() {
+        SAMPLED.remove();
+    }
+
+    /**
+     * True when the current thread is serving a request that was not sampled.
+     * Threads outside a request (startup, schedulers) are never suppressed.
+     */
+    public static boolean isSuppressed() {
+        return Boolean.FALSE.equals(SAMPLED.get());
+    }
+}
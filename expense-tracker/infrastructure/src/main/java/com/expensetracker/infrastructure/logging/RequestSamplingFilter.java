@@ -0,0 +1,42 @@
+package com.expensetracker.infrastructure.logging;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Decides once per request whether its hot-path DEBUG/INFO logging is kept.
+ * Runs ahead of the security filters so their logging is covered.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestSamplingFilter extends OncePerRequestFilter {
+
+    private final double sampleRate;
+
+    public RequestSamplingFilter(@Value("${logging.sampling.rate:0.01}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestSampling.begin(sampleRate >= 1.0d || ThreadLocalRandom.current().nextDouble() < sampleRate);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestSampling.end();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.expensetracker.infrastructure.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Denies events below WARN from the configured hot-path loggers on requests
+ * that were not sampled. Turbo filters run before the logging event exists, and
+ * isDebugEnabled()/atDebug() consult them too, so a suppressed statement costs
+ * a prefix check and no message formatting.
+ *
+ * Configured in logback-spring.xml, e.g.
+ * {@code <loggerPrefix>com.expensetracker.infrastructure.security.filters</loggerPrefix>}.
+ */
+public class SampledRequestTurboFilter extends TurboFilter {
+
+    private final List<String> loggerPrefixes = new ArrayList<>();
+
+    public void addLoggerPrefix(String prefix) {
+        loggerPrefixes.add(prefix.trim());
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || level.isGreaterOrEqual(Level.WARN) || !RequestSampling.isSuppressed()) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        for (String prefix : loggerPrefixes) {
+            if (name.startsWith(prefix)) {
+                return FilterReply.DENY;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
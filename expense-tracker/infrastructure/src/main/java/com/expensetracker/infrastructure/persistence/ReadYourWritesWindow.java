@@ -0,0 +1,55 @@
+package com.expensetracker.infrastructure.persistence;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Users who committed a write in the last {@code windowMillis}. Their reads stay on
+ * the primary until then, so they see their own changes whatever the replica lag.
+ * Entries expire on their own; once more than {@code pruneAbove} users are
+ * tracked, the expired ones are dropped on the next write.
+ *
+ * The window lives in this JVM only. With several instances it holds only when
+ * the user's next request reaches the instance that took the write (e.g. sticky
+ * sessions); on any other instance their reads go to the replica straight away.
+ */
+final class ReadYourWritesWindow {
+
+    private final long windowNanos;
+    private final int pruneAbove;
+    private final LongSupplier clock;
+    // User id -> clock value at which their window closes
+    private final Map<Long, Long> deadlines = new ConcurrentHashMap<>();
+
+    ReadYourWritesWindow(long windowMillis, int pruneAbove, LongSupplier clock) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.pruneAbove = pruneAbove;
+        this.clock = clock;
+    }
+
+    void recordWrite(Long userId) {
+        long now = clock.getAsLong();
+        deadlines.put(userId, now + windowNanos);
+        if (deadlines.size() > pruneAbove) {
+            deadlines.values().removeIf(deadline -> deadline - now <= 0);
+        }
+    }
+
+    boolean recentlyWrote(Long userId) {
+        Long deadline = deadlines.get(userId);
+        if (deadline == null) {
+            return false;
+        }
+        if (deadline - clock.getAsLong() > 0) {
+            return true;
+        }
+        deadlines.remove(userId, deadline);
+        return false;
+    }
+
+    int trackedUsers() {
+        return deadlines.size();
+    }
+}
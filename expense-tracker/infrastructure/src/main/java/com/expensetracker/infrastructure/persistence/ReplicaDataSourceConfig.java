@@ -0,0 +1,70 @@
+package com.expensetracker.infrastructure.persistence;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Primary and replica connection pools behind one routing DataSource (see
+ * ReplicaRoutingDataSource). Only set up when persistence.replica.url is set;
+ * otherwise Boot's single datasource is used unchanged.
+ *
+ * The primary pool is configured from spring.datasource.* as before. The replica
+ * pool takes its url from persistence.replica.url, its credentials from
+ * persistence.replica.username/password (defaulting to the primary's) and pool
+ * settings from persistence.replica.hikari.*. Both pools publish their own
+ * hikaricp.* metrics, tagged pool=primary and pool=replica.
+ */
+@Configuration
+@ConditionalOnProperty("persistence.replica.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // Connections are read-only, so a statement routed here by mistake fails instead of diverging from the primary
+    @Bean
+    @ConfigurationProperties("persistence.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${persistence.replica.url}") String url,
+            @Value("${persistence.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${persistence.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(DatabaseDriver.fromJdbcUrl(url).getDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 @Value("${persistence.replica.read-your-writes-ms:5000}") long readYourWritesMillis,
+                                 @Value("${persistence.replica.max-tracked-users:100000}") int maxTrackedUsers) {
+        ReadYourWritesWindow window = new ReadYourWritesWindow(readYourWritesMillis, maxTrackedUsers, System::nanoTime);
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, window));
+    }
+}
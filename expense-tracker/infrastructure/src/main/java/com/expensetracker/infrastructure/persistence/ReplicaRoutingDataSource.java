@@ -0,0 +1,104 @@
+package com.expensetracker.infrastructure.persistence;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections
+ * to everything else, including work outside a transaction. After a read-write
+ * transaction of an authenticated user commits, that user's read-only
+ * transactions stay on the primary for the read-your-writes window. Work run
+ * through {@link #forcePrimary} always uses the primary.
+ *
+ * The route is taken from the transaction's read-only flag, which the transaction
+ * manager publishes only after it has asked for a connection; this data source
+ * must therefore sit behind a LazyConnectionDataSourceProxy, which fetches the
+ * real connection at the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> primaryForced = new ThreadLocal<>();
+
+    private final ReadYourWritesWindow window;
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesWindow window) {
+        this.window = window;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs {@code work} with its read-only transactions on the primary too. For reads
+     * that must see the latest commit but have no user whose read-your-writes window
+     * would cover them, such as background jobs and scheduled tasks, and for lookups
+     * that must not miss a row that was just written, such as authentication.
+     *
+     * A connection is routed once, at its transaction's first statement; a
+     * transaction that already read from the replica before {@code work} started
+     * keeps its replica connection. Without a replica this changes nothing.
+     */
+    public static <T> T forcePrimary(Supplier<T> work) {
+        Boolean outer = primaryForced.get();
+        primaryForced.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (outer == null) {
+                primaryForced.remove();
+            }
+        }
+    }
+
+    public static void forcePrimary(Runnable work) {
+        forcePrimary(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (primaryForced.get() != null) {
+            return Route.PRIMARY;
+        }
+        Long userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                recordWriteOnCommit(userId);
+            }
+            return Route.PRIMARY;
+        }
+        return userId != null && window.recentlyWrote(userId) ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    // The window starts at commit: until then the user's reads cannot see the write on any node
+    private void recordWriteOnCommit(Long userId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                window.recordWrite(userId);
+            }
+        });
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                ? user.getId()
+                : null;
+    }
+}
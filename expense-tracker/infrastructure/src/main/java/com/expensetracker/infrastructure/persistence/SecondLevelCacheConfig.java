@@ -0,0 +1,101 @@
+package com.expensetracker.infrastructure.persistence;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Caffeine-backed JCache regions for the Hibernate second-level cache.
+ *
+ * Every region is created here with an explicit bound, so Hibernate never falls
+ * back to an unbounded cache it created itself. Entries are invalidated by
+ * Hibernate on every write that goes through the persistence context, including
+ * the JPQL bulk deletes in the repositories, so no service evicts by hand.
+ * Writes made by another instance are only seen once an entry expires.
+ *
+ * The category-queries region holds the results of CategoryRepository's
+ * single-category lookup and of the template list. Each user's category list is
+ * kept by CategoryDirectory rather than the query cache.
+ * Hit, miss and put counts per region are published by the Hibernate statistics
+ * metrics (hibernate.second.level.cache.*, hibernate.cache.query.*).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheConfig.class);
+
+    public static final String CATEGORY_REGION = "categories";
+    public static final String BUDGET_REGION = "budgets";
+    public static final String CATEGORY_QUERY_REGION = "category-queries";
+
+    // Hibernate's names for the regions behind queries without an explicit region
+    static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+    static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private static final URI CACHE_MANAGER_URI = URI.create("expense-tracker:hibernate");
+
+    private final long entityMaxSize;
+    private final long entityTtlSeconds;
+    private final long queryMaxSize;
+    private final long queryTtlSeconds;
+
+    public SecondLevelCacheConfig(@Value("${persistence.cache.entity.max-size:10000}") long entityMaxSize,
+                                  @Value("${persistence.cache.entity.ttl-seconds:3600}") long entityTtlSeconds,
+                                  @Value("${persistence.cache.query.max-size:10000}") long queryMaxSize,
+                                  @Value("${persistence.cache.query.ttl-seconds:600}") long queryTtlSeconds) {
+        this.entityMaxSize = entityMaxSize;
+        this.entityTtlSeconds = entityTtlSeconds;
+        this.queryMaxSize = queryMaxSize;
+        this.queryTtlSeconds = queryTtlSeconds;
+    }
+
+    @Bean
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(CACHE_MANAGER_URI, getClass().getClassLoader());
+
+        createRegion(cacheManager, CATEGORY_REGION, entityMaxSize, entityTtlSeconds);
+        createRegion(cacheManager, BUDGET_REGION, entityMaxSize, entityTtlSeconds);
+        createRegion(cacheManager, CATEGORY_QUERY_REGION, queryMaxSize, queryTtlSeconds);
+        createRegion(cacheManager, DEFAULT_QUERY_REGION, queryMaxSize, queryTtlSeconds);
+        // One entry per table; evicting or expiring one would let stale query results through
+        createRegion(cacheManager, TIMESTAMPS_REGION, 0, 0);
+
+        logger.info("Second-level cache regions ready (entities: {} entries / {}s, queries: {} entries / {}s)",
+                entityMaxSize, entityTtlSeconds, queryMaxSize, queryTtlSeconds);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    // A size or TTL of 0 leaves that bound off; an existing region (e.g. a context restart) is reused as is
+    private static void createRegion(CacheManager cacheManager, String name, long maxSize, long ttlSeconds) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maxSize > 0 ? OptionalLong.of(maxSize) : OptionalLong.empty());
+        configuration.setExpireAfterWrite(ttlSeconds > 0
+                ? OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds))
+                : OptionalLong.empty());
+        cacheManager.createCache(name, configuration);
+    }
+}
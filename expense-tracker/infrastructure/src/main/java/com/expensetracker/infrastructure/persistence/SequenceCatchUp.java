@@ -0,0 +1,88 @@
+package com.expensetracker.infrastructure.persistence;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Moves every entity's id sequence past the ids already in its table.
+ *
+ * Expenses, incomes, categories and budgets used to take IDENTITY ids. Their
+ * sequences are created by ddl-auto=update starting at 1, so on a database that
+ * already holds rows the first inserts would reuse existing primary keys. This runs
+ * once all beans are created, before the web server, the scheduled jobs and the
+ * startup listeners can insert anything, and only ever raises a sequence.
+ *
+ * Where the dialect has real sequences (H2, PostgreSQL) one value is drawn to see
+ * where the sequence stands, which skips one allocation block per startup; an empty
+ * table is left alone. Where Hibernate keeps the sequence in a one-row table (MySQL)
+ * the row is raised with a single conditional update. Two instances upgrading the
+ * same database at the same moment raise it to the same value.
+ */
+@Component
+public class SequenceCatchUp implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequenceCatchUp.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceCatchUp(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        catchUp();
+    }
+
+    public void catchUp() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> catchUp(sessionFactory, persister));
+    }
+
+    private void catchUp(SessionFactoryImplementor sessionFactory, EntityPersister persister) {
+        if (!(persister.getGenerator() instanceof SequenceStyleGenerator generator)
+                || !(persister instanceof AbstractEntityPersister entity)) {
+            return;
+        }
+        DatabaseStructure structure = generator.getDatabaseStructure();
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        String sequence = sessionFactory.getJdbcServices().getJdbcEnvironment().getQualifiedObjectNameFormatter()
+                .format(structure.getPhysicalName(), dialect);
+
+        Long maxId = jdbcTemplate.queryForObject("select max(" + entity.getIdentifierColumnNames()[0] + ") from "
+                + entity.getIdentifierTableName(), Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // The pooled optimizer takes a value as the top of its block, so the first block then starts above maxId
+        long target = maxId + structure.getIncrementSize();
+
+        if (structure.isPhysicalSequence()) {
+            Long next = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+            if (next != null && next >= maxId) {
+                return;
+            }
+            jdbcTemplate.execute("alter sequence " + sequence + " restart with " + target);
+        } else {
+            int raised = jdbcTemplate.update("update " + sequence + " set " + SequenceStyleGenerator.DEF_VALUE_COLUMN
+                    + " = ? where " + SequenceStyleGenerator.DEF_VALUE_COLUMN + " < ?", target, target);
+            if (raised == 0) {
+                return;
+            }
+        }
+        logger.info("Raised sequence {} to {}, past the ids already in {}", sequence, target, entity.getIdentifierTableName());
+    }
+}
@@ -0,0 +1,148 @@
+package com.expensetracker.infrastructure.security;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.expensetracker.domain.model.ApiKey;
+import com.expensetracker.domain.model.ApiKeyScope;
+import com.expensetracker.domain.repository.ApiKeyRepository;
+
+/**
+ * Resolves API keys presented by machine clients.
+ *
+ * Lookups go by the SHA-256 digest of the key and are cached for a short time,
+ * so revocation takes effect within the cache TTL on other instances (immediately
+ * on the instance that revoked it). Last-used timestamps are collected in memory
+ * and written in one statement per flush instead of once per request.
+ */
+@Component
+public class ApiKeyAuthenticator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiKeyAuthenticator.class);
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final Map<String, CachedKey> cache = new ConcurrentHashMap<>();
+    private final Set<Long> usedSinceFlush = ConcurrentHashMap.newKeySet();
+
+    public ApiKeyAuthenticator(ApiKeyRepository apiKeyRepository,
+                               @Value("${security.api-key.cache.max-size:10000}") int maxSize,
+                               @Value("${security.api-key.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.apiKeyRepository = apiKeyRepository;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    /**
+     * An active API key and the user it acts for.
+     */
+    public static class ResolvedApiKey {
+        private final Long id;
+        private final Long userId;
+        private final String email;
+        private final Set<ApiKeyScope> scopes;
+
+        public ResolvedApiKey(Long id, Long userId, String email, Set<ApiKeyScope> scopes) {
+            this.id = id;
+            this.userId = userId;
+            this.email = email;
+            this.scopes = Set.copyOf(scopes);
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public Set<ApiKeyScope> getScopes() {
+            return scopes;
+        }
+    }
+
+    public Optional<ResolvedApiKey> authenticate(String rawKey) {
+        String digest = TokenDigest.sha256(rawKey);
+        long now = System.nanoTime();
+
+        CachedKey cached = cache.get(digest);
+        if (cached == null || now - cached.loadedAt > ttlNanos) {
+            cached = new CachedKey(load(digest), now);
+            put(digest, cached);
+        }
+
+        cached.key.ifPresent(key -> usedSinceFlush.add(key.getId()));
+        return cached.key;
+    }
+
+    public void evict(String keyHash) {
+        cache.remove(keyHash);
+    }
+
+    @Scheduled(fixedDelayString = "${security.api-key.last-used-flush-ms:60000}")
+    public void flushLastUsed() {
+        if (usedSinceFlush.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(usedSinceFlush);
+        usedSinceFlush.removeAll(ids);
+        int updated = apiKeyRepository.updateLastUsed(ids, Instant.now());
+        logger.debug("Recorded last use of {} API key(s)", updated);
+    }
+
+    int pendingLastUsed() {
+        return usedSinceFlush.size();
+    }
+
+    // Unknown and revoked keys are cached as absent too, so repeated bad keys do not hit the database
+    private Optional<ResolvedApiKey> load(String digest) {
+        return apiKeyRepository.findByKeyHash(digest)
+            .filter(key -> !key.isRevoked())
+            .map(ApiKeyAuthenticator::resolve);
+    }
+
+    private static ResolvedApiKey resolve(ApiKey key) {
+        return new ResolvedApiKey(key.getId(), key.getUser().getId(), key.getUser().getEmail(), key.getScopes());
+    }
+
+    private void put(String digest, CachedKey value) {
+        if (cache.size() >= maxSize && !cache.containsKey(digest)) {
+            Iterator<String> it = cache.keySet().iterator();
+            if (it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        cache.put(digest, value);
+    }
+
+    private static final class CachedKey {
+        private final Optional<ResolvedApiKey> key;
+        private final long loadedAt;
+
+        private CachedKey(Optional<ResolvedApiKey> key, long loadedAt) {
+            this.key = key;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.expensetracker.infrastructure.security;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * Principal placed in the SecurityContext by JwtAuthenticationFilter.
+ * Carries the user id so controllers never have to look the user up by email.
+ */
+public class AuthenticatedUser implements Principal {
+
+    private final Long id;
+    private final String email;
+    // Identify the presented token so it can be revoked on logout; null for tokens issued without an id
+    private final String tokenId;
+    private final Instant expiresAt;
+
+    public AuthenticatedUser(Long id, String email) {
+        this(id, email, null, null);
+    }
+
+    public AuthenticatedUser(Long id, String email, String tokenId, Instant expiresAt) {
+        this.id = id;
+        this.email = email;
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[id=" + id + "]";
+    }
+}
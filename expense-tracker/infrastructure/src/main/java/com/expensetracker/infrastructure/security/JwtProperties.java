@@ -0,0 +1,74 @@
+package com.expensetracker.infrastructure.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * JWT signing configuration bound from {@code security.jwt.*}.
+ *
+ * Keys are Base64-encoded HMAC secrets indexed by key id. New tokens are signed
+ * with {@code active-key-id}; every configured key still verifies tokens carrying
+ * its id in the {@code kid} header, so a key can be rotated out once its tokens
+ * have expired. Tokens issued without a {@code kid} are verified with
+ * {@code fallback-key-id} (defaults to the active key).
+ *
+ * Access tokens are short-lived ({@code expiration}); clients renew them with a
+ * refresh token valid for {@code refresh-expiration}.
+ */
+@Component
+@ConfigurationProperties(prefix = "security.jwt")
+public class JwtProperties {
+
+    private long expiration = 900000L;
+
+    private long refreshExpiration = 2592000000L;
+
+    private String activeKeyId;
+
+    private String fallbackKeyId;
+
+    private Map<String, String> keys = new LinkedHashMap<>();
+
+    public long getExpiration() {
+        return expiration;
+    }
+
+    public void setExpiration(long expiration) {
+        this.expiration = expiration;
+    }
+
+    public long getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
+    public void setRefreshExpiration(long refreshExpiration) {
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public void setActiveKeyId(String activeKeyId) {
+        this.activeKeyId = activeKeyId;
+    }
+
+    public String getFallbackKeyId() {
+        return fallbackKeyId;
+    }
+
+    public void setFallbackKeyId(String fallbackKeyId) {
+        this.fallbackKeyId = fallbackKeyId;
+    }
+
+    public Map<String, String> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(Map<String, String> keys) {
+        this.keys = keys;
+    }
+}
@@ -1,75 +1,159 @@
 package com.expensetracker.infrastructure.security;
 
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import com.expensetracker.infrastructure.logging.LogRedaction;
+
+import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.crypto.SecretKey;
 
 @Component
 public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
-    private final String JWT_SECRET = "ifdvmdkcjsmklmxncklbnbvgcnvbhvgcfcgvbnbcgcgvvbccvvbgvjhvhjvhmcgfhjvbhbhjvhbjhvhfcghvmbvhbhjbhj";
-    private final long JWT_EXPIRATION = 604800000L;
+    // Signed identity claims; tokens without them (version 1) carry only the subject
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    public static final int TOKEN_VERSION = 2;
+
+    // Key material and the parser are built once; JwtParser is immutable and thread-safe
+    private final Map<String, SecretKey> signingKeys;
+    private final String activeKeyId;
+    private final SecretKey activeKey;
+    private final SecretKey fallbackKey;
+    private final long expiration;
+    private final JwtParser parser;
+
+    public JwtTokenProvider(JwtProperties properties) {
+        if (properties.getKeys().isEmpty()) {
+            throw new IllegalStateException("No JWT signing keys configured (security.jwt.keys.*)");
+        }
+
+        Map<String, SecretKey> keys = new HashMap<>();
+        properties.getKeys().forEach((kid, secret) -> keys.put(kid, Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret))));
+        this.signingKeys = Map.copyOf(keys);
+
+        this.activeKeyId = properties.getActiveKeyId();
+        this.activeKey = requireKey(activeKeyId, "security.jwt.active-key-id");
+        String fallbackKeyId = properties.getFallbackKeyId() != null ? properties.getFallbackKeyId() : activeKeyId;
+        this.fallbackKey = requireKey(fallbackKeyId, "security.jwt.fallback-key-id");
+        this.expiration = properties.getExpiration();
 
-    public String generateToken(String username) {
-        logger.info("Generating token for username: {}", username);
-        
+        this.parser = Jwts.parserBuilder()
+            .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                @Override
+                public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                    return resolveKey(header.getKeyId());
+                }
+            })
+            .build();
+
+        logger.info("JWT signing configured with {} key(s), active key id: {}", signingKeys.size(), activeKeyId);
+    }
+
+    public String generateToken(Long userId, String username) {
         try {
+            long now = System.currentTimeMillis();
             String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, activeKeyId)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + JWT_EXPIRATION))
-                .signWith(SignatureAlgorithm.HS512, JWT_SECRET)
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_TOKEN_VERSION, TOKEN_VERSION)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .signWith(activeKey, SignatureAlgorithm.HS512)
                 .compact();
 
-            logger.info("Token successfully generated for username: {}", username);
+            logger.atDebug().setMessage("Token generated")
+                .addKeyValue("userId", userId)
+                .addKeyValue("kid", activeKeyId)
+                .log();
             return token;
         } catch (Exception e) {
-            logger.error("Error generating token for username: {}", username, e);
+            logger.error("Error generating token for user id: {}", userId, e);
             throw new RuntimeException("Error generating JWT token", e);
         }
     }
 
-    public String getUsernameFromToken(String token) {
-        logger.info("Extracting username from token...");
+    /**
+     * Verifies the signature and expiry of the token and returns its claims.
+     * This is the single-parse path: callers that need both validation and
+     * the subject should use this instead of validateToken + getUsernameFromToken.
+     *
+     * @throws JwtException if the token is malformed, tampered with, expired
+     *                      or signed with an unknown key
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Returns the user id embedded in the token, or null for tokens issued
+     * before identity claims were added.
+     */
+    public static Long getUserId(Claims claims) {
+        return claims.get(CLAIM_USER_ID, Long.class);
+    }
 
+    public String getUsernameFromToken(String token) {
         try {
-            String username = Jwts.parser()
-                .setSigningKey(JWT_SECRET)
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-
-            logger.info("Username extracted from token: {}", username);
-            return username;
+            return parseClaims(token).getSubject();
         } catch (JwtException e) {
-            logger.error("Invalid JWT token: {}", token, e);
+            logRejected(token, e);
             throw new IllegalArgumentException("Invalid token", e);
         }
     }
-    
+
     public String extractUsername(String token) {
-        return Jwts.parserBuilder().setSigningKey(JWT_SECRET).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public boolean validateToken(String token) {
-        logger.info("Validating token...");
-
         try {
-            Jwts.parser()
-                .setSigningKey(JWT_SECRET)
-                .parseClaimsJws(token);
-
-            logger.info("Token is valid.");
+            parseClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
-            logger.error("Invalid or expired JWT: {}", token, e);
+            logRejected(token, e);
             return false;
         }
     }
+
+    // Rejected tokens are client errors; never log the token itself
+    private static void logRejected(String token, Exception e) {
+        logger.atDebug().setMessage("JWT rejected")
+            .addKeyValue("token", () -> LogRedaction.token(token))
+            .addKeyValue("reason", () -> e.getClass().getSimpleName())
+            .log();
+    }
+
+    private Key resolveKey(String keyId) {
+        if (keyId == null) {
+            return fallbackKey;
+        }
+        SecretKey key = signingKeys.get(keyId);
+        if (key == null) {
+            throw new JwtException("Unknown JWT key id: " + keyId);
+        }
+        return key;
+    }
+
+    private SecretKey requireKey(String keyId, String property) {
+        SecretKey key = keyId != null ? signingKeys.get(keyId) : null;
+        if (key == null) {
+            throw new IllegalStateException(property + " does not name a configured key: " + keyId);
+        }
+        return key;
+    }
 }
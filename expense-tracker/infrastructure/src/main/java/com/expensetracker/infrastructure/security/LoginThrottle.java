@@ -0,0 +1,81 @@
+package com.expensetracker.infrastructure.security;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.expensetracker.config.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Limits login attempts per client IP and per email before any user lookup or
+ * password verification is done.
+ */
+@Component
+public class LoginThrottle implements MeterBinder {
+
+    private final TokenBucketLimiter ipLimiter;
+    private final TokenBucketLimiter emailLimiter;
+
+    private final LongAdder ipRejections = new LongAdder();
+    private final LongAdder emailRejections = new LongAdder();
+
+    public LoginThrottle(@Value("${security.login-throttle.stripes:64}") int stripes,
+                         @Value("${security.login-throttle.max-keys:100000}") int maxKeys,
+                         @Value("${security.login-throttle.ip.burst:20}") int ipBurst,
+                         @Value("${security.login-throttle.ip.per-minute:30}") int ipPerMinute,
+                         @Value("${security.login-throttle.email.burst:5}") int emailBurst,
+                         @Value("${security.login-throttle.email.per-minute:5}") int emailPerMinute) {
+        this.ipLimiter = new TokenBucketLimiter(stripes, maxKeys, ipBurst, ipPerMinute, System::nanoTime);
+        this.emailLimiter = new TokenBucketLimiter(stripes, maxKeys, emailBurst, emailPerMinute, System::nanoTime);
+    }
+
+    /**
+     * Consumes one attempt for both the IP and the email.
+     *
+     * @throws TooManyRequestsException if either has no attempts left
+     */
+    public void check(String email, String clientIp) {
+        long waitNanos = ipLimiter.tryAcquire(clientIp != null ? clientIp : "unknown");
+        if (waitNanos > 0) {
+            ipRejections.increment();
+            throw rejected(waitNanos);
+        }
+
+        waitNanos = emailLimiter.tryAcquire(email != null ? email.trim().toLowerCase(Locale.ROOT) : "");
+        if (waitNanos > 0) {
+            emailRejections.increment();
+            throw rejected(waitNanos);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("security.login.throttled", ipRejections, LongAdder::sum)
+                .tag("key", "ip")
+                .description("Login attempts rejected by the throttle")
+                .register(registry);
+        FunctionCounter.builder("security.login.throttled", emailRejections, LongAdder::sum)
+                .tag("key", "email")
+                .description("Login attempts rejected by the throttle")
+                .register(registry);
+        Gauge.builder("security.login.throttle.keys", ipLimiter, TokenBucketLimiter::size)
+                .tag("key", "ip")
+                .register(registry);
+        Gauge.builder("security.login.throttle.keys", emailLimiter, TokenBucketLimiter::size)
+                .tag("key", "email")
+                .register(registry);
+    }
+
+    private static TooManyRequestsException rejected(long waitNanos) {
+        long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        return new TooManyRequestsException("Too many login attempts, please retry later", retryAfterSeconds);
+    }
+}
@@ -3,6 +3,7 @@ package com.expensetracker.infrastructure.security;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -14,6 +15,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.expensetracker.infrastructure.security.filters.ApiKeyAuthenticationFilter;
 import com.expensetracker.infrastructure.security.filters.JwtAuthenticationFilter;
 
 @Configuration
@@ -23,9 +25,11 @@ public class SecurityConfig {
 
     @Autowired
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ApiKeyAuthenticationFilter apiKeyAuthenticationFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, ApiKeyAuthenticationFilter apiKeyAuthenticationFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.apiKeyAuthenticationFilter = apiKeyAuthenticationFilter;
         logger.info("SecurityConfig instantiated and JwtAuthenticationFilter injected.");
     }
 
@@ -50,12 +54,13 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> {
                     logger.info("Configuring request authorization...");
                     auth
-                        .requestMatchers("/auth/**", "/users/register", "/users/login", "/h2-console/**").permitAll()
+                        .requestMatchers("/auth/**", "/users/register", "/users/login", "/users/refresh", "/h2-console/**").permitAll()
                         .requestMatchers("/expenses/**").permitAll()
                         .requestMatchers("/incomes/**").permitAll()
                         .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers("/category/**").permitAll()
                         .requestMatchers("/category-budgets/**").permitAll()
+                        .requestMatchers("/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated();
                 })
                 // Allow H2 console frames (iframe) from same origin
@@ -65,13 +70,16 @@ public class SecurityConfig {
                 })
                 // Add the JWT filter before the UsernamePasswordAuthenticationFilter
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // API keys (X-API-Key) are checked ahead of the JWT filter
+                .addFilterBefore(apiKeyAuthenticationFilter, JwtAuthenticationFilter.class)
                 .build();
     }
 
+    // Raising the strength upgrades existing hashes on their owners' next successful login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        logger.info("Creating BCryptPasswordEncoder bean...");
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength) {
+        logger.info("Creating BCryptPasswordEncoder bean with strength {}...", strength);
+        return new BCryptPasswordEncoder(strength);
     }
     
     @Bean
@@ -0,0 +1,125 @@
+package com.expensetracker.infrastructure.security;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Keyed token buckets split over a fixed number of lock stripes.
+ *
+ * Each stripe keeps its buckets in access order. A bucket that has been idle
+ * long enough to refill completely is indistinguishable from a new one, so it
+ * is dropped from the head of its stripe on the next access. Each stripe is
+ * also capped, which bounds memory when keys are sprayed faster than they go
+ * idle; in that case the least recently used bucket is reset early.
+ */
+class TokenBucketLimiter {
+
+    private final Stripe[] stripes;
+    private final double capacity;
+    private final double tokensPerNano;
+    private final long idleNanos;
+    private final LongSupplier clock;
+
+    TokenBucketLimiter(int stripeCount, int maxKeys, int capacity, int permitsPerMinute, LongSupplier clock) {
+        if (stripeCount <= 0 || maxKeys <= 0 || capacity <= 0 || permitsPerMinute <= 0) {
+            throw new IllegalArgumentException("Token bucket settings must be positive");
+        }
+        int maxPerStripe = Math.max(1, maxKeys / stripeCount);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(maxPerStripe);
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = permitsPerMinute / 60_000_000_000d;
+        this.idleNanos = (long) Math.ceil(capacity / tokensPerNano);
+        this.clock = clock;
+    }
+
+    /**
+     * Takes one token for the key.
+     *
+     * @return 0 if the token was granted, otherwise the nanoseconds until one is available
+     */
+    long tryAcquire(String key) {
+        Stripe stripe = stripeFor(key);
+        long now = clock.getAsLong();
+
+        synchronized (stripe) {
+            stripe.evictIdle(now, idleNanos);
+
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.put(key, bucket);
+            } else {
+                bucket.refill(now, capacity, tokensPerNano);
+            }
+
+            if (bucket.tokens >= 1d) {
+                bucket.tokens -= 1d;
+                return 0L;
+            }
+            return (long) Math.ceil((1d - bucket.tokens) / tokensPerNano);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[(h & 0x7fffffff) % stripes.length];
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+        }
+
+        private void refill(long now, double capacity, double tokensPerNano) {
+            long elapsed = now - lastRefill;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+                lastRefill = now;
+            }
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private final int maxEntries;
+
+        private Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        private void evictIdle(long now, long idleNanos) {
+            Iterator<Bucket> it = values().iterator();
+            while (it.hasNext()) {
+                if (now - it.next().lastRefill < idleNanos) {
+                    break;
+                }
+                it.remove();
+            }
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.expensetracker.infrastructure.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.expensetracker.domain.model.RevokedToken;
+import com.expensetracker.domain.repository.RevokedTokenRepository;
+import com.expensetracker.infrastructure.persistence.ReplicaRoutingDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Revocation checks for verified JWTs.
+ *
+ * The revoked_tokens table is the source of truth. A Bloom filter holding every
+ * unexpired revocation sits in front of it, so a token that was never revoked is
+ * cleared with a few bit probes and no query. Only filter hits go to the table.
+ *
+ * A user-wide revocation is answered from the user's latest revocation time, loaded
+ * once from the table and kept until the next rebuild. Revocation times are stored at
+ * whole seconds because a JWT iat has no finer precision: a token issued in the same
+ * second as the revocation is kept.
+ *
+ * The filter is rebuilt at startup and after every prune of expired rows. In between,
+ * revocations written since the last poll are read every {@code poll-interval-ms}:
+ * one made on another instance takes effect here within about that interval (5 s by
+ * default), one made here at once. A row whose commit lagged its timestamp by more
+ * than the poll overlap is only seen at the next rebuild.
+ */
+@Component
+public class TokenRevocationService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // Rows carry the writer's clock, taken before commit and truncated to the second for user-wide
+    // revocations, so each poll reads back this far past the previous one
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(5);
+
+    private final RevokedTokenRepository repository;
+    private final long maxTokenLifetimeMillis;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    // Non-null while a rebuild is loading; revocations made meanwhile are added to both filters
+    private volatile BloomFilter building;
+    // Latest user-wide revocation per user, Instant.EPOCH when there is none; only ever moves forward
+    private final Map<Long, Instant> userRevokedAt = new ConcurrentHashMap<>();
+    // When the last rebuild or poll started reading
+    private volatile Instant polledAt = Instant.now();
+
+    private final LongAdder filterNegatives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder revokedHits = new LongAdder();
+
+    public TokenRevocationService(RevokedTokenRepository repository,
+                                  JwtProperties jwtProperties,
+                                  @Value("${security.revocation.expected-insertions:100000}") int expectedInsertions,
+                                  @Value("${security.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.repository = repository;
+        this.maxTokenLifetimeMillis = jwtProperties.getExpiration();
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * Revokes a single token. Without a known expiry the revocation is kept for the longest token lifetime.
+     */
+    public void revokeToken(String tokenId, Long userId, Instant expiresAt) {
+        Instant now = Instant.now();
+        Instant keepUntil = expiresAt != null ? expiresAt : now.plusMillis(maxTokenLifetimeMillis);
+        repository.save(new RevokedToken(null, tokenId, userId, now, keepUntil));
+        remember(tokenKey(tokenId));
+        logger.info("Revoked token {} of user {}", tokenId, userId);
+    }
+
+    public void revokeToken(String tokenId) {
+        revokeToken(tokenId, null, null);
+    }
+
+    /**
+     * Revokes every token of the user issued up to now.
+     */
+    public void revokeAllForUser(Long userId) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        repository.save(new RevokedToken(null, null, userId, now, now.plusMillis(maxTokenLifetimeMillis)));
+        userRevokedAt.merge(userId, now, TokenRevocationService::later);
+        remember(userKey(userId));
+        logger.info("Revoked all tokens of user {}", userId);
+    }
+
+    public boolean isRevoked(String tokenId, Long userId, Date issuedAt) {
+        BloomFilter current = filter;
+        boolean tokenCandidate = tokenId != null && current.mightContain(tokenKey(tokenId));
+        boolean userCandidate = userId != null && current.mightContain(userKey(userId));
+
+        if (!tokenCandidate && !userCandidate) {
+            filterNegatives.increment();
+            return false;
+        }
+
+        // Tokens without an issue time are treated as older than any user-wide revocation
+        Instant issued = issuedAt != null ? issuedAt.toInstant() : Instant.EPOCH;
+        if ((tokenCandidate && repository.existsByTokenId(tokenId))
+                || (userCandidate && userRevokedAt(userId).isAfter(issued))) {
+            revokedHits.increment();
+            return true;
+        }
+
+        falsePositives.increment();
+        return false;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.prune-interval-ms:600000}",
+               initialDelayString = "${security.revocation.prune-interval-ms:600000}")
+    public void prune() {
+        int deleted = repository.deleteExpired(Instant.now());
+        rebuild();
+        logger.info("Pruned {} expired token revocation(s)", deleted);
+    }
+
+    // Picks up revocations made by other instances since the last rebuild or poll
+    @Scheduled(fixedDelayString = "${security.revocation.poll-interval-ms:5000}",
+               initialDelayString = "${security.revocation.poll-interval-ms:5000}")
+    public synchronized void pollRecent() {
+        Instant startedAt = Instant.now();
+        Instant since = polledAt.minus(POLL_OVERLAP);
+        List<RevokedToken> recent = ReplicaRoutingDataSource.forcePrimary(() -> repository.findByRevokedAtAfter(since));
+        for (RevokedToken revoked : recent) {
+            if (revoked.getTokenId() != null) {
+                remember(tokenKey(revoked.getTokenId()));
+            } else {
+                // Later than any revocation already known for the user, so it can stand in for loading the latest
+                userRevokedAt.merge(revoked.getUserId(), revoked.getRevokedAt().truncatedTo(ChronoUnit.SECONDS),
+                        TokenRevocationService::later);
+                remember(userKey(revoked.getUserId()));
+            }
+        }
+        polledAt = startedAt;
+        logger.debug("Polled {} recent token revocation(s)", recent.size());
+    }
+
+    // Reads the primary: a lagging replica would leave out the latest revocations until the next rebuild
+    synchronized void rebuild() {
+        ReplicaRoutingDataSource.forcePrimary(this::load);
+    }
+
+    private void load() {
+        Instant startedAt = Instant.now();
+        long existing = repository.count();
+        BloomFilter next = new BloomFilter((int) Math.min(Integer.MAX_VALUE, Math.max(expectedInsertions, existing * 2)),
+                falsePositiveRate);
+        building = next;
+        try {
+            List<RevokedToken> active = repository.findByExpiresAtAfter(Instant.now());
+            for (RevokedToken revoked : active) {
+                next.put(revoked.getTokenId() != null ? tokenKey(revoked.getTokenId()) : userKey(revoked.getUserId()));
+            }
+            filter = next;
+            polledAt = startedAt;
+            // Reloaded on demand so revocations written by other instances are seen
+            userRevokedAt.clear();
+            logger.info("Token revocation filter rebuilt with {} entries ({} bits)", active.size(), next.bitSize());
+        } finally {
+            building = null;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("security.jwt.revocation.checks", filterNegatives, LongAdder::sum)
+                .tag("result", "filter_negative")
+                .description("Revocation checks answered by the in-memory filter alone")
+                .register(registry);
+        FunctionCounter.builder("security.jwt.revocation.checks", falsePositives, LongAdder::sum)
+                .tag("result", "false_positive")
+                .register(registry);
+        FunctionCounter.builder("security.jwt.revocation.checks", revokedHits, LongAdder::sum)
+                .tag("result", "revoked")
+                .register(registry);
+    }
+
+    // Reads the in-progress filter before the published one: a rebuild publishes before clearing it
+    private void remember(String key) {
+        BloomFilter pending = building;
+        if (pending != null) {
+            pending.put(key);
+        }
+        filter.put(key);
+    }
+
+    private Instant userRevokedAt(Long userId) {
+        Instant cached = userRevokedAt.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        Instant latest = repository.findLatestUserRevocation(userId)
+                .map(revokedAt -> revokedAt.truncatedTo(ChronoUnit.SECONDS))
+                .orElse(Instant.EPOCH);
+        return userRevokedAt.merge(userId, latest, TokenRevocationService::later);
+    }
+
+    private static Instant later(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static String tokenKey(String tokenId) {
+        return "jti:" + tokenId;
+    }
+
+    private static String userKey(Long userId) {
+        return "uid:" + userId;
+    }
+}
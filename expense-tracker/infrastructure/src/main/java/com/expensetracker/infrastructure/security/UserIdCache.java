@@ -0,0 +1,57 @@
+package com.expensetracker.infrastructure.security;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.expensetracker.domain.repository.UserRepository;
+
+/**
+ * Bounded email -> user id lookup used to build the request principal.
+ * Only the id column is read on a miss; callers that change a user must
+ * call {@link #evict(String)}.
+ */
+@Component
+public class UserIdCache {
+
+    private final UserRepository userRepository;
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Long> ids = new ConcurrentHashMap<>();
+
+    public UserIdCache(UserRepository userRepository,
+                       @Value("${security.user-id-cache.max-size:50000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.maxSize = maxSize;
+    }
+
+    public Optional<Long> resolve(String email) {
+        Long cached = ids.get(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Long> loaded = userRepository.findIdByEmail(email);
+        loaded.ifPresent(id -> put(email, id));
+        return loaded;
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            ids.remove(email);
+        }
+    }
+
+    private void put(String email, Long id) {
+        if (ids.size() >= maxSize) {
+            Iterator<String> keys = ids.keySet().iterator();
+            while (ids.size() >= maxSize && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        ids.put(email, id);
+    }
+}
@@ -0,0 +1,157 @@
+package com.expensetracker.infrastructure.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified.
+ *
+ * Entries are keyed by the SHA-256 digest of the token (the raw token is never
+ * retained) and live until the token's own expiry, so a repeat request with the
+ * same bearer token skips the HMAC check and claims parsing entirely.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+    private static final long SWEEP_INTERVAL_MS = 1000L;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final int maxSize;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile long lastSweep;
+
+    public VerifiedTokenCache(JwtTokenProvider jwtTokenProvider,
+                              @Value("${security.jwt.cache.max-size:10000}") int maxSize) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the claims of a valid, unexpired token, verifying the signature
+     * only when the token has not been seen before.
+     */
+    public Optional<Claims> verify(String token) {
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt > now) {
+                hits.increment();
+                return Optional.of(entry.claims);
+            }
+            entries.remove(key, entry);
+        }
+
+        misses.increment();
+        Claims claims;
+        try {
+            claims = jwtTokenProvider.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected token: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            put(key, new Entry(claims, expiration.getTime()), now);
+        }
+        return Optional.of(claims);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("security.jwt.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Bearer tokens served from the verified-token cache")
+                .register(registry);
+        FunctionCounter.builder("security.jwt.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Bearer tokens that required signature verification")
+                .register(registry);
+        Gauge.builder("security.jwt.cache.size", entries, Map::size)
+                .description("Verified tokens currently cached")
+                .register(registry);
+    }
+
+    private void put(String key, Entry entry, long now) {
+        if (entries.size() >= maxSize) {
+            sweepExpired(now);
+            // Still full of live tokens: drop arbitrary entries, they are re-admitted on their next miss
+            Iterator<String> keys = entries.keySet().iterator();
+            while (entries.size() >= maxSize && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        entries.put(key, entry);
+    }
+
+    private void sweepExpired(long now) {
+        if (now - lastSweep < SWEEP_INTERVAL_MS) {
+            return;
+        }
+        lastSweep = now;
+        entries.values().removeIf(e -> e.expiresAt <= now);
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    private static final class Entry {
+        final Claims claims;
+        final long expiresAt;
+
+        Entry(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
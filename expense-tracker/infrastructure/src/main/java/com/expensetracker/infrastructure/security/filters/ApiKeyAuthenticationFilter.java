@@ -0,0 +1,119 @@
+package com.expensetracker.infrastructure.security.filters;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.expensetracker.domain.model.ApiKeyScope;
+import com.expensetracker.infrastructure.logging.LogRedaction;
+import com.expensetracker.infrastructure.security.ApiKeyAuthenticator;
+import com.expensetracker.infrastructure.security.ApiKeyAuthenticator.ResolvedApiKey;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates machine clients by the X-API-Key header. Runs before
+ * JwtAuthenticationFilter; requests without the header pass through untouched.
+ *
+ * A key only reaches the endpoints its scopes cover. Anything not mapped to a
+ * scope (key management, logout, admin) is refused for API keys.
+ */
+@Component
+public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiKeyAuthenticationFilter.class);
+
+    public static final String HEADER = "X-API-Key";
+
+    private final ApiKeyAuthenticator apiKeyAuthenticator;
+
+    public ApiKeyAuthenticationFilter(ApiKeyAuthenticator apiKeyAuthenticator) {
+        this.apiKeyAuthenticator = apiKeyAuthenticator;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String rawKey = request.getHeader(HEADER);
+        if (rawKey == null || rawKey.isBlank()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Optional<ResolvedApiKey> apiKey = apiKeyAuthenticator.authenticate(rawKey.trim());
+        if (apiKey.isEmpty()) {
+            // Security events stay at WARN, outside request sampling
+            logger.atWarn().setMessage("Rejected unknown or revoked API key")
+                .addKeyValue("key", () -> LogRedaction.token(rawKey))
+                .log();
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid API key");
+            return;
+        }
+
+        Optional<ApiKeyScope> required = requiredScope(request);
+        if (required.isEmpty() || !apiKey.get().getScopes().contains(required.get())) {
+            logger.atWarn().setMessage("API key lacks scope")
+                .addKeyValue("apiKeyId", apiKey.get().getId())
+                .addKeyValue("method", request::getMethod)
+                .addKeyValue("path", request::getRequestURI)
+                .log();
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "API key scope does not allow this request");
+            return;
+        }
+
+        AuthenticatedUser principal = new AuthenticatedUser(apiKey.get().getUserId(), apiKey.get().getEmail());
+        List<GrantedAuthority> authorities = apiKey.get().getScopes().stream()
+                .map(scope -> new SimpleGrantedAuthority("SCOPE_" + scope.name()))
+                .collect(Collectors.toList());
+
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        filterChain.doFilter(request, response);
+    }
+
+    static Optional<ApiKeyScope> requiredScope(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+
+        if (under(path, "/expenses")) {
+            return Optional.of(read ? ApiKeyScope.EXPENSES_READ : ApiKeyScope.EXPENSES_WRITE);
+        }
+        if (under(path, "/incomes")) {
+            return Optional.of(read ? ApiKeyScope.INCOMES_READ : ApiKeyScope.INCOMES_WRITE);
+        }
+        if (under(path, "/category-budgets")) {
+            return Optional.of(read ? ApiKeyScope.BUDGETS_READ : ApiKeyScope.BUDGETS_WRITE);
+        }
+        if (under(path, "/category")) {
+            return Optional.of(read ? ApiKeyScope.CATEGORIES_READ : ApiKeyScope.CATEGORIES_WRITE);
+        }
+        if (under(path, "/imports")) {
+            return Optional.of(ApiKeyScope.IMPORTS);
+        }
+        return Optional.empty();
+    }
+
+    private static boolean under(String path, String prefix) {
+        return path.equals(prefix) || path.startsWith(prefix + "/");
+    }
+}
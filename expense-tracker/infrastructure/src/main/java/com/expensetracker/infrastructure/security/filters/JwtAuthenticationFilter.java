@@ -1,17 +1,34 @@
 package com.expensetracker.infrastructure.security.filters;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.expensetracker.infrastructure.logging.LogRedaction;
+import com.expensetracker.infrastructure.security.AuthenticatedUser;
 import com.expensetracker.infrastructure.security.JwtTokenProvider;
+import com.expensetracker.infrastructure.security.TokenRevocationService;
+import com.expensetracker.infrastructure.security.UserIdCache;
+import com.expensetracker.infrastructure.security.VerifiedTokenCache;
+
+import io.jsonwebtoken.Claims;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -24,10 +41,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     @Autowired
-    private final JwtTokenProvider jwtTokenProvider;
-
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
-        this.jwtTokenProvider = jwtTokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserIdCache userIdCache;
+    private final TokenRevocationService revocationService;
+    private final Set<String> adminEmails;
+
+    public JwtAuthenticationFilter(VerifiedTokenCache verifiedTokenCache,
+                                   UserIdCache userIdCache,
+                                   TokenRevocationService revocationService,
+                                   @Value("${security.admin.emails:}") String[] adminEmails) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.userIdCache = userIdCache;
+        this.revocationService = revocationService;
+        this.adminEmails = Arrays.stream(adminEmails)
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
         logger.info("JwtAuthenticationFilter instantiated.");
     }
 
@@ -35,46 +64,69 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request,
                                      HttpServletResponse response,
                                      FilterChain filterChain) throws ServletException, IOException {
-        logger.info("JwtAuthenticationFilter - doFilterInternal() invoked.");
-
         // Get the token from the request (assuming it's in the Authorization header)
         String token = getTokenFromRequest(request);
 
+        // Per-request DEBUG/INFO logging below is sampled (see logback-spring.xml); security events stay at WARN so
+        // none is dropped. Tokens are only logged redacted
         if (token != null) {
-            logger.info("Token found: {}", token);
-
-            if (jwtTokenProvider.validateToken(token)) {
-                logger.info("Token is valid.");
+            // Verify once and read the subject from the same parsed claims
+            Optional<Claims> claims = verifiedTokenCache.verify(token);
 
+            if (claims.isPresent()) {
                 // Get authentication details from the token
-                String username = jwtTokenProvider.getUsernameFromToken(token);
-                logger.info("Username extracted from token: {}", username);
-
-                // Create an authentication token
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(username, null, null);
-
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                // Set the authentication in the context
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                logger.info("Authentication set in SecurityContextHolder.");
+                String username = claims.get().getSubject();
+
+                // Current tokens carry a signed user id; older ones fall back to the email lookup
+                Optional<Long> userId = Optional.ofNullable(JwtTokenProvider.getUserId(claims.get()))
+                        .or(() -> userIdCache.resolve(username));
+
+                if (userId.isEmpty()) {
+                    logger.warn("Token subject no longer exists.");
+                } else if (revocationService.isRevoked(claims.get().getId(), userId.get(), claims.get().getIssuedAt())) {
+                    logger.atWarn().setMessage("Revoked token presented")
+                        .addKeyValue("userId", userId.get())
+                        .addKeyValue("jti", claims.get().getId())
+                        .log();
+                } else {
+                    AuthenticatedUser principal = new AuthenticatedUser(userId.get(), username, claims.get().getId(),
+                            Optional.ofNullable(claims.get().getExpiration()).map(Date::toInstant).orElse(null));
+
+                    // Create an authentication token
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(principal, null, authoritiesFor(username));
+
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                    // Set the authentication in the context
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    logger.atDebug().setMessage("Authenticated request")
+                        .addKeyValue("userId", userId.get())
+                        .addKeyValue("path", request::getRequestURI)
+                        .log();
+                }
             } else {
-                logger.warn("Invalid token.");
+                logger.atInfo().setMessage("Invalid token")
+                    .addKeyValue("token", () -> LogRedaction.token(token))
+                    .addKeyValue("path", request::getRequestURI)
+                    .log();
             }
-        } else {
-            logger.warn("No token found in the request.");
         }
 
         // Continue the filter chain
         filterChain.doFilter(request, response);
-        logger.info("JwtAuthenticationFilter - filterChain.doFilter() completed.");
+    }
+
+    private List<GrantedAuthority> authoritiesFor(String email) {
+        if (email != null && adminEmails.contains(email.toLowerCase(Locale.ROOT))) {
+            return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        }
+        return List.of();
     }
 
     private String getTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            logger.info("Extracting token from Authorization header.");
             return bearerToken.substring(7); // Get the token after "Bearer "
         }
         return null;